@@ -1,18 +1,41 @@
 package javastrava.api;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.squareup.okhttp.OkHttpClient;
 
 import javastrava.api.async.StravaAPICallback;
 import javastrava.api.async.StravaAPIFuture;
+import javastrava.api.util.RetrofitCircuitBreakerInvocationHandler;
 import javastrava.api.util.RetrofitClientResponseInterceptor;
+import javastrava.api.util.RetrofitCoalescingInvocationHandler;
 import javastrava.api.util.RetrofitErrorHandler;
+import javastrava.api.util.RetrofitRetryInvocationHandler;
+import javastrava.api.util.RetrofitTokenInvocationHandler;
+import javastrava.api.util.StravaCircuitBreaker;
+import javastrava.api.util.StravaRateLimitState;
+import javastrava.api.util.StravaRequestCoalescer;
+import javastrava.api.util.StravaRetryPolicy;
 import javastrava.auth.impl.AuthorisationServiceImpl;
 import javastrava.auth.model.Token;
 import javastrava.auth.model.TokenResponse;
 import javastrava.auth.ref.AuthorisationScope;
 import javastrava.config.StravaConfig;
+import javastrava.json.Projection;
+import javastrava.json.exception.JsonSerialisationException;
 import javastrava.json.impl.JsonUtilImpl;
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaActivityUpdate;
@@ -56,6 +79,8 @@ import javastrava.model.webhook.reference.StravaSubscriptionAspectType;
 import javastrava.model.webhook.reference.StravaSubscriptionObjectType;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
+import javastrava.service.exception.StravaAPINetworkException;
+import javastrava.service.exception.StravaUnknownAPIException;
 import javastrava.service.exception.UnauthorizedException;
 import retrofit.RestAdapter;
 import retrofit.RestAdapter.LogLevel;
@@ -71,6 +96,10 @@ import retrofit.mime.TypedFile;
  * Provides a static method {@link #instance(Class, Token)} which constructs a standard retrofit service with all the required options.
  * </p>
  *
+ * <p>
+ * All instances share a single HTTP client (and therefore a single connection pool), converter and executor, whichever token they use.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
@@ -80,6 +109,43 @@ public class API {
 	 */
 	private static AuthorisationAPI authorisationAPI;
 
+	/**
+	 * HTTP client shared by all API instances, so that all tokens and all API interfaces use one connection pool
+	 */
+	private static final OkHttpClient HTTP_CLIENT = httpClient();
+
+	/**
+	 * Converter shared by all API instances, using the shared GSON instance (which is thread safe)
+	 */
+	private static final GsonConverter CONVERTER = new GsonConverter(JsonUtilImpl.instance().getGson());
+
+	/**
+	 * Error handler shared by all API instances
+	 */
+	private static final RetrofitErrorHandler ERROR_HANDLER = new RetrofitErrorHandler();
+
+	/**
+	 * Executor used by all API instances for asynchronous (callback) calls. Retrofit would otherwise create a new thread pool for every service instance. The
+	 * number of threads is bounded, so that any number of asynchronous calls can be in flight at once; calls beyond the limit wait in the queue.
+	 */
+	private static final Executor HTTP_EXECUTOR = httpExecutor();
+
+	/**
+	 * Retry policy applied to all idempotent calls to the Strava API
+	 */
+	private static final StravaRetryPolicy RETRY_POLICY = new StravaRetryPolicy();
+
+	/**
+	 * Coalescer shared by all tokens, so that concurrent identical GET requests made with the same token result in a single request
+	 */
+	private static final StravaRequestCoalescer REQUEST_COALESCER = new StravaRequestCoalescer();
+
+	/**
+	 * Shared Retrofit services, one per API interface for each Strava application, used by all tokens issued to that application. The token is bound to each
+	 * call by {@link RetrofitTokenInvocationHandler}.
+	 */
+	private static final ConcurrentHashMap<StravaRateLimitState, ConcurrentHashMap<Class<?>, Object>> SHARED_SERVICES = new ConcurrentHashMap<StravaRateLimitState, ConcurrentHashMap<Class<?>, Object>>();
+
 	/**
 	 * <p>
 	 * Get an instance of the authorisation API (cached)
@@ -89,13 +155,27 @@ public class API {
 	 */
 	public static AuthorisationAPI authorisationInstance() {
 		if (authorisationAPI == null) {
-			authorisationAPI = new RestAdapter.Builder().setClient(new RetrofitClientResponseInterceptor()).setConverter(new GsonConverter(new JsonUtilImpl().getGson()))
-					.setLogLevel(API.logLevel(AuthorisationServiceImpl.class)).setEndpoint(StravaConfig.AUTH_ENDPOINT).setErrorHandler(new RetrofitErrorHandler()).build()
+			authorisationAPI = new RestAdapter.Builder().setClient(new RetrofitClientResponseInterceptor(HTTP_CLIENT, StravaRateLimitState.defaultApplication())).setConverter(CONVERTER).setExecutors(HTTP_EXECUTOR, null)
+					.setLogLevel(API.logLevel(AuthorisationServiceImpl.class)).setEndpoint(StravaConfig.AUTH_ENDPOINT).setErrorHandler(ERROR_HANDLER).build()
 					.create(AuthorisationAPI.class);
 		}
 		return authorisationAPI;
 	}
 
+	/**
+	 * @return A bounded pool of daemon threads for asynchronous HTTP calls, whose threads die when idle
+	 */
+	private static ThreadPoolExecutor httpExecutor() {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(StravaConfig.HTTP_ASYNC_THREADS, StravaConfig.HTTP_ASYNC_THREADS, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), runnable -> {
+					final Thread thread = new Thread(runnable, "javastrava-http"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 * Generates a callback for the API, based on a {@link CompletableFuture}. {@link CompletableFuture#complete(Object)} will be called when the asynchronous call to the API is complete
 	 *
@@ -109,6 +189,64 @@ public class API {
 		return new StravaAPICallback<T>(completableFuture);
 	}
 
+	/**
+	 * <p>
+	 * Read the body of a streamed response, which holds a JSON array, handing each element to the consumer as soon as it has been read
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of the elements
+	 * @param response
+	 *            The response
+	 * @param class1
+	 *            Class of the elements
+	 * @param projection
+	 *            Fields of each element to read, or <code>null</code> for all of them
+	 * @param consumer
+	 *            Consumer given each element in turn
+	 * @return Number of elements read
+	 */
+	private static <T> int consumeArray(final Response response, final Class<T> class1, final Projection projection, final Consumer<? super T> consumer) {
+		if (response.getBody() == null) {
+			return 0;
+		}
+		try (InputStream in = response.getBody().in()) {
+			return JsonUtilImpl.instance().deserialiseArray(in, class1, projection, consumer);
+		} catch (final IOException e) {
+			throw new StravaAPINetworkException(null, null, e);
+		} catch (final JsonSerialisationException e) {
+			throw new StravaUnknownAPIException(null, null, e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read the body of a streamed response, which holds a JSON object, skipping the fields which the projection doesn't include
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of the object
+	 * @param response
+	 *            The response
+	 * @param class1
+	 *            Class of the object
+	 * @param projection
+	 *            Fields to read
+	 * @return The object, with only the projected fields set
+	 */
+	private static <T> T readObject(final Response response, final Class<T> class1, final Projection projection) {
+		if (response.getBody() == null) {
+			return null;
+		}
+		try (InputStream in = response.getBody().in()) {
+			return JsonUtilImpl.instance().deserialise(in, class1, projection);
+		} catch (final IOException e) {
+			throw new StravaAPINetworkException(null, null, e);
+		} catch (final JsonSerialisationException e) {
+			throw new StravaUnknownAPIException(null, null, e);
+		}
+	}
+
 	/**
 	 * @return the authorisationAPI
 	 */
@@ -118,7 +256,27 @@ public class API {
 
 	/**
 	 * <p>
-	 * Creates and returns a new API RestAdapter instance.
+	 * Creates the OkHttp client which is shared by all API instances, with the same timeouts that Retrofit's default client uses
+	 * </p>
+	 *
+	 * @return The HTTP client
+	 */
+	private static OkHttpClient httpClient() {
+		final OkHttpClient client = new OkHttpClient();
+		client.setConnectTimeout(15, TimeUnit.SECONDS);
+		client.setReadTimeout(20, TimeUnit.SECONDS);
+		return client;
+	}
+
+	/**
+	 * <p>
+	 * Returns an API service instance which authenticates all of its requests with the given token.
+	 * </p>
+	 *
+	 * <p>
+	 * The underlying Retrofit service is shared by all tokens issued to the same Strava application, and the HTTP client, connection pool and converter are
+	 * shared by all tokens; only lightweight proxies which bind the token to each call, guard each endpoint with its circuit breaker, retry idempotent calls
+	 * which fail transiently and coalesce concurrent identical calls are created here.
 	 * </p>
 	 *
 	 * @param class1
@@ -130,20 +288,51 @@ public class API {
 	 * @return A REST service
 	 */
 	public static <T> T instance(final Class<T> class1, final Token token) {
-		return new RestAdapter.Builder()
-				// Client overrides handling of Strava-specific headers in the response, to deal with rate limiting
-				.setClient(new RetrofitClientResponseInterceptor())
-				// Converter is a GSON implementation with custom converters
-				.setConverter(new GsonConverter(new JsonUtilImpl().getGson()))
-				// Log level is determined per API service
-				.setLogLevel(API.logLevel(class1))
-				// Endpoint is the same for all services
-				.setEndpoint(StravaConfig.ENDPOINT)
-				// Request interceptor adds the access token into headers for each request
-				.setRequestInterceptor(request -> request.addHeader(StravaConfig.string("strava.authorization_header_name"), //$NON-NLS-1$
-						token.getTokenType() + " " + token.getToken())) //$NON-NLS-1$
-				// Error handler deals with Strava's implementations of 400, 401, 403, 404 errors etc.
-				.setErrorHandler(new RetrofitErrorHandler()).build().create(class1);
+		T service = RetrofitTokenInvocationHandler.proxy(class1, apiToken -> sharedInstance(class1, rateLimitState(apiToken)), token);
+		if (StravaConfig.CIRCUIT_BREAKER_ENABLED) {
+			service = RetrofitCircuitBreakerInvocationHandler.proxy(class1, service);
+		}
+		service = RetrofitRetryInvocationHandler.proxy(class1, service, RETRY_POLICY, () -> rateLimitState(token));
+		if (StravaConfig.REQUEST_COALESCING_ENABLED) {
+			service = RetrofitCoalescingInvocationHandler.proxy(class1, service, REQUEST_COALESCER, token);
+		}
+		return service;
+	}
+
+	/**
+	 * <p>
+	 * Get the shared Retrofit service for the given API interface and Strava application, creating it if it doesn't already exist
+	 * </p>
+	 *
+	 * @param class1
+	 *            The class to be returned
+	 * @param rateLimitState
+	 *            Rate limit state of the Strava application
+	 * @param <T>
+	 *            Class of API interface to be instantiated (one of the *API.java interfaces)
+	 * @return The shared REST service
+	 */
+	private static <T> T sharedInstance(final Class<T> class1, final StravaRateLimitState rateLimitState) {
+		final ConcurrentHashMap<Class<?>, Object> services = SHARED_SERVICES.computeIfAbsent(rateLimitState, state -> new ConcurrentHashMap<Class<?>, Object>());
+		return class1.cast(services.computeIfAbsent(class1, apiClass -> {
+			// Build the JSON adapters for the interface's model classes now, rather than on its first few calls
+			JsonUtilImpl.instance().prepareAdapters(apiClass);
+			return new RestAdapter.Builder()
+					// Client overrides handling of Strava-specific headers in the response, to deal with rate limiting for the application
+					.setClient(new RetrofitClientResponseInterceptor(HTTP_CLIENT, rateLimitState))
+					// Converter is a GSON implementation with custom converters
+					.setConverter(CONVERTER)
+					// Asynchronous calls all share the one executor
+					.setExecutors(HTTP_EXECUTOR, null)
+					// Log level is determined per API service
+					.setLogLevel(API.logLevel(apiClass))
+					// Endpoint is the same for all services
+					.setEndpoint(StravaConfig.ENDPOINT)
+					// Request interceptor adds the access token bound to the current call into headers for each request
+					.setRequestInterceptor(RetrofitTokenInvocationHandler.authorisationInterceptor())
+					// Error handler deals with Strava's implementations of 400, 401, 403, 404 errors etc.
+					.setErrorHandler(ERROR_HANDLER).build().create(apiClass);
+		}));
 	}
 
 	/**
@@ -162,6 +351,42 @@ public class API {
 		return logLevel;
 	}
 
+	/**
+	 * <p>
+	 * Get the rate limit state of the Strava application which issued the given token. Its rate limiter (if enabled) paces all requests made with tokens
+	 * issued to the application; callers which fan out many requests can use it to wait for (or check for) capacity before submitting work.
+	 * </p>
+	 *
+	 * @param token
+	 *            The access token
+	 * @return The rate limit state of the token's application
+	 */
+	public static StravaRateLimitState rateLimitState(final Token token) {
+		return StravaRateLimitState.forApplication(token.getClientId());
+	}
+
+	/**
+	 * @return The retry policy applied to all idempotent calls to the Strava API, including its retry and give-up counts
+	 */
+	public static StravaRetryPolicy retryPolicy() {
+		return RETRY_POLICY;
+	}
+
+	/**
+	 * @return The circuit breakers guarding calls to the Strava API, by endpoint name (e.g. <code>ActivityAPI.getActivity</code>), including their states and
+	 *         rejection counts
+	 */
+	public static Map<String, StravaCircuitBreaker> circuitBreakers() {
+		return StravaCircuitBreaker.all();
+	}
+
+	/**
+	 * @return The coalescer for concurrent identical GET requests, including the number of requests made and the number of callers who shared them
+	 */
+	public static StravaRequestCoalescer requestCoalescer() {
+		return REQUEST_COALESCER;
+	}
+
 	/**
 	 * @param authorisationAPI
 	 *            the authorisationAPI to set
@@ -585,6 +810,27 @@ public class API {
 		return this.activityAPI.getActivity(id, includeAllEfforts);
 	}
 
+	/**
+	 * <p>
+	 * Get details of an activity, reading only the fields which the projection includes; the rest of the response (such as the segment efforts, splits and
+	 * laps of a detailed activity) is skipped without being built
+	 * </p>
+	 *
+	 * @param id
+	 *            Activity identifier
+	 * @param includeAllEfforts
+	 *            Whether or not to include only efforts that Strava considers 'important'
+	 * @param projection
+	 *            Fields to read, named as they are in the JSON (such as <code>start_date</code>)
+	 * @return The Strava activity with the given id with only the projected fields set, if it exists
+	 * @throws NotFoundException
+	 *             If the activity does not exist
+	 * @see javastrava.api.ActivityAPI#getActivityStreaming(java.lang.Long, java.lang.Boolean)
+	 */
+	public StravaActivity getActivity(final Long id, final Boolean includeAllEfforts, final Projection projection) throws NotFoundException {
+		return readObject(this.activityAPI.getActivityStreaming(id, includeAllEfforts), StravaActivity.class, projection);
+	}
+
 	/**
 	 * @return the activityAPI
 	 */
@@ -660,7 +906,7 @@ public class API {
 			final StravaStreamSeriesDownsamplingType seriesType) throws UnauthorizedException, NotFoundException, BadRequestException {
 		final StravaAPIFuture<StravaStream[]> future = new StravaAPIFuture<StravaStream[]>();
 		// Note: resolution and seriesType parameters are deprecated in the new API
-		this.streamAPI.getActivityStreams(activityId, types, null, callback(future));
+		this.streamAPI.getActivityStreams(activityId, types, Boolean.TRUE, callback(future));
 		return future;
 	}
 
@@ -1880,6 +2126,90 @@ public class API {
 		return this.activityAPI.listAuthenticatedAthleteActivities(before, after, page, perPage);
 	}
 
+	/**
+	 * <p>
+	 * Gets a page of activities as {@link #listAuthenticatedAthleteActivities(Integer, Integer, Integer, Integer)} does, but hands each activity to the
+	 * consumer as soon as it has been read from the response, rather than reading the whole page into an array first. Only one activity is held in memory
+	 * at a time, and the consumer can start work on the first activity while the rest of the page is still arriving.
+	 * </p>
+	 *
+	 * @param before
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced before this time
+	 * @param after
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced after this time
+	 * @param page
+	 *            Page number to return
+	 * @param perPage
+	 *            Number of results to return
+	 * @param consumer
+	 *            Consumer given each activity in turn, on the calling thread
+	 * @return Number of activities on the page
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 * @see javastrava.api.ActivityAPI#listAuthenticatedAthleteActivitiesStreaming(java.lang.Integer, java.lang.Integer, java.lang.Integer, java.lang.Integer)
+	 */
+	public int listAuthenticatedAthleteActivities(final Integer before, final Integer after, final Integer page, final Integer perPage, final Consumer<? super StravaActivity> consumer)
+			throws BadRequestException {
+		return consumeArray(this.activityAPI.listAuthenticatedAthleteActivitiesStreaming(before, after, page, perPage), StravaActivity.class, null, consumer);
+	}
+
+	/**
+	 * <p>
+	 * Gets a page of activities as {@link #listAuthenticatedAthleteActivities(Integer, Integer, Integer, Integer)} does, but reads only the fields of each
+	 * activity which the projection includes; the rest (such as the athlete and the map's polylines) are skipped without being built. This suits scans of a
+	 * long history which only need a few fields of each activity, for example <code>Projection.of("id", "start_date", "distance")</code>.
+	 * </p>
+	 *
+	 * @param before
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced before this time
+	 * @param after
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced after this time
+	 * @param page
+	 *            Page number to return
+	 * @param perPage
+	 *            Number of results to return
+	 * @param projection
+	 *            Fields to read, named as they are in the JSON
+	 * @return Activities with only the projected fields set
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 * @see javastrava.api.ActivityAPI#listAuthenticatedAthleteActivitiesStreaming(java.lang.Integer, java.lang.Integer, java.lang.Integer, java.lang.Integer)
+	 */
+	public StravaActivity[] listAuthenticatedAthleteActivities(final Integer before, final Integer after, final Integer page, final Integer perPage, final Projection projection)
+			throws BadRequestException {
+		final List<StravaActivity> activities = new ArrayList<StravaActivity>();
+		listAuthenticatedAthleteActivities(before, after, page, perPage, projection, activities::add);
+		return activities.toArray(new StravaActivity[activities.size()]);
+	}
+
+	/**
+	 * <p>
+	 * Gets a page of activities as {@link #listAuthenticatedAthleteActivities(Integer, Integer, Integer, Integer, Consumer)} does, handing each activity to
+	 * the consumer as soon as it has been read, but reads only the fields of each activity which the projection includes
+	 * </p>
+	 *
+	 * @param before
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced before this time
+	 * @param after
+	 *            Time in seconds since the UNIX epoch date - only return activities commenced after this time
+	 * @param page
+	 *            Page number to return
+	 * @param perPage
+	 *            Number of results to return
+	 * @param projection
+	 *            Fields to read, named as they are in the JSON
+	 * @param consumer
+	 *            Consumer given each activity in turn, on the calling thread
+	 * @return Number of activities on the page
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 * @see javastrava.api.ActivityAPI#listAuthenticatedAthleteActivitiesStreaming(java.lang.Integer, java.lang.Integer, java.lang.Integer, java.lang.Integer)
+	 */
+	public int listAuthenticatedAthleteActivities(final Integer before, final Integer after, final Integer page, final Integer perPage, final Projection projection,
+			final Consumer<? super StravaActivity> consumer) throws BadRequestException {
+		return consumeArray(this.activityAPI.listAuthenticatedAthleteActivitiesStreaming(before, after, page, perPage), StravaActivity.class, projection, consumer);
+	}
+
 	/**
 	 * @param before
 	 *            Time in seconds since the UNIX epoch date - only return activities commenced before this time
@@ -2079,6 +2409,59 @@ public class API {
 		return this.clubAPI.listClubMembers(clubId, page, perPage);
 	}
 
+	/**
+	 * <p>
+	 * Gets a page of club members as {@link #listClubMembers(Integer, Integer, Integer)} does, but hands each athlete to the consumer as soon as it has been
+	 * read from the response, rather than reading the whole page into an array first.
+	 * </p>
+	 *
+	 * @param clubId
+	 *            CLub identifier
+	 * @param page
+	 *            Page number to be returned (default is 1)
+	 * @param perPage
+	 *            Page size to be returned (default is 50)
+	 * @param consumer
+	 *            Consumer given each athlete in turn, on the calling thread
+	 * @return Number of athletes on the page
+	 * @throws NotFoundException
+	 *             If the club with the given id doesn't exist
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 * @see javastrava.api.ClubAPI#listClubMembersStreaming(java.lang.Integer, java.lang.Integer, java.lang.Integer)
+	 */
+	public int listClubMembers(final Integer clubId, final Integer page, final Integer perPage, final Consumer<? super StravaAthlete> consumer) throws NotFoundException, BadRequestException {
+		return consumeArray(this.clubAPI.listClubMembersStreaming(clubId, page, perPage), StravaAthlete.class, null, consumer);
+	}
+
+	/**
+	 * <p>
+	 * Gets a page of club members as {@link #listClubMembers(Integer, Integer, Integer, Consumer)} does, but reads only the fields of each athlete which the
+	 * projection includes
+	 * </p>
+	 *
+	 * @param clubId
+	 *            Club identifier
+	 * @param page
+	 *            Page number to be returned (default is 1)
+	 * @param perPage
+	 *            Page size to be returned (default is 50)
+	 * @param projection
+	 *            Fields to read, named as they are in the JSON
+	 * @param consumer
+	 *            Consumer given each athlete in turn, on the calling thread
+	 * @return Number of athletes on the page
+	 * @throws NotFoundException
+	 *             If the club does not exist
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 * @see javastrava.api.ClubAPI#listClubMembersStreaming(java.lang.Integer, java.lang.Integer, java.lang.Integer)
+	 */
+	public int listClubMembers(final Integer clubId, final Integer page, final Integer perPage, final Projection projection, final Consumer<? super StravaAthlete> consumer)
+			throws NotFoundException, BadRequestException {
+		return consumeArray(this.clubAPI.listClubMembersStreaming(clubId, page, perPage), StravaAthlete.class, projection, consumer);
+	}
+
 	/**
 	 * @param clubId
 	 *            CLub identifier
@@ -22,6 +22,7 @@ import retrofit.http.POST;
 import retrofit.http.PUT;
 import retrofit.http.Path;
 import retrofit.http.Query;
+import retrofit.http.Streaming;
 
 /**
  * <p>
@@ -188,6 +189,24 @@ public interface ActivityAPI {
 	@GET("/activities/{id}")
 	public Response getActivityRaw(@Path("id") final Long id, @Query("include_all_efforts") final Boolean includeAllEfforts) throws NotFoundException;
 
+	/**
+	 * <p>
+	 * As {@link #getActivityRaw(Long, Boolean)}, but the body of the response is not read before it is returned, so that it can be read while it is still
+	 * arriving (see {@link API#getActivity(Long, Boolean, javastrava.json.Projection)}). The body must be read to the end or closed.
+	 * </p>
+	 *
+	 * @param id
+	 *            The id of the {@link StravaActivity activity} to be returned
+	 * @param includeAllEfforts
+	 *            (Optional) Used to include all segment efforts in the result (if omitted or <code>false</code> then only "important" efforts are returned).
+	 * @return Response whose body is the activity
+	 * @throws NotFoundException
+	 *             If the activity does not exist
+	 */
+	@Streaming
+	@GET("/activities/{id}")
+	public Response getActivityStreaming(@Path("id") final Long id, @Query("include_all_efforts") final Boolean includeAllEfforts) throws NotFoundException;
+
 	/**
 	 * @see ActivityService#giveKudos(Long)
 	 *
@@ -504,6 +523,31 @@ public interface ActivityAPI {
 	public Response listAuthenticatedAthleteActivitiesRaw(@Query("before") final Integer before, @Query("after") final Integer after, @Query("page") final Integer page,
 			@Query("per_page") final Integer perPage) throws BadRequestException;
 
+	/**
+	 * <p>
+	 * As {@link #listAuthenticatedAthleteActivitiesRaw(Integer, Integer, Integer, Integer)}, but the body of the response is not read before it is returned,
+	 * so that it can be read while it is still arriving (see
+	 * {@link API#listAuthenticatedAthleteActivities(Integer, Integer, Integer, Integer, java.util.function.Consumer)}). The body must be read to the end or
+	 * closed.
+	 * </p>
+	 *
+	 * @param before
+	 *            Unix epoch time in seconds - return activities before this time
+	 * @param after
+	 *            Unix epoch time in seconds - return activities after this time
+	 * @param page
+	 *            Page number to be returned
+	 * @param perPage
+	 *            Page size to be returned
+	 * @return Response whose body is the array of Strava activities in the given time frame
+	 * @throws BadRequestException
+	 *             If paging instructions are invalid
+	 */
+	@Streaming
+	@GET("/athlete/activities")
+	public Response listAuthenticatedAthleteActivitiesStreaming(@Query("before") final Integer before, @Query("after") final Integer after, @Query("page") final Integer page,
+			@Query("per_page") final Integer perPage) throws BadRequestException;
+
 	/**
 	 * @see javastrava.service.ActivityService#listFriendsActivities(javastrava.util.Paging)
 	 *
@@ -14,6 +14,7 @@ import retrofit.http.GET;
 import retrofit.http.PUT;
 import retrofit.http.Path;
 import retrofit.http.Query;
+import retrofit.http.Streaming;
 
 /**
  * <p>
@@ -61,6 +62,22 @@ public interface AthleteAPI {
 	@GET("/athletes/{id}")
 	public Response getAthleteRaw(@Path("id") final Integer athleteId) throws NotFoundException;
 
+	/**
+	 * <p>
+	 * As {@link #getAthleteRaw(Integer)}, but the body of the response is not read before it is returned, so that it can be copied while it is still
+	 * arriving. The body must be read to the end or closed.
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            Athlete identifier
+	 * @return Response whose body is the athlete
+	 * @throws NotFoundException
+	 *             If the athlete doesn't exist
+	 */
+	@Streaming
+	@GET("/athletes/{id}")
+	public Response getAthleteStreaming(@Path("id") final Integer athleteId) throws NotFoundException;
+
 	/**
 	 * @see javastrava.service.AthleteService#getAuthenticatedAthlete()
 	 *
@@ -14,6 +14,7 @@ import retrofit.http.GET;
 import retrofit.http.POST;
 import retrofit.http.Path;
 import retrofit.http.Query;
+import retrofit.http.Streaming;
 
 /**
  * <p>
@@ -298,6 +299,29 @@ public interface ClubAPI {
 	@GET("/clubs/{id}/members")
 	public Response listClubMembersRaw(@Path("id") final Integer clubId, @Query("page") final Integer page, @Query("per_page") final Integer perPage) throws NotFoundException, BadRequestException;
 
+	/**
+	 * <p>
+	 * As {@link #listClubMembersRaw(Integer, Integer, Integer)}, but the body of the response is not read before it is returned, so that it can be read
+	 * while it is still arriving (see {@link API#listClubMembers(Integer, Integer, Integer, java.util.function.Consumer)}). The body must be read to the end
+	 * or closed.
+	 * </p>
+	 *
+	 * @param clubId
+	 *            CLub identifier
+	 * @param page
+	 *            Page number to be returned (default is 1)
+	 * @param perPage
+	 *            Page size to be returned (default is 50)
+	 * @return Response whose body is the array of athletes who are members of the identified club
+	 * @throws NotFoundException
+	 *             If the club with the given id doesn't exist
+	 * @throws BadRequestException
+	 *             If the paging instructions are invalid
+	 */
+	@Streaming
+	@GET("/clubs/{id}/members")
+	public Response listClubMembersStreaming(@Path("id") final Integer clubId, @Query("page") final Integer page, @Query("per_page") final Integer perPage) throws NotFoundException, BadRequestException;
+
 	/**
 	 * @see javastrava.service.ClubService#listRecentClubActivities(Integer, javastrava.util.Paging)
 	 *
@@ -10,6 +10,7 @@ import retrofit.client.Response;
 import retrofit.http.GET;
 import retrofit.http.Path;
 import retrofit.http.Query;
+import retrofit.http.Streaming;
 
 /**
  * <p>
@@ -78,6 +79,26 @@ public interface RouteAPI {
 	@GET("/routes/{id}")
 	public Response getRouteRaw(@Path("id") Integer routeId) throws NotFoundException, BadRequestException, UnauthorizedException;
 
+	/**
+	 * <p>
+	 * As {@link #getRouteRaw(Integer)}, but the body of the response is not read before it is returned, so that it can be copied while it is still
+	 * arriving. The body must be read to the end or closed.
+	 * </p>
+	 *
+	 * @param routeId
+	 *            The identifier of the route to retrieve
+	 * @return Response whose body is the route
+	 * @throws NotFoundException
+	 *             If the route does not exist
+	 * @throws BadRequestException
+	 *             If the id is not an integer
+	 * @throws UnauthorizedException
+	 *             If the route is private and the token has {@link AuthorisationScope#VIEW_PRIVATE view_private}
+	 */
+	@Streaming
+	@GET("/routes/{id}")
+	public Response getRouteStreaming(@Path("id") Integer routeId) throws NotFoundException, BadRequestException, UnauthorizedException;
+
 	/**
 	 * <p>
 	 * Lists a specific athlete’s routes. Private routes will only be included if the authenticating user is viewing their own routes and the token has {@link AuthorisationScope#VIEW_PRIVATE
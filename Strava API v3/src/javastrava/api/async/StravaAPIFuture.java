@@ -60,4 +60,13 @@ public class StravaAPIFuture<T> {
 		}
 		return result;
 	}
+
+	/**
+	 * Access to the wrapped future, so that further processing can be composed onto the result of the API call without blocking a thread waiting for it.
+	 * The future is completed with the javastrava exception if the call fails.
+	 * @return The wrapped future
+	 */
+	public CompletableFuture<T> toCompletableFuture() {
+		return this.future;
+	}
 }
@@ -0,0 +1,189 @@
+package javastrava.api.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javastrava.api.async.StravaAPICallback;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+
+/**
+ * <p>
+ * Guards each method of an API interface with the {@link StravaCircuitBreaker} for that endpoint
+ * </p>
+ *
+ * <p>
+ * While an endpoint's breaker is open, synchronous calls to it throw a {@link javastrava.service.exception.StravaAPICircuitOpenException} immediately, and
+ * asynchronous calls (those taking a {@link StravaAPICallback}) pass it to the callback's failure method, without a request being made. The synchronous and
+ * asynchronous versions of a method share a breaker.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RetrofitCircuitBreakerInvocationHandler implements InvocationHandler {
+	/**
+	 * Circuit breaker for each API method, to save building the endpoint name on every call
+	 */
+	private static final Map<Method, StravaCircuitBreaker> BREAKERS = new ConcurrentHashMap<Method, StravaCircuitBreaker>();
+
+	/**
+	 * <p>
+	 * Create a proxy for the given service which guards each of its methods with a circuit breaker
+	 * </p>
+	 *
+	 * @param class1
+	 *            The API interface
+	 * @param service
+	 *            The service to which calls are delegated
+	 * @param <T>
+	 *            Class of API interface (one of the *API.java interfaces)
+	 * @return A proxy implementing the API interface
+	 */
+	public static <T> T proxy(final Class<T> class1, final T service) {
+		return class1.cast(Proxy.newProxyInstance(class1.getClassLoader(), new Class<?>[] { class1 }, new RetrofitCircuitBreakerInvocationHandler(service)));
+	}
+
+	/**
+	 * @param method
+	 *            A method of one of the API interfaces
+	 * @return The circuit breaker for the endpoint called by the method
+	 */
+	public static StravaCircuitBreaker breaker(final Method method) {
+		return BREAKERS.computeIfAbsent(method, key -> StravaCircuitBreaker.forEndpoint(key.getDeclaringClass().getSimpleName() + "." + key.getName())); //$NON-NLS-1$
+	}
+
+	/**
+	 * The service to which calls are delegated
+	 */
+	private final Object service;
+
+	/**
+	 * @param service
+	 *            The service to which calls are delegated
+	 */
+	public RetrofitCircuitBreakerInvocationHandler(final Object service) {
+		this.service = service;
+	}
+
+	/**
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		// Methods from Object are handled by this handler rather than the service
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(this, args);
+		}
+
+		final StravaCircuitBreaker breaker = breaker(method);
+		final boolean async = (args != null) && (args.length > 0) && (args[args.length - 1] instanceof StravaAPICallback);
+
+		if (!breaker.allowRequest()) {
+			if (async) {
+				castCallback(args[args.length - 1]).failure(RetrofitError.unexpectedError(null, breaker.rejection()));
+				return null;
+			}
+			throw breaker.rejection();
+		}
+
+		// Asynchronous calls report their outcome to the breaker via the callback
+		if (async) {
+			final Object[] breakerArgs = args.clone();
+			breakerArgs[args.length - 1] = new CircuitBreakerCallback<Object>(breaker, castCallback(args[args.length - 1]));
+			return invokeService(method, breakerArgs, breaker);
+		}
+
+		final Object result = invokeService(method, args, breaker);
+		breaker.onSuccess();
+		return result;
+	}
+
+	/**
+	 * Invoke the method on the underlying service, unwrapping any exception it throws and reporting it to the breaker
+	 *
+	 * @param method
+	 *            The method
+	 * @param args
+	 *            The arguments
+	 * @param breaker
+	 *            The circuit breaker for the method
+	 * @return The result of the method
+	 * @throws Throwable
+	 *             Whatever the method throws
+	 */
+	private Object invokeService(final Method method, final Object[] args, final StravaCircuitBreaker breaker) throws Throwable {
+		try {
+			return method.invoke(this.service, args);
+		} catch (final InvocationTargetException e) {
+			breaker.onError(e.getCause());
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @param callback
+	 *            A callback of unknown type
+	 * @return The callback
+	 */
+	@SuppressWarnings("unchecked")
+	private static StravaAPICallback<Object> castCallback(final Object callback) {
+		return (StravaAPICallback<Object>) callback;
+	}
+
+	/**
+	 * <p>
+	 * Callback which reports the outcome of an asynchronous call to the circuit breaker before passing it on to the caller's callback
+	 * </p>
+	 *
+	 * @param <T>
+	 *            The type being returned to the callback
+	 */
+	private static class CircuitBreakerCallback<T> extends StravaAPICallback<T> {
+		/**
+		 * The circuit breaker for the method being called
+		 */
+		private final StravaCircuitBreaker breaker;
+
+		/**
+		 * The caller's callback
+		 */
+		private final StravaAPICallback<T> callback;
+
+		/**
+		 * @param breaker
+		 *            The circuit breaker for the method being called
+		 * @param callback
+		 *            The caller's callback
+		 */
+		CircuitBreakerCallback(final StravaCircuitBreaker breaker, final StravaAPICallback<T> callback) {
+			// Results are passed to the caller's callback, which completes the caller's future
+			super(null);
+			this.breaker = breaker;
+			this.callback = callback;
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#success(java.lang.Object, retrofit.client.Response)
+		 */
+		@Override
+		public void success(final T t, final Response response) {
+			this.breaker.onSuccess();
+			this.callback.success(t, response);
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#failure(retrofit.RetrofitError)
+		 */
+		@Override
+		public void failure(final RetrofitError error) {
+			this.breaker.onError(error.getCause());
+			this.callback.failure(error);
+		}
+	}
+
+}
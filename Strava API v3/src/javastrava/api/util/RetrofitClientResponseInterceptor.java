@@ -1,6 +1,7 @@
 package javastrava.api.util;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.StringTokenizer;
 
 import com.squareup.okhttp.OkHttpClient;
@@ -16,53 +17,104 @@ import retrofit.client.Response;
  * <p>
  * Overrides the OkHttp client in order to intercept the rate limit data returned by the API in headers
  * </p>
- * 
+ *
+ * <p>
+ * Each interceptor records the rate limit data for one Strava application in a {@link StravaRateLimitState}. If that application has a
+ * {@link StravaRateLimiter}, each request waits for a permit from it before being sent.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
 public class RetrofitClientResponseInterceptor extends OkClient {
 
+	/**
+	 * Rate limit state of the application on whose behalf requests are made
+	 */
+	private final StravaRateLimitState rateLimitState;
+
 	/**
 	 * No-args constructor
 	 */
 	public RetrofitClientResponseInterceptor() {
 		super();
+		this.rateLimitState = StravaRateLimitState.defaultApplication();
 	}
 	/**
 	 * @param client The client to use
 	 */
 	public RetrofitClientResponseInterceptor(final OkHttpClient client) {
+		this(client, StravaRateLimitState.defaultApplication());
+	}
+
+	/**
+	 * @param client The client to use
+	 * @param rateLimitState Rate limit state of the application on whose behalf requests are made
+	 */
+	public RetrofitClientResponseInterceptor(final OkHttpClient client, final StravaRateLimitState rateLimitState) {
 		super(client);
+		this.rateLimitState = rateLimitState;
 	}
 
 	/**
 	 * <p>
-	 * Gets and stores the values of the rate limit information headers returned by Strava with each response
+	 * Waits for a permit from the application's rate limiter (if there is one), then gets and stores the values of the rate limit information headers returned by Strava
+	 * with each response
 	 * </p>
-	 * 
+	 *
 	 * @see retrofit.client.OkClient#execute(retrofit.client.Request)
 	 */
 	@Override
+	@SuppressWarnings("deprecation")
 	public Response execute(final Request request) throws IOException {
+		final StravaRateLimiter rateLimiter = this.rateLimitState.getRateLimiter();
+		if (rateLimiter != null) {
+			try {
+				rateLimiter.acquire();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(e.getMessage());
+			}
+		}
+
 		Response response = super.execute(request);
 
+		Integer usageCurrent = null;
+		Integer usageDaily = null;
+		Integer limitCurrent = null;
+		Integer limitDaily = null;
 		for (Header header : response.getHeaders()) {
-			if (header.getName().equals(StravaConfig.string("strava.rate-limit-usage-header-name"))) { //$NON-NLS-1$
+			if (StravaConfig.string("strava.rate-limit-usage-header-name").equalsIgnoreCase(header.getName())) { //$NON-NLS-1$
 				String values = header.getValue();
 				StringTokenizer tokenizer = new StringTokenizer(values, ","); //$NON-NLS-1$
-				Strava.REQUEST_RATE_CURRENT = Integer.valueOf(tokenizer.nextToken()).intValue();
-				Strava.REQUEST_RATE_DAILY = Integer.valueOf(tokenizer.nextToken()).intValue();
-				Strava.requestRateCurrentPercentage();
+				usageCurrent = Integer.valueOf(tokenizer.nextToken().trim());
+				usageDaily = Integer.valueOf(tokenizer.nextToken().trim());
 			}
-			if (header.getName().equals(StravaConfig.string("strava.rate-limit-limit-header-name"))) { //$NON-NLS-1$
+			if (StravaConfig.string("strava.rate-limit-limit-header-name").equalsIgnoreCase(header.getName())) { //$NON-NLS-1$
 				String values = header.getValue();
 				StringTokenizer tokenizer = new StringTokenizer(values, ","); //$NON-NLS-1$
-				Strava.RATE_LIMIT_CURRENT = Integer.valueOf(tokenizer.nextToken()).intValue();
-				Strava.RATE_LIMIT_DAILY = Integer.valueOf(tokenizer.nextToken()).intValue();
-				Strava.requestRateDailyPercentage();
+				limitCurrent = Integer.valueOf(tokenizer.nextToken().trim());
+				limitDaily = Integer.valueOf(tokenizer.nextToken().trim());
 			}
 		}
 
+		if ((usageCurrent != null) && (limitCurrent != null)) {
+			this.rateLimitState.update(usageCurrent.intValue(), usageDaily.intValue(), limitCurrent.intValue(), limitDaily.intValue());
+
+			// Deprecated global values are kept for backward compatibility
+			Strava.REQUEST_RATE_CURRENT = usageCurrent.intValue();
+			Strava.REQUEST_RATE_DAILY = usageDaily.intValue();
+			Strava.RATE_LIMIT_CURRENT = limitCurrent.intValue();
+			Strava.RATE_LIMIT_DAILY = limitDaily.intValue();
+		}
+
 		return response;
 	}
+
+	/**
+	 * @return Rate limit state of the application on whose behalf requests are made
+	 */
+	public StravaRateLimitState getRateLimitState() {
+		return this.rateLimitState;
+	}
 }
@@ -0,0 +1,323 @@
+package javastrava.api.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+import javastrava.api.async.StravaAPICallback;
+import javastrava.auth.model.Token;
+import javastrava.json.impl.JsonUtilImpl;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+import retrofit.http.GET;
+
+/**
+ * <p>
+ * Coalesces concurrent identical calls to the Strava API made with the same token, using a {@link StravaRequestCoalescer}
+ * </p>
+ *
+ * <p>
+ * Only idempotent (HTTP GET) calls which return a model object are coalesced; calls returning the raw {@link Response} are not, as its body can only be read
+ * once. The synchronous and asynchronous versions of a method with the same arguments are the same request, so a synchronous caller can share a request made
+ * by an asynchronous one and vice versa.
+ * </p>
+ *
+ * <p>
+ * The services and their callers change the model objects they are given, so callers which share a request don't share its result: the caller which made
+ * the request gets the result, and each of the others gets its own copy. If anyone has joined the request, the result is copied to a JSON tree as soon as
+ * it arrives, before the caller which made the request can change it, and each of the others reads its own copy from the tree. A caller which finds the
+ * request just as it completes, too late to be included in the copy, makes a request of its own.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RetrofitCoalescingInvocationHandler implements InvocationHandler {
+	/**
+	 * <p>
+	 * Create a proxy for the given service which coalesces concurrent identical calls
+	 * </p>
+	 *
+	 * @param class1
+	 *            The API interface
+	 * @param service
+	 *            The service to which calls are delegated
+	 * @param coalescer
+	 *            The coalescer tracking requests in flight
+	 * @param token
+	 *            The access token used by the service
+	 * @param <T>
+	 *            Class of API interface (one of the *API.java interfaces)
+	 * @return A proxy implementing the API interface
+	 */
+	public static <T> T proxy(final Class<T> class1, final T service, final StravaRequestCoalescer coalescer, final Token token) {
+		return class1.cast(Proxy.newProxyInstance(class1.getClassLoader(), new Class<?>[] { class1 }, new RetrofitCoalescingInvocationHandler(service, coalescer, token)));
+	}
+
+	/**
+	 * The service to which calls are delegated
+	 */
+	private final Object service;
+
+	/**
+	 * The coalescer tracking requests in flight
+	 */
+	private final StravaRequestCoalescer coalescer;
+
+	/**
+	 * The access token used by the service
+	 */
+	private final Token token;
+
+	/**
+	 * @param service
+	 *            The service to which calls are delegated
+	 * @param coalescer
+	 *            The coalescer tracking requests in flight
+	 * @param token
+	 *            The access token used by the service
+	 */
+	public RetrofitCoalescingInvocationHandler(final Object service, final StravaRequestCoalescer coalescer, final Token token) {
+		this.service = service;
+		this.coalescer = coalescer;
+		this.token = token;
+	}
+
+	/**
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		// Methods from Object are handled by this handler rather than the service
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(this, args);
+		}
+
+		if (!method.isAnnotationPresent(GET.class) || (method.getReturnType() == Response.class)) {
+			return invokeService(method, args);
+		}
+
+		final boolean async = (args != null) && (args.length > 0) && (args[args.length - 1] instanceof StravaAPICallback);
+		final Object[] requestArgs = (args == null ? new Object[0] : (async ? Arrays.copyOf(args, args.length - 1) : args));
+		final StravaRequestCoalescer.Key key = new StravaRequestCoalescer.Key(this.token.getToken(),
+				method.getDeclaringClass().getSimpleName() + "." + method.getName(), requestArgs); //$NON-NLS-1$
+
+		final SharedRequest future = new SharedRequest();
+		final CompletableFuture<Object> inFlight = this.coalescer.lead(key, future);
+
+		// Share the request already in flight, if its result hasn't already been handed over
+		if ((inFlight instanceof SharedRequest) && ((SharedRequest) inFlight).enlist()) {
+			final Gson gson = JsonUtilImpl.instance().getGson();
+			if (async) {
+				final StravaAPICallback<Object> callback = castCallback(args[args.length - 1]);
+				final Type type = callbackType(method);
+				inFlight.whenComplete((result, error) -> {
+					if (error == null) {
+						callback.success(gson.fromJson((JsonElement) result, type), null);
+					} else {
+						callback.failure(RetrofitError.unexpectedError(null, unwrap(error)));
+					}
+				});
+				return null;
+			}
+			try {
+				return gson.fromJson((JsonElement) inFlight.join(), method.getGenericReturnType());
+			} catch (final CompletionException e) {
+				throw unwrap(e);
+			}
+		}
+		if (inFlight != null) {
+			return invokeService(method, args);
+		}
+
+		// Make the request, and publish its outcome to anyone who joined it
+		if (async) {
+			final Object[] leaderArgs = args.clone();
+			leaderArgs[args.length - 1] = new CoalescingCallback<Object>(key, future, castCallback(args[args.length - 1]));
+			try {
+				return invokeService(method, leaderArgs);
+			} catch (final Throwable e) {
+				publish(key, future, null, e);
+				throw e;
+			}
+		}
+		try {
+			final Object result = invokeService(method, args);
+			publish(key, future, result, null);
+			return result;
+		} catch (final Throwable e) {
+			publish(key, future, null, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Publish the outcome of a request to anyone who joined it
+	 *
+	 * @param key
+	 *            The request
+	 * @param future
+	 *            The future registered by the caller which made the request
+	 * @param result
+	 *            The result, if the request succeeded
+	 * @param error
+	 *            The failure, if it didn't
+	 */
+	void publish(final StravaRequestCoalescer.Key key, final SharedRequest future, final Object result, final Throwable error) {
+		// Only copy the result if somebody will read the copy
+		final boolean joined = future.seal();
+		this.coalescer.complete(key, future, ((error == null) && joined ? JsonUtilImpl.instance().getGson().toJsonTree(result) : null), error);
+	}
+
+	/**
+	 * @param method
+	 *            An asynchronous API method
+	 * @return The type of result passed to its callback
+	 */
+	private static Type callbackType(final Method method) {
+		final Type[] parameterTypes = method.getGenericParameterTypes();
+		final Type callbackType = parameterTypes[parameterTypes.length - 1];
+		return (callbackType instanceof ParameterizedType ? ((ParameterizedType) callbackType).getActualTypeArguments()[0] : Object.class);
+	}
+
+	/**
+	 * Invoke the method on the underlying service, unwrapping any exception it throws
+	 *
+	 * @param method
+	 *            The method
+	 * @param args
+	 *            The arguments
+	 * @return The result of the method
+	 * @throws Throwable
+	 *             Whatever the method throws
+	 */
+	private Object invokeService(final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(this.service, args);
+		} catch (final InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @param error
+	 *            An exception thrown by a future
+	 * @return The exception which caused it to be thrown
+	 */
+	private static Throwable unwrap(final Throwable error) {
+		return ((error instanceof CompletionException) && (error.getCause() != null) ? error.getCause() : error);
+	}
+
+	/**
+	 * @param callback
+	 *            A callback of unknown type
+	 * @return The callback
+	 */
+	@SuppressWarnings("unchecked")
+	private static StravaAPICallback<Object> castCallback(final Object callback) {
+		return (StravaAPICallback<Object>) callback;
+	}
+
+	/**
+	 * <p>
+	 * A request in flight, which callers can join until its outcome is about to be published
+	 * </p>
+	 */
+	private static class SharedRequest extends CompletableFuture<Object> {
+		/**
+		 * Number of callers which have joined, or -1 once the outcome is being published and no more can join
+		 */
+		private final AtomicInteger joined = new AtomicInteger();
+
+		/**
+		 * @return <code>true</code> if the caller has joined, and will be given the outcome; <code>false</code> if it is too late
+		 */
+		boolean enlist() {
+			int count = this.joined.get();
+			while (count >= 0) {
+				if (this.joined.compareAndSet(count, count + 1)) {
+					return true;
+				}
+				count = this.joined.get();
+			}
+			return false;
+		}
+
+		/**
+		 * @return <code>true</code> if anyone joined before the request was closed
+		 */
+		boolean seal() {
+			return this.joined.getAndSet(-1) > 0;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Callback which publishes the outcome of a leader's asynchronous request before passing it on to the leader's callback
+	 * </p>
+	 *
+	 * @param <T>
+	 *            The type being returned to the callback
+	 */
+	private class CoalescingCallback<T> extends StravaAPICallback<T> {
+		/**
+		 * The request
+		 */
+		private final StravaRequestCoalescer.Key key;
+
+		/**
+		 * The future registered by the leader
+		 */
+		private final SharedRequest future;
+
+		/**
+		 * The leader's callback
+		 */
+		private final StravaAPICallback<T> callback;
+
+		/**
+		 * @param key
+		 *            The request
+		 * @param future
+		 *            The future registered by the leader
+		 * @param callback
+		 *            The leader's callback
+		 */
+		CoalescingCallback(final StravaRequestCoalescer.Key key, final SharedRequest future, final StravaAPICallback<T> callback) {
+			// Results are passed to the leader's callback, which completes the leader's future
+			super(null);
+			this.key = key;
+			this.future = future;
+			this.callback = callback;
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#success(java.lang.Object, retrofit.client.Response)
+		 */
+		@Override
+		public void success(final T t, final Response response) {
+			publish(this.key, this.future, t, null);
+			this.callback.success(t, response);
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#failure(retrofit.RetrofitError)
+		 */
+		@Override
+		public void failure(final RetrofitError error) {
+			publish(this.key, this.future, null, (error.getCause() == null ? error : error.getCause()));
+			this.callback.failure(error);
+		}
+	}
+
+}
@@ -71,7 +71,7 @@ public class RetrofitErrorHandler implements ErrorHandler {
 	/**
 	 * JSON utilities for serialisation and deserialisation
 	 */
-	JsonUtil json = new JsonUtilImpl();
+	JsonUtil json = JsonUtilImpl.instance();
 
 	/**
 	 * @see retrofit.ErrorHandler#handleError(retrofit.RetrofitError)
@@ -88,6 +88,11 @@ public class RetrofitErrorHandler implements ErrorHandler {
 			return new StravaAPINetworkException(null, response, cause);
 		}
 
+		// Handle the client-side rate limiter refusing to wait for a permit
+		if (cause.getCause() instanceof StravaAPIRateLimitException) {
+			return cause.getCause();
+		}
+
 		if (r == null) {
 			return new StravaUnknownAPIException(status, response, cause);
 		}
@@ -0,0 +1,231 @@
+package javastrava.api.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+import javastrava.api.async.StravaAPICallback;
+import retrofit.RetrofitError;
+import retrofit.client.Response;
+import retrofit.http.GET;
+
+/**
+ * <p>
+ * Retries calls to the Strava API which fail transiently, according to a {@link StravaRetryPolicy}
+ * </p>
+ *
+ * <p>
+ * Only idempotent (HTTP GET) calls are retried. Synchronous calls wait for the retry delay on the calling thread; asynchronous calls (those taking a
+ * {@link StravaAPICallback}) are re-issued after the delay without blocking any thread, and the callback is only told about the failure once the policy gives up.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RetrofitRetryInvocationHandler implements InvocationHandler {
+	/**
+	 * <p>
+	 * Create a proxy for the given service which retries failed calls according to the policy
+	 * </p>
+	 *
+	 * @param class1
+	 *            The API interface
+	 * @param service
+	 *            The service to which calls are delegated
+	 * @param policy
+	 *            The retry policy
+	 * @param rateLimitState
+	 *            Supplies the rate limit state of the application on whose behalf calls are made
+	 * @param <T>
+	 *            Class of API interface (one of the *API.java interfaces)
+	 * @return A proxy implementing the API interface
+	 */
+	public static <T> T proxy(final Class<T> class1, final T service, final StravaRetryPolicy policy, final Supplier<StravaRateLimitState> rateLimitState) {
+		return class1.cast(Proxy.newProxyInstance(class1.getClassLoader(), new Class<?>[] { class1 }, new RetrofitRetryInvocationHandler(service, policy, rateLimitState)));
+	}
+
+	/**
+	 * The service to which calls are delegated
+	 */
+	private final Object service;
+
+	/**
+	 * The retry policy
+	 */
+	private final StravaRetryPolicy policy;
+
+	/**
+	 * Supplies the rate limit state of the application on whose behalf calls are made
+	 */
+	private final Supplier<StravaRateLimitState> rateLimitState;
+
+	/**
+	 * @param service
+	 *            The service to which calls are delegated
+	 * @param policy
+	 *            The retry policy
+	 * @param rateLimitState
+	 *            Supplies the rate limit state of the application on whose behalf calls are made
+	 */
+	public RetrofitRetryInvocationHandler(final Object service, final StravaRetryPolicy policy, final Supplier<StravaRateLimitState> rateLimitState) {
+		this.service = service;
+		this.policy = policy;
+		this.rateLimitState = rateLimitState;
+	}
+
+	/**
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		// Methods from Object are handled by this handler rather than the service
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(this, args);
+		}
+
+		// Only idempotent calls are retried
+		if (!method.isAnnotationPresent(GET.class)) {
+			return invokeService(method, args);
+		}
+
+		// Asynchronous calls are retried by the callback
+		if ((args != null) && (args.length > 0) && (args[args.length - 1] instanceof StravaAPICallback)) {
+			final Object[] retryArgs = args.clone();
+			retryArgs[args.length - 1] = new RetryCallback<Object>(method, retryArgs, castCallback(args[args.length - 1]));
+			return invokeService(method, retryArgs);
+		}
+
+		int attempt = 1;
+		while (true) {
+			try {
+				final Object result = invokeService(method, args);
+				if (attempt > 1) {
+					this.policy.recovered();
+				}
+				return result;
+			} catch (final RuntimeException e) {
+				final long delay = this.policy.retryDelay(attempt, e, this.rateLimitState.get());
+				if (delay < 0) {
+					throw e;
+				}
+				try {
+					Thread.sleep(delay);
+				} catch (final InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+				attempt++;
+			}
+		}
+	}
+
+	/**
+	 * Invoke the method on the underlying service, unwrapping any exception it throws
+	 *
+	 * @param method
+	 *            The method
+	 * @param args
+	 *            The arguments
+	 * @return The result of the method
+	 * @throws Throwable
+	 *             Whatever the method throws
+	 */
+	private Object invokeService(final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(this.service, args);
+		} catch (final InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @param callback
+	 *            A callback of unknown type
+	 * @return The callback
+	 */
+	@SuppressWarnings("unchecked")
+	private static StravaAPICallback<Object> castCallback(final Object callback) {
+		return (StravaAPICallback<Object>) callback;
+	}
+
+	/**
+	 * <p>
+	 * Callback which re-issues the call if it fails transiently, and only passes the failure on once the retry policy gives up
+	 * </p>
+	 *
+	 * @param <T>
+	 *            The type being returned to the callback
+	 */
+	private class RetryCallback<T> extends StravaAPICallback<T> {
+		/**
+		 * The method being called
+		 */
+		private final Method method;
+
+		/**
+		 * The arguments to the method (which include this callback)
+		 */
+		private final Object[] args;
+
+		/**
+		 * The caller's callback
+		 */
+		private final StravaAPICallback<T> callback;
+
+		/**
+		 * The number of the attempt currently in progress
+		 */
+		private int attempt = 1;
+
+		/**
+		 * @param method
+		 *            The method being called
+		 * @param args
+		 *            The arguments to the method (which include this callback)
+		 * @param callback
+		 *            The caller's callback
+		 */
+		RetryCallback(final Method method, final Object[] args, final StravaAPICallback<T> callback) {
+			// Results are passed to the caller's callback, which completes the caller's future
+			super(null);
+			this.method = method;
+			this.args = args;
+			this.callback = callback;
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#success(java.lang.Object, retrofit.client.Response)
+		 */
+		@Override
+		public void success(final T t, final Response response) {
+			if (this.attempt > 1) {
+				RetrofitRetryInvocationHandler.this.policy.recovered();
+			}
+			this.callback.success(t, response);
+		}
+
+		/**
+		 * @see javastrava.api.async.StravaAPICallback#failure(retrofit.RetrofitError)
+		 */
+		@Override
+		public void failure(final RetrofitError error) {
+			final long delay = RetrofitRetryInvocationHandler.this.policy.retryDelay(this.attempt, error.getCause(),
+					RetrofitRetryInvocationHandler.this.rateLimitState.get());
+			if (delay < 0) {
+				this.callback.failure(error);
+				return;
+			}
+			this.attempt++;
+			StravaRetryPolicy.schedule(() -> {
+				try {
+					invokeService(this.method, this.args);
+				} catch (final Throwable e) {
+					this.callback.failure(RetrofitError.unexpectedError(error.getUrl(), e));
+				}
+			}, delay);
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package javastrava.api.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+import javastrava.auth.model.Token;
+import javastrava.config.StravaConfig;
+import retrofit.RequestInterceptor;
+
+/**
+ * <p>
+ * Binds an access token to calls made through a shared Retrofit service instance
+ * </p>
+ *
+ * <p>
+ * The Retrofit services (and the HTTP client, connection pool and converter underneath them) are shared by all tokens. Each call made through a proxy
+ * created by {@link #proxy(Class, Function, Token)} is delegated to the shared service for the token (which depends on the token's application), and
+ * makes the token available to {@link #authorisationInterceptor()} for the duration of the call, so the Authorization header becomes a per-request
+ * attribute rather than a property of the service instance.
+ * </p>
+ *
+ * <p>
+ * Retrofit runs the request interceptor on the calling thread for both synchronous and callback-based (asynchronous) calls, so a thread-local is
+ * sufficient to carry the token through to the interceptor.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RetrofitTokenInvocationHandler implements InvocationHandler {
+	/**
+	 * The token to be used by the call currently being made on this thread
+	 */
+	private static final ThreadLocal<Token> CURRENT_TOKEN = new ThreadLocal<Token>();
+
+	/**
+	 * Name of the authorisation header to be included in all API requests
+	 */
+	private static final String AUTHORIZATION_HEADER_NAME = StravaConfig.string("strava.authorization_header_name"); //$NON-NLS-1$
+
+	/**
+	 * Request interceptor which adds the access token of the current call into the headers of the request
+	 */
+	private static final RequestInterceptor AUTHORISATION_INTERCEPTOR = request -> {
+		final Token token = CURRENT_TOKEN.get();
+		if (token != null) {
+			request.addHeader(AUTHORIZATION_HEADER_NAME, token.getTokenType() + " " + token.getToken()); //$NON-NLS-1$
+		}
+	};
+
+	/**
+	 * @return The request interceptor to be set on shared Retrofit services, which adds the Authorization header for the token bound to the current call
+	 */
+	public static RequestInterceptor authorisationInterceptor() {
+		return AUTHORISATION_INTERCEPTOR;
+	}
+
+	/**
+	 * <p>
+	 * Create a lightweight proxy for the shared services which will authenticate all calls with the given token
+	 * </p>
+	 *
+	 * @param class1
+	 *            The API interface
+	 * @param sharedServices
+	 *            Function which returns the shared Retrofit implementation of the interface to be used for a token
+	 * @param token
+	 *            The access token to use for all calls made through the proxy
+	 * @param <T>
+	 *            Class of API interface (one of the *API.java interfaces)
+	 * @return A proxy implementing the API interface
+	 */
+	public static <T> T proxy(final Class<T> class1, final Function<Token, T> sharedServices, final Token token) {
+		return class1.cast(Proxy.newProxyInstance(class1.getClassLoader(), new Class<?>[] { class1 }, new RetrofitTokenInvocationHandler(sharedServices, token)));
+	}
+
+	/**
+	 * Function which returns the shared Retrofit service to which calls are delegated
+	 */
+	private final Function<Token, ?> sharedServices;
+
+	/**
+	 * The token used to authenticate calls
+	 */
+	private final Token token;
+
+	/**
+	 * @param sharedServices
+	 *            Function which returns the shared Retrofit service to which calls are delegated
+	 * @param token
+	 *            The token used to authenticate calls
+	 */
+	public RetrofitTokenInvocationHandler(final Function<Token, ?> sharedServices, final Token token) {
+		this.sharedServices = sharedServices;
+		this.token = token;
+	}
+
+	/**
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+		// Methods from Object are handled by this handler rather than the shared service
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(this, args);
+		}
+
+		final Token previous = CURRENT_TOKEN.get();
+		CURRENT_TOKEN.set(this.token);
+		try {
+			return method.invoke(this.sharedServices.apply(this.token), args);
+		} catch (final InvocationTargetException e) {
+			throw e.getCause();
+		} finally {
+			if (previous == null) {
+				CURRENT_TOKEN.remove();
+			} else {
+				CURRENT_TOKEN.set(previous);
+			}
+		}
+	}
+
+}
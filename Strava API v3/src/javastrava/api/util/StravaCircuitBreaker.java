@@ -0,0 +1,302 @@
+package javastrava.api.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.StravaAPICircuitOpenException;
+import javastrava.service.exception.StravaAPINetworkException;
+import javastrava.service.exception.StravaInternalServerErrorException;
+import javastrava.service.exception.StravaServiceUnavailableException;
+
+/**
+ * <p>
+ * Circuit breaker for a single Strava API endpoint (one method of one of the *API.java interfaces, such as <code>ActivityAPI.getActivity</code>)
+ * </p>
+ *
+ * <p>
+ * While the breaker is {@link State#CLOSED closed}, calls are allowed and consecutive failures are counted. Once {@link #getFailureThreshold()} calls in a row
+ * have failed because Strava is unavailable (network errors, 500 Internal Server Error and 503 Service Unavailable), the breaker {@link State#OPEN opens} and
+ * calls to the endpoint fail immediately with a {@link StravaAPICircuitOpenException} rather than being sent to Strava. After {@link #getOpenDuration()}
+ * milliseconds the breaker becomes {@link State#HALF_OPEN half-open} and lets a single trial call through; if it succeeds the breaker closes again, and if it
+ * fails the breaker re-opens.
+ * </p>
+ *
+ * <p>
+ * Any other response from Strava (including 4xx errors) shows that the endpoint is working, so counts as a success. Rate limit errors are neither: they are
+ * dealt with by the {@link StravaRateLimiter} and {@link StravaRetryPolicy}.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaCircuitBreaker {
+	/**
+	 * State of a circuit breaker
+	 */
+	public enum State {
+		/**
+		 * Calls are allowed
+		 */
+		CLOSED,
+		/**
+		 * Calls fail immediately
+		 */
+		OPEN,
+		/**
+		 * A single trial call is allowed, to find out whether the endpoint has recovered
+		 */
+		HALF_OPEN
+	}
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Circuit breakers for each endpoint, shared by all tokens
+	 */
+	private static final Map<String, StravaCircuitBreaker> BREAKERS = new ConcurrentHashMap<String, StravaCircuitBreaker>();
+
+	/**
+	 * <p>
+	 * Get the circuit breaker for an endpoint, creating it with the configured thresholds if necessary
+	 * </p>
+	 *
+	 * @param endpoint
+	 *            Name of the endpoint, e.g. <code>ActivityAPI.getActivity</code>
+	 * @return The circuit breaker for the endpoint
+	 */
+	public static StravaCircuitBreaker forEndpoint(final String endpoint) {
+		return BREAKERS.computeIfAbsent(endpoint,
+				name -> new StravaCircuitBreaker(name, StravaConfig.CIRCUIT_BREAKER_FAILURE_THRESHOLD, StravaConfig.CIRCUIT_BREAKER_OPEN_DURATION));
+	}
+
+	/**
+	 * @return Read-only view of the circuit breakers created so far, by endpoint name
+	 */
+	public static Map<String, StravaCircuitBreaker> all() {
+		return Collections.unmodifiableMap(BREAKERS);
+	}
+
+	/**
+	 * @param cause
+	 *            The failure
+	 * @return <code>true</code> if the failure shows that Strava is unable to serve the endpoint, and so counts towards opening the breaker
+	 */
+	public static boolean isFailure(final Throwable cause) {
+		return (cause instanceof StravaAPINetworkException) || (cause instanceof StravaInternalServerErrorException)
+				|| (cause instanceof StravaServiceUnavailableException);
+	}
+
+	/**
+	 * Name of the endpoint
+	 */
+	private final String endpoint;
+
+	/**
+	 * Number of consecutive failures which opens the breaker
+	 */
+	private final int failureThreshold;
+
+	/**
+	 * Time (in milliseconds) the breaker stays open before allowing a trial call
+	 */
+	private final long openDuration;
+
+	/**
+	 * Current state
+	 */
+	private final AtomicReference<State> state = new AtomicReference<State>(State.CLOSED);
+
+	/**
+	 * Number of consecutive failures while closed
+	 */
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+	/**
+	 * Time (in epoch milliseconds) at which the breaker last opened
+	 */
+	private volatile long openedAt;
+
+	/**
+	 * Number of calls rejected because the breaker was open
+	 */
+	private final LongAdder rejections = new LongAdder();
+
+	/**
+	 * Number of times the breaker has opened
+	 */
+	private final LongAdder trips = new LongAdder();
+
+	/**
+	 * @param endpoint
+	 *            Name of the endpoint
+	 * @param failureThreshold
+	 *            Number of consecutive failures which opens the breaker
+	 * @param openDuration
+	 *            Time (in milliseconds) the breaker stays open before allowing a trial call
+	 */
+	public StravaCircuitBreaker(final String endpoint, final int failureThreshold, final long openDuration) {
+		this.endpoint = endpoint;
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.openDuration = Math.max(0, openDuration);
+	}
+
+	/**
+	 * <p>
+	 * Ask whether a call may be made to the endpoint. If it is allowed, its outcome must be reported via {@link #onSuccess()} or {@link #onFailure()}.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the call may be made, <code>false</code> if it should fail fast
+	 */
+	public boolean allowRequest() {
+		final State current = this.state.get();
+		if (current == State.CLOSED) {
+			return true;
+		}
+		if ((current == State.OPEN) && (System.currentTimeMillis() - this.openedAt >= this.openDuration)
+				&& this.state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+			return true;
+		}
+		this.rejections.increment();
+		return false;
+	}
+
+	/**
+	 * Report that an allowed call got a response from Strava
+	 */
+	public void onSuccess() {
+		this.consecutiveFailures.set(0);
+		if ((this.state.get() != State.CLOSED) && (this.state.getAndSet(State.CLOSED) != State.CLOSED)) {
+			log.info(String.format(Messages.string("StravaCircuitBreaker.closed"), this.endpoint)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Report that an allowed call failed because Strava was unable to serve it
+	 */
+	public void onFailure() {
+		if (this.state.get() == State.HALF_OPEN) {
+			trip(State.HALF_OPEN);
+		} else if (this.consecutiveFailures.incrementAndGet() >= this.failureThreshold) {
+			trip(State.CLOSED);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Report the outcome of an allowed call which failed
+	 * </p>
+	 *
+	 * @param cause
+	 *            The failure
+	 */
+	public void onError(final Throwable cause) {
+		if (isFailure(cause)) {
+			onFailure();
+		} else if (!(cause instanceof StravaAPICircuitOpenException) && !StravaRetryPolicy.isTransient(cause)) {
+			onSuccess();
+		} else if (this.state.get() == State.HALF_OPEN) {
+			// The trial call told us nothing, so let the next call try instead
+			this.state.compareAndSet(State.HALF_OPEN, State.OPEN);
+		}
+	}
+
+	/**
+	 * Open the breaker if it is in the expected state
+	 *
+	 * @param from
+	 *            The state the breaker is expected to be in
+	 */
+	private void trip(final State from) {
+		if (this.state.get() != from) {
+			return;
+		}
+		// Set the opening time before the state, so that nobody sees the breaker open with a stale opening time
+		this.openedAt = System.currentTimeMillis();
+		if (this.state.compareAndSet(from, State.OPEN)) {
+			this.consecutiveFailures.set(0);
+			this.trips.increment();
+			log.warn(String.format(Messages.string("StravaCircuitBreaker.opened"), this.endpoint, Long.valueOf(this.openDuration))); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return The exception with which a rejected call fails
+	 */
+	public StravaAPICircuitOpenException rejection() {
+		return new StravaAPICircuitOpenException(this.endpoint, getMillisUntilTrial());
+	}
+
+	/**
+	 * @return Name of the endpoint
+	 */
+	public String getEndpoint() {
+		return this.endpoint;
+	}
+
+	/**
+	 * @return Current state
+	 */
+	public State getState() {
+		return this.state.get();
+	}
+
+	/**
+	 * @return Number of consecutive failures which opens the breaker
+	 */
+	public int getFailureThreshold() {
+		return this.failureThreshold;
+	}
+
+	/**
+	 * @return Time (in milliseconds) the breaker stays open before allowing a trial call
+	 */
+	public long getOpenDuration() {
+		return this.openDuration;
+	}
+
+	/**
+	 * @return Time (in milliseconds) until the breaker will allow a trial call, or 0 if it is not open
+	 */
+	public long getMillisUntilTrial() {
+		if (this.state.get() != State.OPEN) {
+			return 0;
+		}
+		return Math.max(0, this.openedAt + this.openDuration - System.currentTimeMillis());
+	}
+
+	/**
+	 * @return Number of calls rejected because the breaker was open
+	 */
+	public long getRejectionCount() {
+		return this.rejections.sum();
+	}
+
+	/**
+	 * @return Number of times the breaker has opened
+	 */
+	public long getTripCount() {
+		return this.trips.sum();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "StravaCircuitBreaker [endpoint=" + this.endpoint + ", state=" + this.state.get() + ", consecutiveFailures=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ this.consecutiveFailures.get() + ", rejections=" + this.rejections.sum() + ", trips=" + this.trips.sum() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+}
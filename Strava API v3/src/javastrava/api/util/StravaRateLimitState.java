@@ -0,0 +1,404 @@
+package javastrava.api.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Rate limit usage and limits for a single Strava application (client id), as reported by Strava in the rate limit headers of each response
+ * </p>
+ *
+ * <p>
+ * Strava applies rate limits per application, so there is one instance of this class per client id, obtained via {@link #forApplication(Integer)}. Tokens
+ * for which the client id is not known share the default instance.
+ * </p>
+ *
+ * <p>
+ * The state is held in a single immutable {@link Snapshot} which is replaced atomically, so it can be read cheaply and consistently from any thread without
+ * locking. If the rate limiter is enabled in configuration, each application also has its own {@link StravaRateLimiter}, which is kept up to date with the
+ * values reported by Strava.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaRateLimitState {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Length of Strava's short-term rate limit window
+	 */
+	static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	/**
+	 * Length of Strava's daily rate limit window
+	 */
+	static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+	/**
+	 * Key used for applications whose client id is not known
+	 */
+	private static final Integer DEFAULT_APPLICATION = Integer.valueOf(0);
+
+	/**
+	 * State for each application, keyed by client id
+	 */
+	private static final ConcurrentHashMap<Integer, StravaRateLimitState> APPLICATIONS = new ConcurrentHashMap<Integer, StravaRateLimitState>();
+
+	/**
+	 * <p>
+	 * Get the rate limit state for the given application
+	 * </p>
+	 *
+	 * @param clientId
+	 *            The application's client id, or <code>null</code> if it is not known
+	 * @return The rate limit state for the application
+	 */
+	public static StravaRateLimitState forApplication(final Integer clientId) {
+		return APPLICATIONS.computeIfAbsent((clientId == null ? DEFAULT_APPLICATION : clientId), id -> new StravaRateLimitState(id));
+	}
+
+	/**
+	 * @return The rate limit state shared by all tokens whose application's client id is not known
+	 */
+	public static StravaRateLimitState defaultApplication() {
+		return forApplication(null);
+	}
+
+	/**
+	 * @param now
+	 *            Current time in epoch milliseconds
+	 * @return End of the 15-minute window containing the given time (Strava's windows reset at the natural quarter-hour)
+	 */
+	static long windowEnd(final long now) {
+		return ((now / WINDOW_MILLIS) + 1) * WINDOW_MILLIS;
+	}
+
+	/**
+	 * @param now
+	 *            Current time in epoch milliseconds
+	 * @return End of the (UTC) day containing the given time
+	 */
+	static long dayEnd(final long now) {
+		return ((now / DAY_MILLIS) + 1) * DAY_MILLIS;
+	}
+
+	/**
+	 * @param usage
+	 *            Requests made
+	 * @param limit
+	 *            Request limit
+	 * @return Percentage of the limit used
+	 */
+	static float percentage(final int usage, final int limit) {
+		return (limit == 0 ? 0 : (100 * (float) usage) / limit);
+	}
+
+	/**
+	 * Client id of the application
+	 */
+	private final Integer clientId;
+
+	/**
+	 * The current state
+	 */
+	private final AtomicReference<Snapshot> snapshot;
+
+	/**
+	 * Rate limiter used to pace the application's requests, or <code>null</code> if requests are not paced
+	 */
+	private final StravaRateLimiter rateLimiter;
+
+	/**
+	 * @param clientId
+	 *            Client id of the application
+	 */
+	private StravaRateLimitState(final Integer clientId) {
+		this.clientId = clientId;
+		this.snapshot = new AtomicReference<Snapshot>(new Snapshot(0, 0, StravaConfig.integer("strava.rate_limit").intValue(), //$NON-NLS-1$
+				StravaConfig.integer("strava.rate_limit_daily").intValue(), System.currentTimeMillis())); //$NON-NLS-1$
+		this.rateLimiter = (StravaConfig.RATE_LIMITER_ENABLED ? new StravaRateLimiter() : null);
+	}
+
+	/**
+	 * <p>
+	 * Update the state with the usage and limits returned by Strava in the rate limit headers of a response
+	 * </p>
+	 *
+	 * <p>
+	 * Responses to concurrent requests may be processed out of order; within the same window, usage never goes backwards.
+	 * </p>
+	 *
+	 * @param usageCurrent
+	 *            Requests made in the current 15-minute window
+	 * @param usageDaily
+	 *            Requests made today
+	 * @param limitCurrent
+	 *            Request limit per 15-minute window
+	 * @param limitDaily
+	 *            Request limit per day
+	 */
+	public void update(final int usageCurrent, final int usageDaily, final int limitCurrent, final int limitDaily) {
+		final long now = System.currentTimeMillis();
+		Snapshot previous;
+		Snapshot next;
+		do {
+			previous = this.snapshot.get();
+			final boolean sameWindow = windowEnd(previous.timestamp) == windowEnd(now);
+			final boolean sameDay = dayEnd(previous.timestamp) == dayEnd(now);
+			next = new Snapshot((sameWindow ? Math.max(usageCurrent, previous.usageCurrent) : usageCurrent),
+					(sameDay ? Math.max(usageDaily, previous.usageDaily) : usageDaily), limitCurrent, limitDaily, now);
+		} while (!this.snapshot.compareAndSet(previous, next));
+
+		if (this.rateLimiter != null) {
+			this.rateLimiter.update(next.usageCurrent, next.usageDaily, next.limitCurrent, next.limitDaily);
+		}
+		warn(next);
+	}
+
+	/**
+	 * Log a warning or error if the application is approaching or has exceeded its limits
+	 *
+	 * @param state
+	 *            The state to check
+	 */
+	private static void warn(final Snapshot state) {
+		final float percent = state.getRequestRateCurrentPercentage();
+		if (percent > 100) {
+			log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimit"), Integer.valueOf(state.usageCurrent), //$NON-NLS-1$
+					Integer.valueOf(state.limitCurrent), Float.valueOf(percent)));
+		} else if (percent > StravaConfig.WARN_AT_REQUEST_LIMIT_PERCENT) {
+			log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimit"), Integer.valueOf(state.usageCurrent), //$NON-NLS-1$
+					Integer.valueOf(state.limitCurrent), Float.valueOf(percent)));
+		}
+		final float percentDaily = state.getRequestRateDailyPercentage();
+		if (percentDaily > 100) {
+			log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimitDaily"), Integer.valueOf(state.usageDaily), //$NON-NLS-1$
+					Integer.valueOf(state.limitDaily), Float.valueOf(percentDaily)));
+		} else if (percentDaily > StravaConfig.WARN_AT_REQUEST_LIMIT_PERCENT) {
+			log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimitDaily"), Integer.valueOf(state.usageDaily), //$NON-NLS-1$
+					Integer.valueOf(state.limitDaily), Float.valueOf(percentDaily)));
+		}
+	}
+
+	/**
+	 * @return A consistent snapshot of the current state
+	 */
+	public Snapshot snapshot() {
+		return this.snapshot.get();
+	}
+
+	/**
+	 * @return Client id of the application, or 0 if this is the default application
+	 */
+	public Integer getClientId() {
+		return this.clientId;
+	}
+
+	/**
+	 * @return Rate limiter used to pace the application's requests, or <code>null</code> if rate limiting is disabled in configuration
+	 */
+	public StravaRateLimiter getRateLimiter() {
+		return this.rateLimiter;
+	}
+
+	/**
+	 * @return Requests made in the current 15-minute window
+	 */
+	public int getRequestRateCurrent() {
+		return snapshot().getRequestRateCurrent();
+	}
+
+	/**
+	 * @return Requests made today
+	 */
+	public int getRequestRateDaily() {
+		return snapshot().getRequestRateDaily();
+	}
+
+	/**
+	 * @return Request limit per 15-minute window
+	 */
+	public int getRateLimitCurrent() {
+		return snapshot().getRateLimitCurrent();
+	}
+
+	/**
+	 * @return Request limit per day
+	 */
+	public int getRateLimitDaily() {
+		return snapshot().getRateLimitDaily();
+	}
+
+	/**
+	 * @return Percentage of the 15-minute limit used
+	 */
+	public float getRequestRateCurrentPercentage() {
+		return snapshot().getRequestRateCurrentPercentage();
+	}
+
+	/**
+	 * @return Percentage of the daily limit used
+	 */
+	public float getRequestRateDailyPercentage() {
+		return snapshot().getRequestRateDailyPercentage();
+	}
+
+	/**
+	 * @return Milliseconds until the 15-minute window resets
+	 */
+	public long getMillisUntilWindowReset() {
+		return snapshot().getMillisUntilWindowReset();
+	}
+
+	/**
+	 * @return Milliseconds until the daily window resets
+	 */
+	public long getMillisUntilDailyReset() {
+		return snapshot().getMillisUntilDailyReset();
+	}
+
+	/**
+	 * <p>
+	 * Immutable snapshot of an application's rate limit usage and limits at a point in time
+	 * </p>
+	 *
+	 * <p>
+	 * Usage reported for a window which has since ended is treated as zero.
+	 * </p>
+	 *
+	 * @author Dan Shannon
+	 *
+	 */
+	public static final class Snapshot {
+		/**
+		 * Requests made in the 15-minute window, as reported by Strava
+		 */
+		final int usageCurrent;
+
+		/**
+		 * Requests made in the day, as reported by Strava
+		 */
+		final int usageDaily;
+
+		/**
+		 * Request limit per 15-minute window
+		 */
+		final int limitCurrent;
+
+		/**
+		 * Request limit per day
+		 */
+		final int limitDaily;
+
+		/**
+		 * Time (in epoch milliseconds) at which the values were reported
+		 */
+		final long timestamp;
+
+		/**
+		 * @param usageCurrent
+		 *            Requests made in the 15-minute window
+		 * @param usageDaily
+		 *            Requests made in the day
+		 * @param limitCurrent
+		 *            Request limit per 15-minute window
+		 * @param limitDaily
+		 *            Request limit per day
+		 * @param timestamp
+		 *            Time (in epoch milliseconds) at which the values were reported
+		 */
+		Snapshot(final int usageCurrent, final int usageDaily, final int limitCurrent, final int limitDaily, final long timestamp) {
+			this.usageCurrent = usageCurrent;
+			this.usageDaily = usageDaily;
+			this.limitCurrent = limitCurrent;
+			this.limitDaily = limitDaily;
+			this.timestamp = timestamp;
+		}
+
+		/**
+		 * @return Requests made in the current 15-minute window
+		 */
+		public int getRequestRateCurrent() {
+			return (System.currentTimeMillis() < windowEnd(this.timestamp) ? this.usageCurrent : 0);
+		}
+
+		/**
+		 * @return Requests made today
+		 */
+		public int getRequestRateDaily() {
+			return (System.currentTimeMillis() < dayEnd(this.timestamp) ? this.usageDaily : 0);
+		}
+
+		/**
+		 * @return Request limit per 15-minute window
+		 */
+		public int getRateLimitCurrent() {
+			return this.limitCurrent;
+		}
+
+		/**
+		 * @return Request limit per day
+		 */
+		public int getRateLimitDaily() {
+			return this.limitDaily;
+		}
+
+		/**
+		 * @return Percentage of the 15-minute limit used
+		 */
+		public float getRequestRateCurrentPercentage() {
+			return percentage(getRequestRateCurrent(), this.limitCurrent);
+		}
+
+		/**
+		 * @return Percentage of the daily limit used
+		 */
+		public float getRequestRateDailyPercentage() {
+			return percentage(getRequestRateDaily(), this.limitDaily);
+		}
+
+		/**
+		 * @return Milliseconds until the current 15-minute window resets
+		 */
+		public long getMillisUntilWindowReset() {
+			final long now = System.currentTimeMillis();
+			return windowEnd(now) - now;
+		}
+
+		/**
+		 * @return Milliseconds until the current daily window resets
+		 */
+		public long getMillisUntilDailyReset() {
+			final long now = System.currentTimeMillis();
+			return dayEnd(now) - now;
+		}
+
+		/**
+		 * @return Time (in epoch milliseconds) at which the values were reported by Strava
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Snapshot [usageCurrent=" + this.usageCurrent + ", usageDaily=" + this.usageDaily + ", limitCurrent=" + this.limitCurrent + ", limitDaily=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ this.limitDaily + ", timestamp=" + this.timestamp + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+}
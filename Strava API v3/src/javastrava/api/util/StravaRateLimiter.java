@@ -0,0 +1,358 @@
+package javastrava.api.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.StravaAPIRateLimitException;
+
+/**
+ * <p>
+ * Client-side token bucket rate limiter, which paces requests to the Strava API so that the 15-minute and daily request limits are not exceeded
+ * </p>
+ *
+ * <p>
+ * Strava's 15-minute window resets at the natural quarter-hour (0, 15, 30 and 45 minutes past the hour) and the daily window resets at midnight UTC. The
+ * permits remaining in the current 15-minute window are released at an even rate over the time left in the window, with up to {@link #getBurst()} permits
+ * allowed to accumulate for immediate use. Whenever Strava returns its rate limit headers, the limiter is updated with the actual usage and limits via
+ * {@link #update(int, int, int, int)}.
+ * </p>
+ *
+ * <p>
+ * Once the window's permits are used up, each further request is given a permit from the next window, at the rate that window's permits will be released;
+ * the permits it hands out in advance like this are taken off the next window's allowance. A request which would have to wait longer than
+ * {@link #getMaxWait()} (for instance, because the day's permits are used up) fails with a {@link StravaAPIRateLimitException} instead of waiting.
+ * </p>
+ *
+ * <p>
+ * Permits may be acquired by blocking ({@link #acquire()}), by trying without waiting ({@link #tryAcquire()}) or asynchronously ({@link #acquireAsync()}).
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaRateLimiter {
+	/**
+	 * Scheduler used to complete futures returned by {@link #acquireAsync()} once their permit is available
+	 */
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "javastrava-rate-limiter"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Maximum number of permits which can accumulate and be used immediately
+	 */
+	private final int burst;
+
+	/**
+	 * Longest time (in milliseconds) a caller will be made to wait for a permit
+	 */
+	private final long maxWait;
+
+	/**
+	 * Request limit per 15-minute window
+	 */
+	private int limitCurrent;
+
+	/**
+	 * Request limit per day
+	 */
+	private int limitDaily;
+
+	/**
+	 * Permits remaining in the current 15-minute window; negative if permits from the next window have already been given out
+	 */
+	private int remainingCurrent;
+
+	/**
+	 * Permits remaining in the current day; negative if permits from the next day have already been given out
+	 */
+	private int remainingDaily;
+
+	/**
+	 * Time (in epoch milliseconds) at which the current 15-minute window ends
+	 */
+	private long windowEnd;
+
+	/**
+	 * Time (in epoch milliseconds) at which the current day ends
+	 */
+	private long dayEnd;
+
+	/**
+	 * Permits currently stored in the bucket. May be negative if permits have been reserved ahead of time by waiting callers, or if permits handed out
+	 * in advance are still being released at the start of a window.
+	 */
+	private double storedPermits;
+
+	/**
+	 * Time (in epoch milliseconds) at which the bucket was last refilled
+	 */
+	private long lastRefill;
+
+	/**
+	 * Constructor using the configured rate limits, burst size and maximum wait
+	 */
+	public StravaRateLimiter() {
+		this(StravaConfig.integer("strava.rate_limit").intValue(), StravaConfig.integer("strava.rate_limit_daily").intValue(), //$NON-NLS-1$ //$NON-NLS-2$
+				StravaConfig.RATE_LIMITER_BURST, StravaConfig.RATE_LIMITER_MAX_WAIT);
+	}
+
+	/**
+	 * @param limitCurrent
+	 *            Request limit per 15-minute window
+	 * @param limitDaily
+	 *            Request limit per day
+	 * @param burst
+	 *            Maximum number of permits which can accumulate and be used immediately
+	 */
+	public StravaRateLimiter(final int limitCurrent, final int limitDaily, final int burst) {
+		this(limitCurrent, limitDaily, burst, StravaConfig.RATE_LIMITER_MAX_WAIT);
+	}
+
+	/**
+	 * @param limitCurrent
+	 *            Request limit per 15-minute window
+	 * @param limitDaily
+	 *            Request limit per day
+	 * @param burst
+	 *            Maximum number of permits which can accumulate and be used immediately
+	 * @param maxWait
+	 *            Longest time (in milliseconds) a caller will be made to wait for a permit
+	 */
+	public StravaRateLimiter(final int limitCurrent, final int limitDaily, final int burst, final long maxWait) {
+		this.maxWait = Math.max(0, maxWait);
+		this.limitCurrent = limitCurrent;
+		this.limitDaily = limitDaily;
+		this.remainingCurrent = limitCurrent;
+		this.remainingDaily = limitDaily;
+		this.burst = Math.max(1, burst);
+		final long now = System.currentTimeMillis();
+		this.windowEnd = StravaRateLimitState.windowEnd(now);
+		this.dayEnd = StravaRateLimitState.dayEnd(now);
+		this.storedPermits = this.burst;
+		this.lastRefill = now;
+	}
+
+	/**
+	 * <p>
+	 * Acquire a permit to make a request, waiting until one is available
+	 * </p>
+	 *
+	 * @return Number of milliseconds spent waiting for the permit
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while waiting
+	 * @throws StravaAPIRateLimitException
+	 *             If the permit would not be available within {@link #getMaxWait()}
+	 */
+	public long acquire() throws InterruptedException {
+		final long wait = reserve(this.maxWait);
+		if (wait < 0) {
+			throw waitTooLong();
+		}
+		if (wait > 0) {
+			Thread.sleep(wait);
+		}
+		return wait;
+	}
+
+	/**
+	 * <p>
+	 * Acquire a permit to make a request, without blocking the calling thread
+	 * </p>
+	 *
+	 * @return A future which completes when the permit is available, or completes exceptionally with a {@link StravaAPIRateLimitException} if it would
+	 *         not be available within {@link #getMaxWait()}
+	 */
+	public CompletableFuture<Void> acquireAsync() {
+		final long wait = reserve(this.maxWait);
+		final CompletableFuture<Void> future = new CompletableFuture<Void>();
+		if (wait < 0) {
+			future.completeExceptionally(waitTooLong());
+		} else if (wait == 0) {
+			future.complete(null);
+		} else {
+			SCHEDULER.schedule(() -> future.complete(null), wait, TimeUnit.MILLISECONDS);
+		}
+		return future;
+	}
+
+	/**
+	 * <p>
+	 * Acquire a permit to make a request only if one is available immediately
+	 * </p>
+	 *
+	 * @return <code>true</code> if a permit was acquired, <code>false</code> otherwise
+	 */
+	public boolean tryAcquire() {
+		return reserve(0) == 0;
+	}
+
+	/**
+	 * @return Exception for a caller which would have to wait longer than {@link #maxWait} for a permit
+	 */
+	private StravaAPIRateLimitException waitTooLong() {
+		final long wait;
+		synchronized (this) {
+			wait = (this.remainingDaily <= 0 ? this.dayEnd : this.windowEnd) - System.currentTimeMillis();
+		}
+		return new StravaAPIRateLimitException(String.format(Messages.string("StravaRateLimiter.waitTooLong"), Long.valueOf(wait), //$NON-NLS-1$
+				Long.valueOf(this.maxWait)), null, null);
+	}
+
+	/**
+	 * <p>
+	 * Reserve a permit, working out how long the caller must wait before using it
+	 * </p>
+	 *
+	 * @param longestWait
+	 *            Longest time (in milliseconds) the caller is prepared to wait; the permit is only reserved if it is available within that time
+	 * @return Number of milliseconds the caller must wait before using the permit, or -1 if it isn't available within <code>longestWait</code>
+	 */
+	private synchronized long reserve(final long longestWait) {
+		final long now = System.currentTimeMillis();
+		rollWindows(now);
+		refill(now);
+
+		// If the day or the window is used up, the permit comes from the next one, behind those already handed out in advance from it
+		final boolean inAdvance = (this.remainingDaily <= 0) || (this.remainingCurrent <= 0);
+		long wait = 0;
+		if (this.remainingDaily <= 0) {
+			wait = (this.dayEnd - now) + spacing(-this.remainingDaily);
+		} else if (this.remainingCurrent <= 0) {
+			wait = (this.windowEnd - now) + spacing(-this.remainingCurrent);
+		} else if (this.storedPermits < 1) {
+			wait = (long) Math.ceil((1 - this.storedPermits) / refillRate(now));
+		}
+
+		if (wait > longestWait) {
+			return -1;
+		}
+
+		// A permit handed out in advance is accounted for when the next window starts, not in the bucket for this one
+		if (!inAdvance) {
+			this.storedPermits--;
+		}
+		this.remainingCurrent--;
+		this.remainingDaily--;
+		return wait;
+	}
+
+	/**
+	 * @param permits
+	 *            Number of permits handed out in advance from the next window
+	 * @return Time (in milliseconds) after the start of the next window at which the next of its permits is released
+	 */
+	private long spacing(final int permits) {
+		return (long) Math.ceil(((double) permits * StravaRateLimitState.WINDOW_MILLIS) / Math.max(1, this.limitCurrent));
+	}
+
+	/**
+	 * Start new windows if the current ones have ended
+	 *
+	 * @param now
+	 *            Current time in epoch milliseconds
+	 */
+	private void rollWindows(final long now) {
+		if (now >= this.windowEnd) {
+			// Permits handed out in advance come out of the new window, and are released before any others
+			final int inAdvance = Math.max(0, -this.remainingCurrent);
+			this.windowEnd = StravaRateLimitState.windowEnd(now);
+			this.remainingCurrent = this.limitCurrent - inAdvance;
+			this.storedPermits = Math.max(this.storedPermits, 0) - inAdvance;
+		}
+		if (now >= this.dayEnd) {
+			this.dayEnd = StravaRateLimitState.dayEnd(now);
+			this.remainingDaily = this.limitDaily - Math.max(0, -this.remainingDaily);
+		}
+	}
+
+	/**
+	 * Add the permits released since the last refill to the bucket
+	 *
+	 * @param now
+	 *            Current time in epoch milliseconds
+	 */
+	private void refill(final long now) {
+		final long elapsed = now - this.lastRefill;
+		if (elapsed > 0) {
+			this.storedPermits = Math.min(this.burst, this.storedPermits + (elapsed * refillRate(now)));
+			this.lastRefill = now;
+		}
+	}
+
+	/**
+	 * @param now
+	 *            Current time in epoch milliseconds
+	 * @return Rate (in permits per millisecond) at which the permits remaining in the current window are released, counting those already reserved by
+	 *         waiting callers but not yet released
+	 */
+	private double refillRate(final long now) {
+		final int reserved = (int) Math.ceil(Math.max(0, -this.storedPermits));
+		final int remaining = Math.max(1, Math.min(this.remainingCurrent, this.remainingDaily) + reserved);
+		return (double) remaining / Math.max(1, this.windowEnd - now);
+	}
+
+	/**
+	 * <p>
+	 * Update the limiter with the usage and limits returned by Strava in the rate limit headers
+	 * </p>
+	 *
+	 * <p>
+	 * The headers lag behind requests which have been given a permit but not yet answered, so the remaining permits are only ever lowered to match them,
+	 * never raised.
+	 * </p>
+	 *
+	 * @param usageCurrent
+	 *            Requests made in the current 15-minute window
+	 * @param usageDaily
+	 *            Requests made today
+	 * @param limitCurrentUpdate
+	 *            Request limit per 15-minute window
+	 * @param limitDailyUpdate
+	 *            Request limit per day
+	 */
+	public synchronized void update(final int usageCurrent, final int usageDaily, final int limitCurrentUpdate, final int limitDailyUpdate) {
+		final long now = System.currentTimeMillis();
+		rollWindows(now);
+		refill(now);
+		this.limitCurrent = limitCurrentUpdate;
+		this.limitDaily = limitDailyUpdate;
+		this.remainingCurrent = Math.min(this.remainingCurrent, limitCurrentUpdate - usageCurrent);
+		this.remainingDaily = Math.min(this.remainingDaily, limitDailyUpdate - usageDaily);
+	}
+
+	/**
+	 * @return Maximum number of permits which can accumulate and be used immediately
+	 */
+	public int getBurst() {
+		return this.burst;
+	}
+
+	/**
+	 * @return Longest time (in milliseconds) a caller will be made to wait for a permit
+	 */
+	public long getMaxWait() {
+		return this.maxWait;
+	}
+
+	/**
+	 * @return Permits remaining in the current 15-minute window
+	 */
+	public synchronized int getRemainingCurrent() {
+		return this.remainingCurrent;
+	}
+
+	/**
+	 * @return Permits remaining today
+	 */
+	public synchronized int getRemainingDaily() {
+		return this.remainingDaily;
+	}
+
+}
@@ -0,0 +1,184 @@
+package javastrava.api.util;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Coalesces concurrent identical requests to the Strava API, so that only one of them is sent and all of the callers share its result
+ * </p>
+ *
+ * <p>
+ * Requests are identified by a {@link Key} made up of the access token, the endpoint and the arguments. The first caller for a key becomes the leader: it
+ * registers a future via {@link #lead(Key, CompletableFuture)}, makes the request and publishes the outcome via {@link #complete(Key, CompletableFuture, Object, Throwable)}.
+ * Any caller arriving for the same key while the request is in flight is handed the leader's future instead of making a request of its own. Once the
+ * request completes the key is forgotten, so later callers make a fresh request.
+ * </p>
+ *
+ * <p>
+ * Coalesced callers receive the same result object as the leader.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaRequestCoalescer {
+	/**
+	 * Futures for the requests currently in flight
+	 */
+	private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<Key, CompletableFuture<Object>>();
+
+	/**
+	 * Number of requests made by leaders
+	 */
+	private final LongAdder requests = new LongAdder();
+
+	/**
+	 * Number of callers who shared an in-flight request rather than making their own
+	 */
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * <p>
+	 * Join the request for the key if one is in flight, or become its leader
+	 * </p>
+	 *
+	 * @param key
+	 *            The request
+	 * @param future
+	 *            The future to register if the caller becomes the leader
+	 * @return The future of the request already in flight, or <code>null</code> if the caller is now the leader and must make the request and then call
+	 *         {@link #complete(Key, CompletableFuture, Object, Throwable)}
+	 */
+	public CompletableFuture<Object> lead(final Key key, final CompletableFuture<Object> future) {
+		final CompletableFuture<Object> existing = this.inFlight.putIfAbsent(key, future);
+		if (existing == null) {
+			this.requests.increment();
+		} else {
+			this.coalesced.increment();
+		}
+		return existing;
+	}
+
+	/**
+	 * <p>
+	 * Publish the outcome of a leader's request to the callers sharing it
+	 * </p>
+	 *
+	 * @param key
+	 *            The request
+	 * @param future
+	 *            The future registered by the leader
+	 * @param result
+	 *            The result, if the request succeeded
+	 * @param error
+	 *            The failure, or <code>null</code> if the request succeeded
+	 */
+	public void complete(final Key key, final CompletableFuture<Object> future, final Object result, final Throwable error) {
+		// Forget the request first, so nobody joins it after it has completed
+		this.inFlight.remove(key, future);
+		if (error == null) {
+			future.complete(result);
+		} else {
+			future.completeExceptionally(error);
+		}
+	}
+
+	/**
+	 * @return Number of requests currently in flight
+	 */
+	public int getInFlightCount() {
+		return this.inFlight.size();
+	}
+
+	/**
+	 * @return Number of requests made by leaders
+	 */
+	public long getRequestCount() {
+		return this.requests.sum();
+	}
+
+	/**
+	 * @return Number of callers who shared an in-flight request rather than making their own; each is a request saved from the rate limit
+	 */
+	public long getCoalescedCount() {
+		return this.coalesced.sum();
+	}
+
+	/**
+	 * <p>
+	 * Identifies a request by access token, endpoint and arguments
+	 * </p>
+	 */
+	public static final class Key {
+		/**
+		 * The access token
+		 */
+		private final String token;
+
+		/**
+		 * Name of the endpoint
+		 */
+		private final String endpoint;
+
+		/**
+		 * The arguments (not including any callback)
+		 */
+		private final Object[] args;
+
+		/**
+		 * Hash code, calculated once
+		 */
+		private final int hashCode;
+
+		/**
+		 * @param token
+		 *            The access token
+		 * @param endpoint
+		 *            Name of the endpoint
+		 * @param args
+		 *            The arguments (not including any callback)
+		 */
+		public Key(final String token, final String endpoint, final Object[] args) {
+			this.token = token;
+			this.endpoint = endpoint;
+			this.args = args;
+			this.hashCode = (31 * ((31 * String.valueOf(token).hashCode()) + endpoint.hashCode())) + Arrays.deepHashCode(args);
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		/**
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return (this.hashCode == other.hashCode) && this.endpoint.equals(other.endpoint) && (this.token == null ? other.token == null : this.token.equals(other.token))
+					&& Arrays.deepEquals(this.args, other.args);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Key [endpoint=" + this.endpoint + ", args=" + Arrays.deepToString(this.args) + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+}
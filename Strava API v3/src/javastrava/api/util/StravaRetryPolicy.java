@@ -0,0 +1,228 @@
+package javastrava.api.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.StravaAPINetworkException;
+import javastrava.service.exception.StravaAPIRateLimitException;
+import javastrava.service.exception.StravaInternalServerErrorException;
+import javastrava.service.exception.StravaServiceUnavailableException;
+
+/**
+ * <p>
+ * Policy determining whether, and after how long, a failed call to the Strava API should be retried
+ * </p>
+ *
+ * <p>
+ * Only transient failures are retried: network errors, 500 Internal Server Error, 503 Service Unavailable and rate limit errors. Retries are delayed using
+ * capped exponential backoff with full jitter; a call which failed because the rate limit was exceeded is not retried until the rate limit window has
+ * reset, and is given up on if that is further away than {@link #getMaxRateLimitWait()} milliseconds.
+ * </p>
+ *
+ * <p>
+ * By default the maximum rate limit wait is 0, so a call which exceeds the rate limit fails with a
+ * {@link StravaAPIRateLimitException} at once, as it would without retries. Setting <code>strava.retry.max_rate_limit_wait_ms</code> makes such calls
+ * wait for the window to reset instead; a synchronous call then sleeps on the calling thread for up to that long.
+ * </p>
+ *
+ * <p>
+ * The policy also counts retries, recoveries (calls which succeeded after being retried) and give-ups (calls which failed transiently but were not retried
+ * any further).
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaRetryPolicy {
+	/**
+	 * Scheduler used to re-issue asynchronous calls after their retry delay
+	 */
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "javastrava-retry"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Maximum number of attempts (including the first) to make for a call
+	 */
+	private final int maxAttempts;
+
+	/**
+	 * Delay (in milliseconds) before the first retry, which doubles with each subsequent retry
+	 */
+	private final long baseDelay;
+
+	/**
+	 * Maximum delay (in milliseconds) between retries
+	 */
+	private final long maxDelay;
+
+	/**
+	 * Maximum time (in milliseconds) to wait for the rate limit window to reset before retrying a call which exceeded the rate limit
+	 */
+	private final long maxRateLimitWait;
+
+	/**
+	 * Number of retries made
+	 */
+	private final LongAdder retries = new LongAdder();
+
+	/**
+	 * Number of calls which succeeded after at least one retry
+	 */
+	private final LongAdder recoveries = new LongAdder();
+
+	/**
+	 * Number of calls which failed transiently but were not retried any further
+	 */
+	private final LongAdder giveUps = new LongAdder();
+
+	/**
+	 * Constructor using the configured retry settings
+	 */
+	public StravaRetryPolicy() {
+		this(StravaConfig.RETRY_MAX_ATTEMPTS, StravaConfig.RETRY_BASE_DELAY, StravaConfig.RETRY_MAX_DELAY, StravaConfig.RETRY_MAX_RATE_LIMIT_WAIT);
+	}
+
+	/**
+	 * @param maxAttempts
+	 *            Maximum number of attempts (including the first) to make for a call; 1 disables retries
+	 * @param baseDelay
+	 *            Delay (in milliseconds) before the first retry, which doubles with each subsequent retry
+	 * @param maxDelay
+	 *            Maximum delay (in milliseconds) between retries
+	 * @param maxRateLimitWait
+	 *            Maximum time (in milliseconds) to wait for the rate limit window to reset before retrying a call which exceeded the rate limit
+	 */
+	public StravaRetryPolicy(final int maxAttempts, final long baseDelay, final long maxDelay, final long maxRateLimitWait) {
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.baseDelay = Math.max(1, baseDelay);
+		this.maxDelay = Math.max(this.baseDelay, maxDelay);
+		this.maxRateLimitWait = maxRateLimitWait;
+	}
+
+	/**
+	 * @param cause
+	 *            The failure
+	 * @return <code>true</code> if the failure is transient, and the call may succeed if it is retried
+	 */
+	public static boolean isTransient(final Throwable cause) {
+		return (cause instanceof StravaAPINetworkException) || (cause instanceof StravaInternalServerErrorException)
+				|| (cause instanceof StravaServiceUnavailableException) || (cause instanceof StravaAPIRateLimitException);
+	}
+
+	/**
+	 * <p>
+	 * Work out how long to wait before retrying a failed call
+	 * </p>
+	 *
+	 * @param attempt
+	 *            The number of the attempt which failed (the first attempt is 1)
+	 * @param cause
+	 *            The failure
+	 * @param rateLimitState
+	 *            Rate limit state of the application which made the call
+	 * @return The delay in milliseconds before the call should be retried, or -1 if it should not be retried
+	 */
+	public long retryDelay(final int attempt, final Throwable cause, final StravaRateLimitState rateLimitState) {
+		if (!isTransient(cause)) {
+			return -1;
+		}
+		if (attempt >= this.maxAttempts) {
+			this.giveUps.increment();
+			return -1;
+		}
+
+		long delay;
+		if (cause instanceof StravaAPIRateLimitException) {
+			// Don't try again until the rate limit window resets, and spread the retries out a little so they don't all arrive at once
+			final StravaRateLimitState.Snapshot state = rateLimitState.snapshot();
+			delay = (state.getRequestRateDaily() >= state.getRateLimitDaily() ? state.getMillisUntilDailyReset() : state.getMillisUntilWindowReset());
+			delay = delay + ThreadLocalRandom.current().nextLong(this.baseDelay);
+			if (delay > this.maxRateLimitWait) {
+				this.giveUps.increment();
+				return -1;
+			}
+		} else {
+			// Capped exponential backoff with full jitter
+			final long cap = Math.min(this.maxDelay, this.baseDelay << Math.min(attempt - 1, 30));
+			delay = ThreadLocalRandom.current().nextLong(cap + 1);
+		}
+		this.retries.increment();
+		return delay;
+	}
+
+	/**
+	 * Record that a call succeeded after being retried
+	 */
+	void recovered() {
+		this.recoveries.increment();
+	}
+
+	/**
+	 * Run a task after a delay, without blocking the calling thread
+	 *
+	 * @param task
+	 *            The task to run
+	 * @param delay
+	 *            The delay in milliseconds
+	 */
+	static void schedule(final Runnable task, final long delay) {
+		SCHEDULER.schedule(task, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return Maximum number of attempts (including the first) to make for a call
+	 */
+	public int getMaxAttempts() {
+		return this.maxAttempts;
+	}
+
+	/**
+	 * @return Delay (in milliseconds) before the first retry
+	 */
+	public long getBaseDelay() {
+		return this.baseDelay;
+	}
+
+	/**
+	 * @return Maximum delay (in milliseconds) between retries
+	 */
+	public long getMaxDelay() {
+		return this.maxDelay;
+	}
+
+	/**
+	 * @return Maximum time (in milliseconds) to wait for the rate limit window to reset before retrying a call which exceeded the rate limit
+	 */
+	public long getMaxRateLimitWait() {
+		return this.maxRateLimitWait;
+	}
+
+	/**
+	 * @return Number of retries made
+	 */
+	public long getRetryCount() {
+		return this.retries.sum();
+	}
+
+	/**
+	 * @return Number of calls which succeeded after at least one retry
+	 */
+	public long getRecoveryCount() {
+		return this.recoveries.sum();
+	}
+
+	/**
+	 * @return Number of calls which failed transiently but were not retried any further
+	 */
+	public long getGiveUpCount() {
+		return this.giveUps.sum();
+	}
+
+}
@@ -38,6 +38,7 @@ public class AuthorisationServiceImpl implements AuthorisationService {
 	public Token tokenExchange(final Integer clientId, final String clientSecret, final String code, final AuthorisationScope... scopes) throws BadRequestException, UnauthorizedException {
 		final TokenResponse response = this.api.tokenExchange(clientId, clientSecret, code);
 		final Token token = new Token(response, scopes);
+		token.setClientId(clientId);
 		TokenManager.instance().storeToken(token);
 		return token;
 	}
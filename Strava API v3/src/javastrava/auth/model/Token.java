@@ -95,6 +95,11 @@ public class Token implements StravaEntity {
 	 */
 	private String tokenType;
 
+	/**
+	 * Client id of the Strava application which was issued this token, or <code>null</code> if it is not known. Strava applies rate limits per application.
+	 */
+	private Integer clientId;
+
 	/**
 	 * No-args constructor
 	 */
@@ -259,6 +264,13 @@ public class Token implements StravaEntity {
 		return this.token;
 	}
 
+	/**
+	 * @return the client id of the application which was issued the token, or <code>null</code> if it is not known
+	 */
+	public Integer getClientId() {
+		return this.clientId;
+	}
+
 	/**
 	 * @return the tokenType
 	 */
@@ -354,6 +366,14 @@ public class Token implements StravaEntity {
 		this.token = token;
 	}
 
+	/**
+	 * @param clientId
+	 *            the client id of the application which was issued the token
+	 */
+	public void setClientId(final Integer clientId) {
+		this.clientId = clientId;
+	}
+
 	/**
 	 * @param tokenType
 	 *            the tokenType to set
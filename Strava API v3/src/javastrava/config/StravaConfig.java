@@ -61,6 +61,120 @@ public class StravaConfig {
 	 */
 	public static final int PAGING_LIST_ALL_PARALLELISM = integer("strava.paging_list_all_parallelism").intValue(); //$NON-NLS-1$
 
+	/**
+	 * The number of pages to get in the background, ahead of the page being read, when streaming the results of a streamAll method
+	 */
+	public static final int PAGING_STREAM_PREFETCH = integer("strava.paging_stream_prefetch").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether the listAll methods adapt the number of pages they request at once to page latency, rate limit usage and server errors
+	 */
+	public static final boolean PAGING_ADAPTIVE_ENABLED = Boolean.parseBoolean(string("strava.paging_adaptive.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Most pages the listAll methods request at once when adapting
+	 */
+	public static final int PAGING_ADAPTIVE_MAX_PARALLELISM = integer("strava.paging_adaptive.max_parallelism").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Average time (in milliseconds) to get a page above which the listAll methods request more pages at once when adapting
+	 */
+	public static final long PAGING_ADAPTIVE_SLOW_PAGE_MILLIS = integer("strava.paging_adaptive.slow_page_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Percentage of the 15-minute rate limit above which the listAll methods request fewer pages at once when adapting
+	 */
+	public static final int PAGING_ADAPTIVE_BACK_OFF_PERCENT = integer("strava.paging_adaptive.back_off_percent").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of threads on which pages are requested by the listAll methods, shared fairly between access tokens
+	 */
+	public static final int PAGING_THREADS = integer("strava.paging_threads").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether requests to the Strava API should be paced by the client-side rate limiter (off by default, as pacing holds the thread making each request)
+	 */
+	public static final boolean RATE_LIMITER_ENABLED = Boolean.parseBoolean(string("strava.rate_limiter.enabled")); //$NON-NLS-1$
+
+	/**
+	 * The number of requests the client-side rate limiter will allow to be made immediately, before pacing them across the rate limit window
+	 */
+	public static final int RATE_LIMITER_BURST = integer("strava.rate_limiter.burst").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum time in milliseconds a request will wait for a permit from the client-side rate limiter before failing with a rate limit error
+	 */
+	public static final long RATE_LIMITER_MAX_WAIT = integer("strava.rate_limiter.max_wait_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of attempts (including the first) to make for an idempotent request which fails transiently; 1 disables retries
+	 */
+	public static final int RETRY_MAX_ATTEMPTS = integer("strava.retry.max_attempts").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Delay in milliseconds before the first retry of a failed request; doubles with each subsequent retry
+	 */
+	public static final long RETRY_BASE_DELAY = integer("strava.retry.base_delay_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum delay in milliseconds between retries of a failed request
+	 */
+	public static final long RETRY_MAX_DELAY = integer("strava.retry.max_delay_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum time in milliseconds to wait for the rate limit window to reset before retrying a request which exceeded the rate limit; 0 (the default)
+	 * means such requests fail at once rather than waiting
+	 */
+	public static final long RETRY_MAX_RATE_LIMIT_WAIT = integer("strava.retry.max_rate_limit_wait_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether calls to each API endpoint should be guarded by a circuit breaker
+	 */
+	public static final boolean CIRCUIT_BREAKER_ENABLED = Boolean.parseBoolean(string("strava.circuit_breaker.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Number of consecutive calls to an endpoint which must fail because Strava is unavailable before its circuit breaker opens
+	 */
+	public static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = integer("strava.circuit_breaker.failure_threshold").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Time in milliseconds for which an open circuit breaker fails calls immediately, before allowing a trial call through
+	 */
+	public static final long CIRCUIT_BREAKER_OPEN_DURATION = integer("strava.circuit_breaker.open_duration_ms").longValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether concurrent identical GET requests made with the same token should be coalesced into a single request
+	 */
+	public static final boolean REQUEST_COALESCING_ENABLED = Boolean.parseBoolean(string("strava.request_coalescing.enabled")); //$NON-NLS-1$
+
+	/**
+	 * Executor on which asynchronous service methods run by default: <code>bounded</code> for a bounded thread pool, or <code>virtual</code> for a virtual
+	 * thread per task (if the JDK supports them)
+	 */
+	public static final String ASYNC_EXECUTOR = string("strava.async.executor"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of asynchronous service calls the default bounded executor runs at once
+	 */
+	public static final int ASYNC_THREADS = integer("strava.async.threads").intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of asynchronous service calls waiting to run on the default bounded executor; when it is full, calls are rejected (see
+	 * {@link #ASYNC_CALLER_RUNS})
+	 */
+	public static final int ASYNC_QUEUE_SIZE = integer("strava.async.queue_size").intValue(); //$NON-NLS-1$
+
+	/**
+	 * If <code>true</code>, asynchronous service calls made when the default bounded executor's queue is full run on the calling thread; otherwise (the
+	 * default) their futures complete exceptionally with a {@link java.util.concurrent.RejectedExecutionException}
+	 */
+	public static final boolean ASYNC_CALLER_RUNS = Boolean.parseBoolean(string("strava.async.caller_runs")); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of threads making HTTP requests for asynchronous API calls; further asynchronous calls wait in a queue
+	 */
+	public static final int HTTP_ASYNC_THREADS = integer("strava.http.async_threads").intValue(); //$NON-NLS-1$
+
 	/**
 	 * @param key
 	 *            The name of the property to return
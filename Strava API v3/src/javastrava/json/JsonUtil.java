@@ -1,6 +1,8 @@
 package javastrava.json;
 
 import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.util.function.Consumer;
 
 import javastrava.json.exception.JsonSerialisationException;
 
@@ -24,6 +26,74 @@ public interface JsonUtil {
 	 */
 	public abstract <T> T deserialise(final InputStream is, final Class<T> class1) throws JsonSerialisationException;
 
+	/**
+	 * Deserialise an input stream holding a JSON array one element at a time, handing each element to the consumer as soon as it has been read, so that the
+	 * whole array is never held in memory and the first element can be used before the rest have arrived
+	 * 
+	 * <p>
+	 * The default implementation can't stream: it reads the whole array with {@link #deserialise(InputStream, Class)} and then hands over the elements, so
+	 * implementations should override it if they can.
+	 * </p>
+	 * 
+	 * @param is The input stream to deserialise
+	 * @param class1 The class to which each element should be deserialised
+	 * @param consumer Consumer given each element in turn
+	 * @param <T> Class to deserialise each element to
+	 * @return Number of elements read
+	 * @throws JsonSerialisationException If something goes horribly wrong in deserialisation
+	 */
+	@SuppressWarnings("unchecked")
+	public default <T> int deserialiseArray(final InputStream is, final Class<T> class1, final Consumer<? super T> consumer) throws JsonSerialisationException {
+		final T[] array = (T[]) deserialise(is, Array.newInstance(class1, 0).getClass());
+		if (array == null) {
+			return 0;
+		}
+		for (final T element : array) {
+			consumer.accept(element);
+		}
+		return array.length;
+	}
+
+	/**
+	 * Deserialise an input stream holding a JSON array as {@link #deserialiseArray(InputStream, Class, Consumer)} does, but read only the fields of each
+	 * element which the projection includes; all the others are skipped without being built
+	 * 
+	 * <p>
+	 * The default implementation can't skip fields: it ignores the projection and reads whole elements with
+	 * {@link #deserialiseArray(InputStream, Class, Consumer)}, so callers get the fields they asked for (and the rest as well).
+	 * </p>
+	 * 
+	 * @param is The input stream to deserialise
+	 * @param class1 The class to which each element should be deserialised
+	 * @param projection The fields to read, or <code>null</code> to read them all
+	 * @param consumer Consumer given each element in turn
+	 * @param <T> Class to deserialise each element to
+	 * @return Number of elements read
+	 * @throws JsonSerialisationException If something goes horribly wrong in deserialisation
+	 */
+	public default <T> int deserialiseArray(final InputStream is, final Class<T> class1, final Projection projection, final Consumer<? super T> consumer) throws JsonSerialisationException {
+		return deserialiseArray(is, class1, consumer);
+	}
+
+	/**
+	 * Deserialise an input stream representation of a JSON object to the named class, reading only the fields which the projection includes; all the others
+	 * are skipped without being built
+	 * 
+	 * <p>
+	 * The default implementation can't skip fields: it ignores the projection and reads the whole object with {@link #deserialise(InputStream, Class)}.
+	 * </p>
+	 * 
+	 * @param is The input stream to deserialise
+	 * @param class1 The class to which is should be deserialised
+	 * @param projection The fields to read, or <code>null</code> to read them all
+	 * @param <T> Class to deserialise to
+	 * @return An instance of the class with only the projected fields set
+	 * @throws JsonSerialisationException If something goes horribly wrong in deserialisation
+	 */
+	public default <T> T deserialise(final InputStream is, final Class<T> class1, final Projection projection) throws JsonSerialisationException {
+		return deserialise(is, class1);
+	}
+
 	/**
 	 * Deserialise a string representation of a JSON document to the named class
 	 * @param input The input string to deserialise
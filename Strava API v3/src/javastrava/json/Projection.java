@@ -0,0 +1,100 @@
+package javastrava.json;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javastrava.config.Messages;
+
+/**
+ * <p>
+ * The fields of a JSON object which are wanted, so that the rest can be skipped rather than read (see
+ * {@link JsonUtil#deserialiseArray(java.io.InputStream, Class, Projection, java.util.function.Consumer)})
+ * </p>
+ *
+ * <p>
+ * Fields are named as they are in the JSON Strava returns (<code>start_date</code>, not <code>startDate</code>), and only the top-level fields of each
+ * object can be named. A field which is named is read in full, so naming <code>athlete</code> reads the whole athlete; a field which isn't is skipped over
+ * token by token without any of it being built, however large it is. Objects read with a projection are the usual model classes with only the named fields
+ * set, so they are not the same as the ones Strava's full representation would give, and should not be cached or written back to Strava.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class Projection {
+	/**
+	 * @param fields
+	 *            Names of the fields which are wanted, as they are in the JSON
+	 * @return Projection which includes only those fields
+	 * @throws IllegalArgumentException
+	 *             If any of the names is <code>null</code>
+	 */
+	public static Projection of(final String... fields) {
+		final Set<String> names = new LinkedHashSet<String>(Arrays.asList(fields));
+		if (names.contains(null)) {
+			throw new IllegalArgumentException(Messages.string("Projection.nullField")); //$NON-NLS-1$
+		}
+		return new Projection(Collections.unmodifiableSet(names));
+	}
+
+	/**
+	 * Names of the fields which are wanted
+	 */
+	private final Set<String> fields;
+
+	/**
+	 * @param fields
+	 *            Names of the fields which are wanted
+	 */
+	private Projection(final Set<String> fields) {
+		this.fields = fields;
+	}
+
+	/**
+	 * @param field
+	 *            Name of a field, as it is in the JSON
+	 * @return <code>true</code> if the field is wanted
+	 */
+	public boolean includes(final String field) {
+		return this.fields.contains(field);
+	}
+
+	/**
+	 * @return Names of the fields which are wanted, in the order they were given
+	 */
+	public Set<String> getFields() {
+		return this.fields;
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return this.fields.hashCode();
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Projection)) {
+			return false;
+		}
+		return this.fields.equals(((Projection) obj).fields);
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "Projection [fields=" + this.fields + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
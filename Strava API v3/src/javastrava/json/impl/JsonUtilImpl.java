@@ -1,15 +1,27 @@
 package javastrava.json.impl;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.function.Consumer;
 
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import javastrava.auth.ref.AuthorisationApprovalPrompt;
 import javastrava.auth.ref.AuthorisationResponseType;
@@ -17,85 +29,24 @@ import javastrava.auth.ref.AuthorisationScope;
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.json.JsonUtil;
+import javastrava.json.Projection;
 import javastrava.json.exception.JsonSerialisationException;
-import javastrava.json.impl.serializer.ActivityTypeSerializer;
-import javastrava.json.impl.serializer.ActivityZoneTypeSerializer;
-import javastrava.json.impl.serializer.AgeGroupSerializer;
-import javastrava.json.impl.serializer.AthleteTypeSerializer;
 import javastrava.json.impl.serializer.AuthorisationApprovalPromptSerializer;
 import javastrava.json.impl.serializer.AuthorisationResponseTypeSerializer;
 import javastrava.json.impl.serializer.AuthorisationScopeSerializer;
-import javastrava.json.impl.serializer.ChallengeTypeSerializer;
-import javastrava.json.impl.serializer.ClimbCategorySerializer;
-import javastrava.json.impl.serializer.ClubMembershipStatusSerializer;
-import javastrava.json.impl.serializer.ClubTypeSerializer;
-import javastrava.json.impl.serializer.FollowerStateSerializer;
-import javastrava.json.impl.serializer.FrameTypeSerializer;
-import javastrava.json.impl.serializer.GenderSerializer;
-import javastrava.json.impl.serializer.LeaderboardDateRangeSerializer;
 import javastrava.json.impl.serializer.LocalDateSerializer;
 import javastrava.json.impl.serializer.LocalDateTimeSerializer;
 import javastrava.json.impl.serializer.MapPointSerializer;
-import javastrava.json.impl.serializer.MeasurementMethodSerializer;
-import javastrava.json.impl.serializer.PhotoTypeSerializer;
-import javastrava.json.impl.serializer.ResourceStateSerializer;
-import javastrava.json.impl.serializer.RouteSubTypeSerializer;
-import javastrava.json.impl.serializer.RouteTypeSerializer;
-import javastrava.json.impl.serializer.RunningRaceTypeSerializer;
-import javastrava.json.impl.serializer.SegmentActivityTypeSerializer;
-import javastrava.json.impl.serializer.SegmentExplorerActivityTypeSerializer;
-import javastrava.json.impl.serializer.SkillLevelSerializer;
-import javastrava.json.impl.serializer.SportTypeSerializer;
-import javastrava.json.impl.serializer.StravaPhotoSourceSerializer;
+import javastrava.json.impl.serializer.StravaModelTypeAdapterFactory;
+import javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory;
 import javastrava.json.impl.serializer.StravaStreamSerializer;
 import javastrava.json.impl.serializer.StravaStreamDataSerializer;
 import javastrava.json.impl.serializer.StravaStreamSetSerializer;
-import javastrava.json.impl.serializer.StreamResolutionTypeSerializer;
-import javastrava.json.impl.serializer.StreamSeriesDownsamplingTypeSerializer;
-import javastrava.json.impl.serializer.StreamTypeSerializer;
-import javastrava.json.impl.serializer.SubscriptionAspectTypeSerializer;
-import javastrava.json.impl.serializer.SubscriptionObjectTypeSerializer;
-import javastrava.json.impl.serializer.TerrainTypeSerializer;
-import javastrava.json.impl.serializer.WeekOfMonthSerializer;
-import javastrava.json.impl.serializer.WeightClassSerializer;
-import javastrava.json.impl.serializer.WorkoutTypeSerializer;
 import javastrava.json.impl.serializer.ZonedDateTimeSerializer;
 import javastrava.model.StravaMapPoint;
 import javastrava.model.StravaStream;
 import javastrava.model.StravaStreamData;
 import javastrava.model.StravaStreamSet;
-import javastrava.model.reference.StravaActivityType;
-import javastrava.model.reference.StravaActivityZoneType;
-import javastrava.model.reference.StravaAgeGroup;
-import javastrava.model.reference.StravaAthleteType;
-import javastrava.model.reference.StravaChallengeType;
-import javastrava.model.reference.StravaClimbCategory;
-import javastrava.model.reference.StravaClubMembershipStatus;
-import javastrava.model.reference.StravaClubType;
-import javastrava.model.reference.StravaFollowerState;
-import javastrava.model.reference.StravaFrameType;
-import javastrava.model.reference.StravaGender;
-import javastrava.model.reference.StravaLeaderboardDateRange;
-import javastrava.model.reference.StravaMeasurementMethod;
-import javastrava.model.reference.StravaPhotoSource;
-import javastrava.model.reference.StravaPhotoType;
-import javastrava.model.reference.StravaResourceState;
-import javastrava.model.reference.StravaRouteSubType;
-import javastrava.model.reference.StravaRouteType;
-import javastrava.model.reference.StravaRunningRaceType;
-import javastrava.model.reference.StravaSegmentActivityType;
-import javastrava.model.reference.StravaSegmentExplorerActivityType;
-import javastrava.model.reference.StravaSkillLevel;
-import javastrava.model.reference.StravaSportType;
-import javastrava.model.reference.StravaStreamResolutionType;
-import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
-import javastrava.model.reference.StravaStreamType;
-import javastrava.model.reference.StravaTerrainType;
-import javastrava.model.reference.StravaWeekOfMonth;
-import javastrava.model.reference.StravaWeightClass;
-import javastrava.model.reference.StravaWorkoutType;
-import javastrava.model.webhook.reference.StravaSubscriptionAspectType;
-import javastrava.model.webhook.reference.StravaSubscriptionObjectType;
 
 /**
  * <p>
@@ -106,62 +57,99 @@ import javastrava.model.webhook.reference.StravaSubscriptionObjectType;
  *
  */
 public class JsonUtilImpl implements JsonUtil {
+	/**
+	 * GSON instance shared by all instances. GSON is immutable and thread safe once built, and caches the type adapters it creates, so building one with all
+	 * the custom serializers (and then working out the adapters for the model classes again) for every API service and error handler is wasted effort.
+	 */
+	private static final Gson GSON = buildGson();
+
+	/**
+	 * Instance shared by all users of the JSON utilities
+	 */
+	private static final JsonUtilImpl INSTANCE = new JsonUtilImpl();
+
+	/**
+	 * @return The instance shared by all users of the JSON utilities
+	 */
+	public static JsonUtilImpl instance() {
+		return INSTANCE;
+	}
+
 	/**
 	 * GSON instance used for all JSON deserialisation and serialisation
 	 */
 	private final Gson gson;
 
 	/**
-	 * Default constructor
+	 * Default constructor; all instances use the same GSON instance, so {@link #instance()} is preferred
 	 */
 	public JsonUtilImpl() {
+		this.gson = GSON;
+	}
+
+	/**
+	 * @return A GSON instance with all the Strava-specific serializers registered
+	 */
+	private static Gson buildGson() {
 		final GsonBuilder gsonBuilder = new GsonBuilder();
 		gsonBuilder.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
 		gsonBuilder.setDateFormat(StravaConfig.DATE_FORMAT);
+		// Registered first so that every adapter registered after it takes precedence; model classes without one are read by generated adapters
+		gsonBuilder.registerTypeAdapterFactory(new StravaModelTypeAdapterFactory());
 		gsonBuilder.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeSerializer());
 		gsonBuilder.registerTypeAdapter(LocalDate.class, new LocalDateSerializer());
 		gsonBuilder.registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeSerializer());
 		gsonBuilder.registerTypeAdapter(AuthorisationApprovalPrompt.class, new AuthorisationApprovalPromptSerializer());
 		gsonBuilder.registerTypeAdapter(AuthorisationResponseType.class, new AuthorisationResponseTypeSerializer());
 		gsonBuilder.registerTypeAdapter(AuthorisationScope.class, new AuthorisationScopeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaActivityType.class, new ActivityTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaActivityZoneType.class, new ActivityZoneTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaAgeGroup.class, new AgeGroupSerializer());
-		gsonBuilder.registerTypeAdapter(StravaAthleteType.class, new AthleteTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaChallengeType.class, new ChallengeTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaClimbCategory.class, new ClimbCategorySerializer());
-		gsonBuilder.registerTypeAdapter(StravaClubType.class, new ClubTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaClubMembershipStatus.class, new ClubMembershipStatusSerializer());
-		gsonBuilder.registerTypeAdapter(StravaFollowerState.class, new FollowerStateSerializer());
-		gsonBuilder.registerTypeAdapter(StravaFrameType.class, new FrameTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaGender.class, new GenderSerializer());
-		gsonBuilder.registerTypeAdapter(StravaLeaderboardDateRange.class, new LeaderboardDateRangeSerializer());
+		gsonBuilder.registerTypeAdapterFactory(new StravaReferenceTypeAdapterFactory());
 		gsonBuilder.registerTypeAdapter(StravaMapPoint.class, new MapPointSerializer());
-		gsonBuilder.registerTypeAdapter(StravaMeasurementMethod.class, new MeasurementMethodSerializer());
-		gsonBuilder.registerTypeAdapter(StravaPhotoSource.class, new StravaPhotoSourceSerializer());
-		gsonBuilder.registerTypeAdapter(StravaPhotoType.class, new PhotoTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaResourceState.class, new ResourceStateSerializer());
-		gsonBuilder.registerTypeAdapter(StravaRouteType.class, new RouteTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaRouteSubType.class, new RouteSubTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaRunningRaceType.class, new RunningRaceTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSegmentActivityType.class, new SegmentActivityTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSegmentExplorerActivityType.class, new SegmentExplorerActivityTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSkillLevel.class, new SkillLevelSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSportType.class, new SportTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaStreamResolutionType.class, new StreamResolutionTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaStreamSeriesDownsamplingType.class, new StreamSeriesDownsamplingTypeSerializer());
 		gsonBuilder.registerTypeAdapter(StravaStream.class, new StravaStreamSerializer());
-		gsonBuilder.registerTypeAdapter(StravaStreamType.class, new StreamTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSubscriptionAspectType.class, new SubscriptionAspectTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaSubscriptionObjectType.class, new SubscriptionObjectTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaTerrainType.class, new TerrainTypeSerializer());
-		gsonBuilder.registerTypeAdapter(StravaWeekOfMonth.class, new WeekOfMonthSerializer());
-		gsonBuilder.registerTypeAdapter(StravaWeightClass.class, new WeightClassSerializer());
-		gsonBuilder.registerTypeAdapter(StravaWorkoutType.class, new WorkoutTypeSerializer());
 		gsonBuilder.registerTypeAdapter(StravaStreamData.class, new StravaStreamDataSerializer());
 		gsonBuilder.registerTypeAdapter(StravaStreamSet.class, new StravaStreamSetSerializer());
 
-		this.gson = gsonBuilder.create();
+		return gsonBuilder.create();
+	}
+
+	/**
+	 * <p>
+	 * Create the type adapters for all the Strava model classes returned by, or sent as the body of, the methods of an API interface, so that the work of
+	 * building them (which GSON otherwise does on first use) isn't done while a response is waiting to be read
+	 * </p>
+	 *
+	 * @param apiInterface
+	 *            One of the *API.java interfaces
+	 */
+	public void prepareAdapters(final Class<?> apiInterface) {
+		for (final Method method : apiInterface.getMethods()) {
+			prepareAdapter(method.getGenericReturnType());
+			for (final Type parameterType : method.getGenericParameterTypes()) {
+				prepareAdapter(parameterType);
+			}
+		}
+	}
+
+	/**
+	 * @param type
+	 *            Type for which to create an adapter, if it is a Strava model class (or array of them), or a callback for one
+	 */
+	private void prepareAdapter(final Type type) {
+		if (type instanceof ParameterizedType) {
+			for (final Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+				prepareAdapter(argument);
+			}
+			return;
+		}
+		if (!(type instanceof Class)) {
+			return;
+		}
+		Class<?> modelClass = (Class<?>) type;
+		while (modelClass.isArray()) {
+			modelClass = modelClass.getComponentType();
+		}
+		if (!modelClass.isPrimitive() && !modelClass.isInterface() && modelClass.getName().startsWith("javastrava.model.")) { //$NON-NLS-1$
+			this.gson.getAdapter((Class<?>) type);
+		}
 	}
 
 	/**
@@ -175,6 +163,82 @@ public class JsonUtilImpl implements JsonUtil {
 		return this.gson.fromJson(new InputStreamReader(is), class1);
 	}
 
+	/**
+	 * @see javastrava.json.JsonUtil#deserialise(java.io.InputStream, java.lang.Class, javastrava.json.Projection)
+	 */
+	@Override
+	public <T> T deserialise(final InputStream is, final Class<T> class1, final Projection projection) throws JsonSerialisationException {
+		if (is == null) {
+			return null;
+		}
+		try {
+			return adapter(class1, projection).read(new JsonReader(new InputStreamReader(is, StandardCharsets.UTF_8)));
+		} catch (final IOException | IllegalStateException | JsonParseException e) {
+			throw new JsonSerialisationException(String.format(Messages.string("JsonUtilImpl.failedToDeserialise"), class1.getName()), e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param class1
+	 *            Class to read
+	 * @param projection
+	 *            Fields to read, or <code>null</code> for all of them
+	 * @param <T>
+	 *            Class to read
+	 * @return Adapter which reads the class, skipping the fields the projection doesn't include
+	 */
+	private <T> TypeAdapter<T> adapter(final Class<T> class1, final Projection projection) {
+		final TypeAdapter<T> adapter = this.gson.getAdapter(class1);
+		return (projection == null ? adapter : new ProjectingTypeAdapter<T>(adapter, this.gson.getAdapter(JsonElement.class), projection));
+	}
+
+	/**
+	 * @see javastrava.json.JsonUtil#deserialiseArray(java.io.InputStream, java.lang.Class, java.util.function.Consumer)
+	 */
+	@Override
+	public <T> int deserialiseArray(final InputStream is, final Class<T> class1, final Consumer<? super T> consumer) throws JsonSerialisationException {
+		return deserialiseArray(is, class1, null, consumer);
+	}
+
+	/**
+	 * @see javastrava.json.JsonUtil#deserialiseArray(java.io.InputStream, java.lang.Class, javastrava.json.Projection, java.util.function.Consumer)
+	 */
+	@Override
+	public <T> int deserialiseArray(final InputStream is, final Class<T> class1, final Projection projection, final Consumer<? super T> consumer)
+			throws JsonSerialisationException {
+		if (is == null) {
+			return 0;
+		}
+		final TypeAdapter<T> adapter = adapter(class1, projection);
+		final JsonReader reader = new JsonReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+		int count = 0;
+		try {
+			if (reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+				return 0;
+			}
+			reader.beginArray();
+		} catch (final IOException | IllegalStateException e) {
+			throw new JsonSerialisationException(String.format(Messages.string("JsonUtilImpl.failedToDeserialiseArray"), class1.getName(), Integer.valueOf(count)), e); //$NON-NLS-1$
+		}
+		while (true) {
+			// Only the reading is guarded, so that anything the consumer throws reaches the caller as it is
+			final T element;
+			try {
+				if (!reader.hasNext()) {
+					reader.endArray();
+					break;
+				}
+				element = adapter.read(reader);
+			} catch (final IOException | IllegalStateException | JsonParseException e) {
+				throw new JsonSerialisationException(String.format(Messages.string("JsonUtilImpl.failedToDeserialiseArray"), class1.getName(), Integer.valueOf(count)), e); //$NON-NLS-1$
+			}
+			consumer.accept(element);
+			count++;
+		}
+		return count;
+	}
+
 	/**
 	 * @see javastrava.json.JsonUtil#deserialise(java.lang.String, java.lang.Class)
 	 */
@@ -201,4 +265,75 @@ public class JsonUtilImpl implements JsonUtil {
 	public <T> String serialise(final T object) throws JsonSerialisationException {
 		return this.gson.toJson(object);
 	}
+
+	/**
+	 * <p>
+	 * Reads an object's projected fields into a small tree, skipping every other field token by token, and then reads the object from the tree with the
+	 * usual adapter, so that each field is read exactly as it would be without the projection
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class read
+	 */
+	private static class ProjectingTypeAdapter<T> extends TypeAdapter<T> {
+		/**
+		 * Usual adapter for the class
+		 */
+		private final TypeAdapter<T> adapter;
+
+		/**
+		 * Adapter which reads a field into a tree
+		 */
+		private final TypeAdapter<JsonElement> treeAdapter;
+
+		/**
+		 * Fields to read
+		 */
+		private final Projection projection;
+
+		/**
+		 * @param adapter
+		 *            Usual adapter for the class
+		 * @param treeAdapter
+		 *            Adapter which reads a field into a tree
+		 * @param projection
+		 *            Fields to read
+		 */
+		ProjectingTypeAdapter(final TypeAdapter<T> adapter, final TypeAdapter<JsonElement> treeAdapter, final Projection projection) {
+			this.adapter = adapter;
+			this.treeAdapter = treeAdapter;
+			this.projection = projection;
+		}
+
+		/**
+		 * @see com.google.gson.TypeAdapter#read(com.google.gson.stream.JsonReader)
+		 */
+		@Override
+		public T read(final JsonReader reader) throws IOException {
+			if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+				// null, or something the usual adapter will reject
+				return this.adapter.read(reader);
+			}
+			final JsonObject fields = new JsonObject();
+			reader.beginObject();
+			while (reader.hasNext()) {
+				final String name = reader.nextName();
+				if (this.projection.includes(name)) {
+					fields.add(name, this.treeAdapter.read(reader));
+				} else {
+					reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return this.adapter.fromJsonTree(fields);
+		}
+
+		/**
+		 * @see com.google.gson.TypeAdapter#write(com.google.gson.stream.JsonWriter, java.lang.Object)
+		 */
+		@Override
+		public void write(final JsonWriter writer, final T value) throws IOException {
+			this.adapter.write(writer, value);
+		}
+	}
 }
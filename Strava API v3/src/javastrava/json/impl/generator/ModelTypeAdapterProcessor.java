@@ -0,0 +1,461 @@
+package javastrava.json.impl.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.util.Trees;
+
+/**
+ * <p>
+ * Annotation processor which generates a Gson type adapter for each class in <code>javastrava.model</code> (and its sub-packages), so that models are read
+ * from JSON by straight-line code rather than by Gson's reflective adapter
+ * </p>
+ *
+ * <p>
+ * For a model <code>StravaX</code> the processor writes <code>StravaXJsonAdapter</code> in the same package. Its <code>read</code> method switches on
+ * each field's JSON name (the field's {@link com.google.gson.annotations.SerializedName SerializedName}, or else its name in lower case with underscores,
+ * as {@link com.google.gson.FieldNamingPolicy#LOWER_CASE_WITH_UNDERSCORES} would have it) and hands the value to the field's setter, reading strings and
+ * boxed numbers and booleans directly and everything else with the adapter Gson has for the field's type. Writing is left to the reflective adapter the
+ * generated one is given, since output is not on any hot path.
+ * </p>
+ *
+ * <p>
+ * A class is left to the reflective adapter unless it is a concrete, non-generic, top-level class with a no-arguments constructor, no superclass, no
+ * primitive fields, and a setter for each field which does nothing but set it, so that the generated adapter always builds exactly the object the
+ * reflective one would. {@link javastrava.json.impl.serializer.StravaModelTypeAdapterFactory} finds the generated adapters at run time. The adapters
+ * themselves, which the processor sees in its next round, are not models and are skipped.
+ * </p>
+ *
+ * <p>
+ * Most of the classes left to the reflective adapter are meant to be (they aren't read from JSON, or need their setters), so the build log only says why
+ * a class was left if the build passes <code>-A{@value #VERBOSE_OPTION}=true</code>.
+ * </p>
+ *
+ * <p>
+ * The processor is not registered as a service, so it only runs where the build names it; see <code>pom.xml</code>.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ModelTypeAdapterProcessor.VERBOSE_OPTION)
+public class ModelTypeAdapterProcessor extends AbstractProcessor {
+	/**
+	 * Processor option which, if <code>true</code>, notes each model class left to the reflective adapter and why
+	 */
+	public static final String VERBOSE_OPTION = "javastrava.adapters.verbose"; //$NON-NLS-1$
+
+	/**
+	 * Package (with its sub-packages) holding the model classes
+	 */
+	private static final String MODEL_PACKAGE = "javastrava.model"; //$NON-NLS-1$
+
+	/**
+	 * Suffix added to the name of a model class to make the name of its generated adapter
+	 */
+	public static final String ADAPTER_SUFFIX = "JsonAdapter"; //$NON-NLS-1$
+
+	/**
+	 * Name of the annotation giving a field's JSON name
+	 */
+	private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName"; //$NON-NLS-1$
+
+	/**
+	 * Method of {@link javastrava.json.impl.serializer.StravaModelTypeAdapterFactory} used to read each directly-read type
+	 */
+	private static final String[][] DIRECT_READS = { { "java.lang.String", "readString" }, { "java.lang.Integer", "readInteger" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			{ "java.lang.Long", "readLong" }, { "java.lang.Float", "readFloat" }, { "java.lang.Double", "readDouble" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			{ "java.lang.Boolean", "readBoolean" } }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Access to the source of setters, or <code>null</code> if the compiler doesn't offer it (in which case nothing is generated)
+	 */
+	private Trees trees;
+
+	/**
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (this.trees == null) {
+			try {
+				this.trees = Trees.instance(this.processingEnv);
+			} catch (final IllegalArgumentException e) {
+				this.processingEnv.getMessager().printMessage(Kind.NOTE, "Model type adapters not generated: " + e.getMessage()); //$NON-NLS-1$
+				return false;
+			}
+		}
+		for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+			final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+			if ((type.getKind() == ElementKind.CLASS) && (packageName.equals(MODEL_PACKAGE) || packageName.startsWith(MODEL_PACKAGE + ".")) //$NON-NLS-1$
+					&& !isAdapter(type)) {
+				generate(type);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param type
+	 *            A class in the model package
+	 * @return <code>true</code> if the class is a type adapter (such as one generated in an earlier round) rather than a model
+	 */
+	private boolean isAdapter(final TypeElement type) {
+		if (type.getSimpleName().toString().endsWith(ADAPTER_SUFFIX)) {
+			return true;
+		}
+		final TypeElement typeAdapter = this.processingEnv.getElementUtils().getTypeElement("com.google.gson.TypeAdapter"); //$NON-NLS-1$
+		return (typeAdapter != null) && this.processingEnv.getTypeUtils().isSubtype(this.processingEnv.getTypeUtils().erasure(type.asType()),
+				this.processingEnv.getTypeUtils().erasure(typeAdapter.asType()));
+	}
+
+	/**
+	 * Generate the adapter for a model class, if it is one which can have one
+	 *
+	 * @param type
+	 *            The model class
+	 */
+	private void generate(final TypeElement type) {
+		final List<ModelField> fields = new ArrayList<ModelField>();
+		final String reason = collectFields(type, fields);
+		if (reason != null) {
+			if (Boolean.parseBoolean(this.processingEnv.getOptions().get(VERBOSE_OPTION))) {
+				this.processingEnv.getMessager().printMessage(Kind.NOTE, type.getSimpleName() + " left to the reflective adapter: " + reason, type); //$NON-NLS-1$
+			}
+			return;
+		}
+		final String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+		final String adapterName = type.getSimpleName() + ADAPTER_SUFFIX;
+		try (Writer writer = this.processingEnv.getFiler().createSourceFile(packageName + "." + adapterName, type).openWriter()) { //$NON-NLS-1$
+			writer.write(source(packageName, type.getSimpleName().toString(), adapterName, fields));
+		} catch (final IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + adapterName + ": " + e.getMessage(), type); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Work out the fields of a model class which are read from JSON
+	 *
+	 * @param type
+	 *            The model class
+	 * @param fields
+	 *            List to add the fields to, in the order they are declared
+	 * @return Why the class can't have a generated adapter, or <code>null</code> if it can
+	 */
+	private String collectFields(final TypeElement type, final List<ModelField> fields) {
+		if ((type.getNestingKind() != NestingKind.TOP_LEVEL) || type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty()) {
+			return "not a concrete, non-generic, top-level class"; //$NON-NLS-1$
+		}
+		if (!this.processingEnv.getTypeUtils().isSameType(type.getSuperclass(), this.processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType())) { //$NON-NLS-1$
+			return "has a superclass"; //$NON-NLS-1$
+		}
+		if (!hasNoArgsConstructor(type)) {
+			return "no accessible no-arguments constructor"; //$NON-NLS-1$
+		}
+		final Set<String> jsonNames = new HashSet<String>();
+		for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+				continue;
+			}
+			final String name = field.getSimpleName().toString();
+			if (field.asType().getKind().isPrimitive()) {
+				return "primitive field " + name; //$NON-NLS-1$
+			}
+			final String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1); //$NON-NLS-1$
+			if (!hasPlainSetter(type, field, setter)) {
+				return setter + " does more than set " + name + ", or is missing"; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			final List<String> names = jsonNames(field);
+			for (final String jsonName : names) {
+				if (!jsonNames.add(jsonName)) {
+					return "more than one field is named " + jsonName; //$NON-NLS-1$
+				}
+			}
+			fields.add(new ModelField(field.asType(), setter, names));
+		}
+		return null;
+	}
+
+	/**
+	 * @param type
+	 *            The model class
+	 * @return <code>true</code> if the class has a no-arguments constructor the generated adapter (in the same package) can call
+	 */
+	private static boolean hasNoArgsConstructor(final TypeElement type) {
+		for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param type
+	 *            The model class
+	 * @param field
+	 *            The field
+	 * @param setterName
+	 *            Name of the field's setter
+	 * @return <code>true</code> if the setter exists, can be called from the same package, and is just <code>this.field = field;</code>
+	 */
+	private boolean hasPlainSetter(final TypeElement type, final VariableElement field, final String setterName) {
+		for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			if (!method.getSimpleName().contentEquals(setterName) || (method.getParameters().size() != 1) || method.getModifiers().contains(Modifier.PRIVATE)
+					|| method.getModifiers().contains(Modifier.STATIC)
+					|| !this.processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+				continue;
+			}
+			final MethodTree tree = this.trees.getTree(method);
+			if ((tree == null) || (tree.getBody() == null) || (tree.getBody().getStatements().size() != 1)) {
+				return false;
+			}
+			final StatementTree statement = tree.getBody().getStatements().get(0);
+			if (!(statement instanceof ExpressionStatementTree) || !(((ExpressionStatementTree) statement).getExpression() instanceof AssignmentTree)) {
+				return false;
+			}
+			final AssignmentTree assignment = (AssignmentTree) ((ExpressionStatementTree) statement).getExpression();
+			return isField(assignment.getVariable(), field.getSimpleName().toString())
+					&& (assignment.getExpression() instanceof IdentifierTree)
+					&& ((IdentifierTree) assignment.getExpression()).getName().contentEquals(method.getParameters().get(0).getSimpleName());
+		}
+		return false;
+	}
+
+	/**
+	 * @param expression
+	 *            Left-hand side of an assignment
+	 * @param fieldName
+	 *            Name of a field
+	 * @return <code>true</code> if the expression is <code>this.fieldName</code>
+	 */
+	private static boolean isField(final ExpressionTree expression, final String fieldName) {
+		if (!(expression instanceof MemberSelectTree)) {
+			return false;
+		}
+		final MemberSelectTree select = (MemberSelectTree) expression;
+		return select.getIdentifier().contentEquals(fieldName) && (select.getExpression() instanceof IdentifierTree)
+				&& ((IdentifierTree) select.getExpression()).getName().contentEquals("this"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param field
+	 *            The field
+	 * @return The names by which the field is read from JSON, as Gson would have them
+	 */
+	private static List<String> jsonNames(final VariableElement field) {
+		final List<String> names = new ArrayList<String>();
+		for (final AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(SERIALIZED_NAME)) {
+				for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals("value")) { //$NON-NLS-1$
+						names.add(0, (String) entry.getValue().getValue());
+					} else if (entry.getKey().getSimpleName().contentEquals("alternate")) { //$NON-NLS-1$
+						for (final Object alternate : (List<?>) entry.getValue().getValue()) {
+							names.add((String) ((AnnotationValue) alternate).getValue());
+						}
+					}
+				}
+				return names;
+			}
+		}
+		names.add(lowerCaseWithUnderscores(field.getSimpleName().toString()));
+		return names;
+	}
+
+	/**
+	 * @param name
+	 *            Field name
+	 * @return The name translated as {@link com.google.gson.FieldNamingPolicy#LOWER_CASE_WITH_UNDERSCORES} does it
+	 */
+	private static String lowerCaseWithUnderscores(final String name) {
+		final StringBuilder translation = new StringBuilder();
+		for (int i = 0; i < name.length(); i++) {
+			final char character = name.charAt(i);
+			if (Character.isUpperCase(character) && (translation.length() != 0)) {
+				translation.append('_');
+			}
+			translation.append(character);
+		}
+		return translation.toString().toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * @param fieldType
+	 *            Type of a field
+	 * @return Method of {@link javastrava.json.impl.serializer.StravaModelTypeAdapterFactory} which reads the type directly, or <code>null</code> if it is
+	 *         read with Gson's adapter for the type
+	 */
+	private static String directRead(final TypeMirror fieldType) {
+		for (final String[] read : DIRECT_READS) {
+			if (fieldType.toString().equals(read[0])) {
+				return read[1];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param packageName
+	 *            Package of the model class
+	 * @param modelName
+	 *            Simple name of the model class
+	 * @param adapterName
+	 *            Simple name of the adapter
+	 * @param fields
+	 *            Fields read from JSON
+	 * @return Source of the adapter
+	 */
+	private static String source(final String packageName, final String modelName, final String adapterName, final List<ModelField> fields) {
+		final StringBuilder source = new StringBuilder();
+		source.append("package ").append(packageName).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		source.append("import java.io.IOException;\n\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.Gson;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.JsonSyntaxException;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.TypeAdapter;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.reflect.TypeToken;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.stream.JsonReader;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.stream.JsonToken;\n"); //$NON-NLS-1$
+		source.append("import com.google.gson.stream.JsonWriter;\n\n"); //$NON-NLS-1$
+		source.append("import javastrava.json.impl.serializer.StravaModelTypeAdapterFactory;\n\n"); //$NON-NLS-1$
+		source.append("/**\n * Type adapter for {@link ").append(modelName).append("}, generated by {@link ") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(ModelTypeAdapterProcessor.class.getName()).append("}; do not edit\n */\n"); //$NON-NLS-1$
+		source.append("public final class ").append(adapterName).append(" extends TypeAdapter<").append(modelName).append("> {\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		source.append("\tprivate final TypeAdapter<").append(modelName).append("> delegate;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < fields.size(); i++) {
+			if (directRead(fields.get(i).type) == null) {
+				source.append("\tprivate final TypeAdapter<").append(fields.get(i).type).append("> adapter").append(i).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+
+		source.append("\n\t/**\n\t * @param gson\n\t *            Gson instance the adapter belongs to\n\t * @param delegate\n\t *            Reflective adapter, used to write\n\t */\n"); //$NON-NLS-1$
+		source.append("\tpublic ").append(adapterName).append("(final Gson gson, final TypeAdapter<").append(modelName).append("> delegate) {\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		source.append("\t\tthis.delegate = delegate;\n"); //$NON-NLS-1$
+		for (int i = 0; i < fields.size(); i++) {
+			final TypeMirror fieldType = fields.get(i).type;
+			if (directRead(fieldType) == null) {
+				source.append("\t\tthis.adapter").append(i).append(" = gson.getAdapter("); //$NON-NLS-1$ //$NON-NLS-2$
+				if ((fieldType.getKind() == TypeKind.DECLARED) && ((DeclaredType) fieldType).getTypeArguments().isEmpty()) {
+					source.append(fieldType).append(".class);\n"); //$NON-NLS-1$
+				} else {
+					source.append("new TypeToken<").append(fieldType).append(">() {\n\t\t\t// Captures the type\n\t\t});\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		source.append("\t}\n\n"); //$NON-NLS-1$
+
+		// Setters are called whether or not they are deprecated, as the reflective adapter sets every field
+		source.append("\t@Override\n\t@SuppressWarnings(\"deprecation\")\n\tpublic ").append(modelName).append(" read(final JsonReader reader) throws IOException {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		source.append("\t\tif (reader.peek() == JsonToken.NULL) {\n\t\t\treader.nextNull();\n\t\t\treturn null;\n\t\t}\n"); //$NON-NLS-1$
+		source.append("\t\tfinal ").append(modelName).append(" model = new ").append(modelName).append("();\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		source.append("\t\ttry {\n\t\t\treader.beginObject();\n\t\t\twhile (reader.hasNext()) {\n\t\t\t\tswitch (reader.nextName()) {\n"); //$NON-NLS-1$
+		for (int i = 0; i < fields.size(); i++) {
+			final ModelField field = fields.get(i);
+			for (final String jsonName : field.jsonNames) {
+				source.append("\t\t\t\tcase \"").append(escape(jsonName)).append("\":\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			final String read = directRead(field.type);
+			source.append("\t\t\t\t\tmodel.").append(field.setter).append('('); //$NON-NLS-1$
+			if (read == null) {
+				source.append("this.adapter").append(i).append(".read(reader)"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else {
+				source.append("StravaModelTypeAdapterFactory.").append(read).append("(reader)"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			source.append(");\n\t\t\t\t\tbreak;\n"); //$NON-NLS-1$
+		}
+		source.append("\t\t\t\tdefault:\n\t\t\t\t\treader.skipValue();\n\t\t\t\t}\n\t\t\t}\n"); //$NON-NLS-1$
+		source.append("\t\t} catch (final IllegalStateException e) {\n\t\t\tthrow new JsonSyntaxException(e);\n\t\t}\n"); //$NON-NLS-1$
+		source.append("\t\treader.endObject();\n\t\treturn model;\n\t}\n\n"); //$NON-NLS-1$
+
+		source.append("\t@Override\n\tpublic void write(final JsonWriter writer, final ").append(modelName).append(" model) throws IOException {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		source.append("\t\tthis.delegate.write(writer, model);\n\t}\n}\n"); //$NON-NLS-1$
+		return source.toString();
+	}
+
+	/**
+	 * @param value
+	 *            String to put in a Java string literal
+	 * @return The string with quotes and backslashes escaped
+	 */
+	private static String escape(final String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * <p>
+	 * A field read from JSON
+	 * </p>
+	 */
+	private static class ModelField {
+		/**
+		 * Type of the field
+		 */
+		final TypeMirror type;
+
+		/**
+		 * Name of the field's setter
+		 */
+		final String setter;
+
+		/**
+		 * Names by which the field is read from JSON
+		 */
+		final List<String> jsonNames;
+
+		/**
+		 * @param type
+		 *            Type of the field
+		 * @param setter
+		 *            Name of the field's setter
+		 * @param jsonNames
+		 *            Names by which the field is read from JSON
+		 */
+		ModelField(final TypeMirror type, final String setter, final List<String> jsonNames) {
+			this.type = type;
+			this.setter = setter;
+			this.jsonNames = jsonNames;
+		}
+	}
+}
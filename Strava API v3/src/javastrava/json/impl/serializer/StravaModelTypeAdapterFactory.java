@@ -0,0 +1,170 @@
+package javastrava.json.impl.serializer;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import javastrava.json.impl.generator.ModelTypeAdapterProcessor;
+
+/**
+ * <p>
+ * Finds the type adapters which {@link ModelTypeAdapterProcessor} generates at build time for the model classes, so that models are read by straight-line
+ * code rather than by Gson's reflective adapter
+ * </p>
+ *
+ * <p>
+ * A model class with no generated adapter (because it isn't one the processor can handle, or because the library was built without the processor) is left to
+ * the next factory, which is Gson's reflective one unless another adapter has been registered for the class. The generated adapters call the
+ * <code>read</code> methods here for strings and boxed numbers and booleans, which read them exactly as Gson's own adapters for those types do.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaModelTypeAdapterFactory implements TypeAdapterFactory {
+	/**
+	 * Prefix of the names of the model classes
+	 */
+	private static final String MODEL_PACKAGE_PREFIX = "javastrava.model."; //$NON-NLS-1$
+
+	/**
+	 * @see com.google.gson.TypeAdapterFactory#create(com.google.gson.Gson, com.google.gson.reflect.TypeToken)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+		final Class<? super T> modelClass = type.getRawType();
+		if ((type.getType() != modelClass) || !modelClass.getName().startsWith(MODEL_PACKAGE_PREFIX)) {
+			return null;
+		}
+		final Class<?> adapterClass;
+		try {
+			adapterClass = Class.forName(modelClass.getName() + ModelTypeAdapterProcessor.ADAPTER_SUFFIX, true, modelClass.getClassLoader());
+		} catch (final ClassNotFoundException e) {
+			return null;
+		}
+		try {
+			return (TypeAdapter<T>) adapterClass.getConstructor(Gson.class, TypeAdapter.class).newInstance(gson, gson.getDelegateAdapter(this, type));
+		} catch (final InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (final ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as a string, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static String readString(final JsonReader reader) throws IOException {
+		final JsonToken token = reader.peek();
+		if (token == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		if (token == JsonToken.BOOLEAN) {
+			return Boolean.toString(reader.nextBoolean());
+		}
+		return reader.nextString();
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as an integer, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static Integer readInteger(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		try {
+			return Integer.valueOf(reader.nextInt());
+		} catch (final NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as a long, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static Long readLong(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		try {
+			return Long.valueOf(reader.nextLong());
+		} catch (final NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as a float, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static Float readFloat(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return Float.valueOf((float) reader.nextDouble());
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as a double, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static Double readDouble(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		return Double.valueOf(reader.nextDouble());
+	}
+
+	/**
+	 * @param reader
+	 *            Reader positioned at a value
+	 * @return The value as a boolean, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	public static Boolean readBoolean(final JsonReader reader) throws IOException {
+		final JsonToken token = reader.peek();
+		if (token == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		if (token == JsonToken.STRING) {
+			return Boolean.valueOf(Boolean.parseBoolean(reader.nextString()));
+		}
+		return Boolean.valueOf(reader.nextBoolean());
+	}
+}
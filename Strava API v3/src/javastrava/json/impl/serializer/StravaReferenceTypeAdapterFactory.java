@@ -0,0 +1,168 @@
+package javastrava.json.impl.serializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import javastrava.model.reference.StravaReferenceType;
+
+/**
+ * <p>
+ * Creates the type adapter for every enum which implements {@link StravaReferenceType}, which reads and writes each instance as its
+ * {@link StravaReferenceType#getValue() value}
+ * </p>
+ *
+ * <p>
+ * Each adapter builds a table of the enum's values when it is created, so a value read from JSON is found with a single hash lookup rather than by
+ * comparing it with every instance in turn. Values are matched exactly, then ignoring case, then (for enums with integer values) as a number, so
+ * <code>"2"</code>, <code>2</code> and <code>2.0</code> are all the same; a value which still doesn't match is read as the enum's <code>UNKNOWN</code>
+ * instance.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaReferenceTypeAdapterFactory implements TypeAdapterFactory {
+	/**
+	 * @see com.google.gson.TypeAdapterFactory#create(com.google.gson.Gson, com.google.gson.reflect.TypeToken)
+	 */
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+		Class<?> enumClass = type.getRawType();
+		if (!enumClass.isEnum() && (enumClass.getSuperclass() != null) && enumClass.getSuperclass().isEnum()) {
+			// An instance with its own class body
+			enumClass = enumClass.getSuperclass();
+		}
+		if (!enumClass.isEnum() || !StravaReferenceType.class.isAssignableFrom(enumClass)) {
+			return null;
+		}
+		return new ReferenceTypeAdapter(enumClass);
+	}
+
+	/**
+	 * <p>
+	 * Type adapter for one enum
+	 * </p>
+	 *
+	 * @param <E>
+	 *            The enum
+	 */
+	private static class ReferenceTypeAdapter<E extends Enum<E> & StravaReferenceType<?>> extends TypeAdapter<E> {
+		/**
+		 * Instances keyed by their value as a string
+		 */
+		private final Map<String, E> byValue = new HashMap<String, E>();
+
+		/**
+		 * Instances keyed by their value as a lower case string
+		 */
+		private final Map<String, E> byLowerCaseValue = new HashMap<String, E>();
+
+		/**
+		 * Instance to use for a value which doesn't match, or <code>null</code> if the enum has no <code>UNKNOWN</code>
+		 */
+		private final E unknown;
+
+		/**
+		 * Set if the enum's values are integers
+		 */
+		private final boolean numeric;
+
+		/**
+		 * @param enumClass
+		 *            The enum
+		 */
+		ReferenceTypeAdapter(final Class<E> enumClass) {
+			E unknownInstance = null;
+			boolean numericValues = false;
+			for (final E instance : enumClass.getEnumConstants()) {
+				final Object value = instance.getValue();
+				if (value != null) {
+					// Where two instances share a value the first wins, as it did when each create() method searched the instances in order
+					this.byValue.putIfAbsent(value.toString(), instance);
+					this.byLowerCaseValue.putIfAbsent(value.toString().toLowerCase(Locale.ROOT), instance);
+					numericValues = numericValues || (value instanceof Number);
+				}
+				if (instance.name().equals("UNKNOWN")) { //$NON-NLS-1$
+					unknownInstance = instance;
+				}
+			}
+			this.unknown = unknownInstance;
+			this.numeric = numericValues;
+		}
+
+		/**
+		 * @see com.google.gson.TypeAdapter#read(com.google.gson.stream.JsonReader)
+		 */
+		@Override
+		public E read(final JsonReader reader) throws IOException {
+			final JsonToken token = reader.peek();
+			if (token == JsonToken.NULL) {
+				reader.nextNull();
+				return null;
+			}
+			final String value;
+			if ((token == JsonToken.STRING) || (token == JsonToken.NUMBER)) {
+				value = reader.nextString();
+			} else if (token == JsonToken.BOOLEAN) {
+				value = String.valueOf(reader.nextBoolean());
+			} else {
+				throw new JsonParseException(token + " " + reader.getPath()); //$NON-NLS-1$
+			}
+			return lookup(value);
+		}
+
+		/**
+		 * @param value
+		 *            Value read from JSON
+		 * @return The matching instance, or <code>UNKNOWN</code>
+		 */
+		private E lookup(final String value) {
+			E instance = this.byValue.get(value);
+			if (instance != null) {
+				return instance;
+			}
+			instance = this.byLowerCaseValue.get(value.toLowerCase(Locale.ROOT));
+			if (instance != null) {
+				return instance;
+			}
+			if (this.numeric) {
+				// Other spellings of an integer, such as "2.0" or "2e0", match it; anything which isn't an integer in range, such as "2.9", is UNKNOWN rather
+				// than being truncated. intValueExact rejects a huge exponent from the precision and scale alone, without expanding the number.
+				try {
+					instance = this.byValue.get(String.valueOf(new BigDecimal(value.trim()).intValueExact()));
+				} catch (final NumberFormatException | ArithmeticException e) {
+					// Not an integer, so it's UNKNOWN
+				}
+			}
+			return (instance == null ? this.unknown : instance);
+		}
+
+		/**
+		 * @see com.google.gson.TypeAdapter#write(com.google.gson.stream.JsonWriter, java.lang.Object)
+		 */
+		@Override
+		public void write(final JsonWriter writer, final E instance) throws IOException {
+			final Object value = (instance == null ? null : instance.getValue());
+			if (value == null) {
+				writer.nullValue();
+			} else if (value instanceof Number) {
+				writer.value((Number) value);
+			} else {
+				writer.value(value.toString());
+			}
+		}
+	}
+}
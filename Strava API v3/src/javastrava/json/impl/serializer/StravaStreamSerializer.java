@@ -1,117 +1,426 @@
 package javastrava.json.impl.serializer;
 
-import java.lang.reflect.Type;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 import javastrava.model.StravaMapPoint;
 import javastrava.model.StravaStream;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
 import javastrava.model.reference.StravaStreamType;
+import javastrava.util.PrimitiveBooleanList;
+import javastrava.util.PrimitiveFloatList;
+import javastrava.util.PrimitiveMapPointList;
 
 /**
+ * <p>
+ * Reads and writes {@link StravaStream streams} as a stream of JSON tokens, without building a tree of the whole stream first
+ * </p>
+ *
+ * <p>
+ * A stream of a long activity can hold hundreds of thousands of samples, so the <code>data</code> array is read straight into a <code>float[]</code> (or a
+ * <code>double[]</code> of coordinates for {@link StravaStreamType#MAPPOINT}, or a {@link BitSet} for {@link StravaStreamType#MOVING}), and the stream's
+ * lists are {@link PrimitiveFloatList}, {@link PrimitiveMapPointList} and
+ * {@link PrimitiveBooleanList} views of it, rather than lists of boxed samples.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
-public class StravaStreamSerializer implements JsonSerializer<StravaStream>, JsonDeserializer<StravaStream> {
+public class StravaStreamSerializer extends TypeAdapter<StravaStream> {
+	/**
+	 * Number of samples to allow for before the size of the <code>data</code> array is known
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
 
 	/**
-	 * @see com.google.gson.JsonDeserializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
+	 * @see com.google.gson.TypeAdapter#read(com.google.gson.stream.JsonReader)
 	 */
 	@Override
-	public StravaStream deserialize(final JsonElement element, final Type type, final JsonDeserializationContext context) throws JsonParseException {
-		JsonObject json = null;
-		try {
-			json = (JsonObject) element;
-		} catch (final ClassCastException e) { // happens if it's a primitive, or if it's crap data
-			throw new JsonParseException(e);
-		}
-
-		// Get the type, as that will determine what the deserialization should do
-		final StravaStreamType streamType = (StravaStreamType) context.deserialize(json.get("type"), StravaStreamType.class); //$NON-NLS-1$
-
-		final JsonArray array = json.getAsJsonArray("data"); //$NON-NLS-1$
-		List<StravaMapPoint> points = null;
-		List<Float> data = null;
-		List<Boolean> moving = null;
-		if (streamType == StravaStreamType.MAPPOINT) {
-			points = new ArrayList<StravaMapPoint>();
-			for (final JsonElement arrayElement : array) {
-				final Float latitude = Float.valueOf(arrayElement.getAsJsonArray().get(0).getAsFloat());
-				final Float longitude = Float.valueOf(arrayElement.getAsJsonArray().get(1).getAsFloat());
-				final StravaMapPoint point = new StravaMapPoint(latitude, longitude);
-				points.add(point);
-			}
-		} else if (streamType == StravaStreamType.MOVING) {
-			moving = new ArrayList<Boolean>();
-			for (final JsonElement arrayElement : array) {
-				final Boolean bool = Boolean.valueOf(arrayElement.getAsBoolean());
-				moving.add(bool);
+	public StravaStream read(final JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+			throw new JsonParseException(reader.peek() + " " + reader.getPath()); //$NON-NLS-1$
+		}
+		final StravaStream stream = new StravaStream();
+		Samples samples = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String name = reader.nextName();
+			if (reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+				continue;
 			}
-		} else {
-			data = new ArrayList<Float>();
-			for (final JsonElement arrayElement : array) {
-				if (arrayElement.isJsonNull()) {
-					data.add(null);
-				} else {
-					final Float dataElement = Float.valueOf(arrayElement.getAsFloat());
-					data.add(dataElement);
-				}
+			switch (name) {
+			case "type": //$NON-NLS-1$
+				stream.setType(StravaStreamType.create(reader.nextString()));
+				break;
+			case "data": //$NON-NLS-1$
+				samples = readSamples(reader);
+				break;
+			case "original_size": //$NON-NLS-1$
+				stream.setOriginalSize(Integer.valueOf(reader.nextInt()));
+				break;
+			case "resolution": //$NON-NLS-1$
+				stream.setResolution(StravaStreamResolutionType.create(reader.nextString()));
+				break;
+			case "series_type": //$NON-NLS-1$
+				stream.setSeriesType(StravaStreamSeriesDownsamplingType.create(reader.nextString()));
+				break;
+			default:
+				reader.skipValue();
 			}
 		}
+		reader.endObject();
 
-		final StravaStream stream = new StravaStream();
-		stream.setData(data);
-		stream.setMapPoints(points);
-		stream.setMoving(moving);
-		final JsonElement originalSizeElement = json.get("original_size");//$NON-NLS-1$
-		if (originalSizeElement != null) {
-			stream.setOriginalSize(new Integer(originalSizeElement.getAsInt()));
-		}
-		stream.setResolution((StravaStreamResolutionType) context.deserialize(json.get("resolution"), //$NON-NLS-1$
-				StravaStreamResolutionType.class));
-		stream.setSeriesType((StravaStreamSeriesDownsamplingType) context.deserialize(json.get("series_type"), //$NON-NLS-1$
-				StravaStreamSeriesDownsamplingType.class));
-		stream.setType(streamType);
+		// The type decides which list the samples go in; the data may come before the type, so this is only done now
+		if (samples == null) {
+			samples = new Samples();
+		}
+		if (stream.getType() == StravaStreamType.MAPPOINT) {
+			stream.setMapPoints(samples.toMapPoints());
+		} else if (stream.getType() == StravaStreamType.MOVING) {
+			stream.setMoving(samples.toMoving());
+		} else {
+			stream.setData(samples.toData());
+		}
 		return stream;
 	}
 
 	/**
-	 * @see com.google.gson.JsonSerializer#serialize(java.lang.Object, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see com.google.gson.TypeAdapter#write(com.google.gson.stream.JsonWriter, java.lang.Object)
 	 */
 	@Override
-	public JsonElement serialize(final StravaStream stream, final Type type, final JsonSerializationContext context) {
-		final JsonObject element = new JsonObject();
-		element.add("original_size", context.serialize(stream.getOriginalSize())); //$NON-NLS-1$
-		element.add("resolution", context.serialize(stream.getResolution())); //$NON-NLS-1$
-		element.add("series_type", context.serialize(stream.getSeriesType())); //$NON-NLS-1$
-		element.add("type", context.serialize(stream.getType())); //$NON-NLS-1$
-		final JsonArray dataArray = new JsonArray();
-		element.add("data", dataArray); //$NON-NLS-1$
+	public void write(final JsonWriter writer, final StravaStream stream) throws IOException {
+		if (stream == null) {
+			writer.nullValue();
+			return;
+		}
+		writer.beginObject();
+		writer.name("original_size").value(stream.getOriginalSize()); //$NON-NLS-1$
+		writer.name("resolution").value(stream.getResolution() == null ? null : stream.getResolution().getValue()); //$NON-NLS-1$
+		writer.name("series_type").value(stream.getSeriesType() == null ? null : stream.getSeriesType().getValue()); //$NON-NLS-1$
+		writer.name("type").value(stream.getType() == null ? null : stream.getType().getValue()); //$NON-NLS-1$
+		writer.name("data").beginArray(); //$NON-NLS-1$
 		if (stream.getType() == StravaStreamType.MAPPOINT) {
-			for (final StravaMapPoint point : stream.getMapPoints()) {
-				dataArray.add(context.serialize(point));
-			}
+			writeMapPoints(writer, stream.getMapPoints());
 		} else if (stream.getType() == StravaStreamType.MOVING) {
-			for (final Boolean moving : stream.getMoving()) {
-				dataArray.add(context.serialize(moving));
-			}
+			writeMoving(writer, stream.getMoving());
 		} else {
-			for (final Number number : stream.getData()) {
-				dataArray.add(context.serialize(number));
+			writeData(writer, stream.getData());
+		}
+		writer.endArray();
+		writer.endObject();
+	}
+
+	/**
+	 * Read the <code>data</code> array, working out what sort of samples it holds from the first of them which isn't <code>null</code>
+	 *
+	 * @param reader
+	 *            Reader positioned at the start of the array
+	 * @return The samples
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	private static Samples readSamples(final JsonReader reader) throws IOException {
+		reader.beginArray();
+		final Samples samples = new Samples();
+		while (reader.hasNext()) {
+			final JsonToken token = reader.peek();
+			if (token == JsonToken.NULL) {
+				reader.nextNull();
+				samples.addNull();
+				continue;
+			}
+			samples.start(token);
+			if (samples.kind == JsonToken.BEGIN_ARRAY) {
+				reader.beginArray();
+				samples.addCoordinate(reader.nextDouble());
+				samples.addCoordinate(reader.nextDouble());
+				while (reader.hasNext()) {
+					reader.skipValue();
+				}
+				reader.endArray();
+				samples.size++;
+			} else if (samples.kind == JsonToken.BOOLEAN) {
+				samples.flags.set(samples.size++, reader.nextBoolean());
+			} else {
+				samples.addFloat(readFloat(reader, samples));
+				samples.size++;
+			}
+		}
+		reader.endArray();
+		return samples;
+	}
+
+	/**
+	 * <p>
+	 * Read a number without making a {@link String} of it if it's an integer, as most samples (heart rate, cadence, watts, time) are
+	 * </p>
+	 *
+	 * <p>
+	 * Integers are read with {@link JsonReader#nextLong()}, which is exact for those that fit in a float (below 2<sup>24</sup>) and otherwise rounds them
+	 * to the nearest float as {@link Float#parseFloat(String)} would. The first decimal in the array makes {@link JsonReader#nextLong()} throw, leaving the
+	 * number buffered, and from then on all the array's numbers are parsed from strings, so that costs one exception per array rather than per sample.
+	 * </p>
+	 *
+	 * @param reader
+	 *            Reader positioned at a number
+	 * @param samples
+	 *            The samples read so far
+	 * @return The number, rounded to a float in the same way as {@link Float#parseFloat(String)}
+	 * @throws IOException
+	 *             If the JSON can't be read
+	 */
+	private static float readFloat(final JsonReader reader, final Samples samples) throws IOException {
+		if (!samples.decimal) {
+			try {
+				return reader.nextLong();
+			} catch (final NumberFormatException e) {
+				samples.decimal = true;
+			}
+		}
+		return Float.parseFloat(reader.nextString());
+	}
+
+	/**
+	 * @param writer
+	 *            Writer positioned in the <code>data</code> array
+	 * @param data
+	 *            The samples, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be written
+	 */
+	private static void writeData(final JsonWriter writer, final List<Float> data) throws IOException {
+		if (data == null) {
+			return;
+		}
+		for (final Float number : data) {
+			if (number == null) {
+				writer.nullValue();
+			} else {
+				writer.value(number);
+			}
+		}
+	}
+
+	/**
+	 * @param writer
+	 *            Writer positioned in the <code>data</code> array
+	 * @param points
+	 *            The samples, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be written
+	 */
+	private static void writeMapPoints(final JsonWriter writer, final List<StravaMapPoint> points) throws IOException {
+		if (points == null) {
+			return;
+		}
+		if (points instanceof PrimitiveMapPointList) {
+			// Write the coordinates as precisely as they were read, rather than as the floats a StravaMapPoint holds
+			final PrimitiveMapPointList list = (PrimitiveMapPointList) points;
+			for (int i = 0; i < list.size(); i++) {
+				writer.beginArray();
+				writer.value(list.getLatitude(i));
+				writer.value(list.getLongitude(i));
+				writer.endArray();
 			}
+			return;
+		}
+		for (final StravaMapPoint point : points) {
+			writer.beginArray();
+			writer.value(point.getLatitude());
+			writer.value(point.getLongitude());
+			writer.endArray();
 		}
-		return element;
 	}
 
+	/**
+	 * @param writer
+	 *            Writer positioned in the <code>data</code> array
+	 * @param moving
+	 *            The samples, or <code>null</code>
+	 * @throws IOException
+	 *             If the JSON can't be written
+	 */
+	private static void writeMoving(final JsonWriter writer, final List<Boolean> moving) throws IOException {
+		if (moving == null) {
+			return;
+		}
+		for (final Boolean flag : moving) {
+			writer.value(flag);
+		}
+	}
+
+	/**
+	 * <p>
+	 * The samples of a <code>data</code> array as they are read
+	 * </p>
+	 */
+	private static class Samples {
+		/**
+		 * Token with which the first sample which isn't <code>null</code> starts: {@link JsonToken#BEGIN_ARRAY} for map points, {@link JsonToken#BOOLEAN}
+		 * for moving, {@link JsonToken#NULL} until there is such a sample, otherwise numbers
+		 */
+		private JsonToken kind = JsonToken.NULL;
+
+		/**
+		 * Set once a number which isn't an integer has been read, after which numbers are parsed from strings
+		 */
+		private boolean decimal;
+
+		/**
+		 * Numbers; only allocated if the samples aren't map points
+		 */
+		private float[] values;
+
+		/**
+		 * Number of floats in {@link #values}
+		 */
+		private int length;
+
+		/**
+		 * Latitude of each map point followed by its longitude; only allocated if the samples are map points
+		 */
+		private double[] coordinates;
+
+		/**
+		 * Number of doubles in {@link #coordinates}
+		 */
+		private int coordinateLength;
+
+		/**
+		 * Samples which are <code>true</code> if moving, otherwise numbers which are <code>null</code>
+		 */
+		private final BitSet flags = new BitSet();
+
+		/**
+		 * Number of samples
+		 */
+		private int size;
+
+		/**
+		 * Work out what sort of samples these are from the first which isn't <code>null</code>, converting any <code>null</code> samples before it
+		 *
+		 * @param token
+		 *            Token with which the sample starts
+		 */
+		void start(final JsonToken token) {
+			if (this.kind != JsonToken.NULL) {
+				return;
+			}
+			this.kind = token;
+			if (token == JsonToken.BEGIN_ARRAY) {
+				// Earlier nulls become points with NaN coordinates
+				for (int i = 0; i < this.size; i++) {
+					addCoordinate(Double.NaN);
+					addCoordinate(Double.NaN);
+				}
+				this.values = null;
+				this.length = 0;
+			} else if (token == JsonToken.BOOLEAN) {
+				// Earlier nulls become false
+				this.flags.clear();
+				this.values = null;
+				this.length = 0;
+			}
+		}
+
+		/**
+		 * Add a sample which is <code>null</code>: a number which is <code>null</code>, a map point with {@link Double#NaN} coordinates, or a moving flag
+		 * which is <code>false</code>
+		 */
+		void addNull() {
+			if (this.kind == JsonToken.BEGIN_ARRAY) {
+				addCoordinate(Double.NaN);
+				addCoordinate(Double.NaN);
+			} else if (this.kind != JsonToken.BOOLEAN) {
+				this.flags.set(this.size);
+				addFloat(Float.NaN);
+			}
+			this.size++;
+		}
+
+		/**
+		 * @param value
+		 *            Latitude or longitude to add to {@link #coordinates}
+		 */
+		void addCoordinate(final double value) {
+			if (this.coordinates == null) {
+				this.coordinates = new double[INITIAL_CAPACITY * 2];
+			} else if (this.coordinateLength == this.coordinates.length) {
+				this.coordinates = Arrays.copyOf(this.coordinates, this.coordinates.length * 2);
+			}
+			this.coordinates[this.coordinateLength++] = value;
+		}
+
+		/**
+		 * @param value
+		 *            Float to add to {@link #values}
+		 */
+		void addFloat(final float value) {
+			if (this.values == null) {
+				this.values = new float[INITIAL_CAPACITY];
+			} else if (this.length == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.values.length * 2);
+			}
+			this.values[this.length++] = value;
+		}
+
+		/**
+		 * @return The samples as numbers
+		 */
+		List<Float> toData() {
+			if (this.size == 0) {
+				return new PrimitiveFloatList(new float[0], null, 0);
+			}
+			check(this.kind != JsonToken.BEGIN_ARRAY && this.kind != JsonToken.BOOLEAN);
+			return new PrimitiveFloatList(Arrays.copyOf(this.values, this.length), this.flags, this.size);
+		}
+
+		/**
+		 * @return The samples as map points
+		 */
+		List<StravaMapPoint> toMapPoints() {
+			if (this.size == 0) {
+				return new PrimitiveMapPointList(new double[0], 0);
+			}
+			start(JsonToken.BEGIN_ARRAY);
+			check(this.kind == JsonToken.BEGIN_ARRAY);
+			return new PrimitiveMapPointList(Arrays.copyOf(this.coordinates, this.coordinateLength), this.size);
+		}
+
+		/**
+		 * @return The samples as moving flags
+		 */
+		List<Boolean> toMoving() {
+			if (this.size == 0) {
+				return new PrimitiveBooleanList(new BitSet(), 0);
+			}
+			start(JsonToken.BOOLEAN);
+			check(this.kind == JsonToken.BOOLEAN);
+			return new PrimitiveBooleanList(this.flags, this.size);
+		}
+
+		/**
+		 * @param matches
+		 *            <code>true</code> if the samples are of the sort the stream's type calls for
+		 */
+		private void check(final boolean matches) {
+			if (!matches) {
+				throw new JsonParseException(this.kind.toString());
+			}
+		}
+	}
 }
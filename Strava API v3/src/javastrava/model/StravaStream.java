@@ -1,11 +1,17 @@
 package javastrava.model;
 
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.BitSet;
 import java.util.List;
 
 import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
 import javastrava.model.reference.StravaStreamType;
+import javastrava.util.PrimitiveBooleanList;
+import javastrava.util.PrimitiveFloatList;
+import javastrava.util.PrimitiveMapPointList;
 
 /**
  * <p>
@@ -16,6 +22,11 @@ import javastrava.model.reference.StravaStreamType;
  * All streams for a given {@link StravaActivity activity} or {@link StravaSegmentEffort segment effort} will be the same length and the values at a given index correspond to the same time.
  * </p>
  *
+ * <p>
+ * Streams read from Strava hold their samples in primitive arrays rather than as boxed objects; {@link #getDataBuffer()}, {@link #getMapPointBuffer()} and
+ * {@link #getMovingBits()} read them in that form, and the list getters read them as before.
+ * </p>
+ *
  * @author Dan Shannon
  *
  */
@@ -118,6 +129,61 @@ public class StravaStream implements StravaEntity {
 		return this.data;
 	}
 
+	/**
+	 * <p>
+	 * The {@link #getData() data} as floats, with {@link Float#NaN} for samples which are <code>null</code>
+	 * </p>
+	 *
+	 * <p>
+	 * For a stream read from Strava the buffer is a read-only view of the samples rather than a copy of them; for data set as any other sort of list, it is a
+	 * copy.
+	 * </p>
+	 *
+	 * @return the data, or <code>null</code> if there is none
+	 */
+	public FloatBuffer getDataBuffer() {
+		if (this.data == null) {
+			return null;
+		}
+		if (this.data instanceof PrimitiveFloatList) {
+			return ((PrimitiveFloatList) this.data).asFloatBuffer();
+		}
+		final FloatBuffer buffer = FloatBuffer.allocate(this.data.size());
+		for (final Float value : this.data) {
+			buffer.put(value == null ? Float.NaN : value.floatValue());
+		}
+		buffer.flip();
+		return buffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * <p>
+	 * The {@link #getMapPoints() map points} as the latitude of each followed by its longitude
+	 * </p>
+	 *
+	 * <p>
+	 * For a stream read from Strava the buffer is a read-only view of the coordinates rather than a copy of them, and holds them as precisely as Strava sent
+	 * them; for map points set as any other sort of list, it is a copy.
+	 * </p>
+	 *
+	 * @return the coordinates, or <code>null</code> if there are none
+	 */
+	public DoubleBuffer getMapPointBuffer() {
+		if (this.mapPoints == null) {
+			return null;
+		}
+		if (this.mapPoints instanceof PrimitiveMapPointList) {
+			return ((PrimitiveMapPointList) this.mapPoints).asDoubleBuffer();
+		}
+		final DoubleBuffer buffer = DoubleBuffer.allocate(this.mapPoints.size() * 2);
+		for (final StravaMapPoint point : this.mapPoints) {
+			buffer.put(point.getLatitude().doubleValue());
+			buffer.put(point.getLongitude().doubleValue());
+		}
+		buffer.flip();
+		return buffer.asReadOnlyBuffer();
+	}
+
 	/**
 	 * @return the mapPoints
 	 */
@@ -126,12 +192,32 @@ public class StravaStream implements StravaEntity {
 	}
 
 	/**
+	 * A sample which Strava sends as <code>null</code> reads as <code>false</code>
+	 *
 	 * @return the moving
 	 */
 	public List<Boolean> getMoving() {
 		return this.moving;
 	}
 
+	/**
+	 * @return A copy of the {@link #getMoving() moving} samples, with the bit set for each sample at which the athlete was moving, or <code>null</code> if
+	 *         there are none
+	 */
+	public BitSet getMovingBits() {
+		if (this.moving == null) {
+			return null;
+		}
+		if (this.moving instanceof PrimitiveBooleanList) {
+			return ((PrimitiveBooleanList) this.moving).toBitSet();
+		}
+		final BitSet bits = new BitSet(this.moving.size());
+		for (int i = 0; i < this.moving.size(); i++) {
+			bits.set(i, Boolean.TRUE.equals(this.moving.get(i)));
+		}
+		return bits;
+	}
+
 	/**
 	 * @return the originalSize
 	 */
@@ -0,0 +1,285 @@
+package javastrava.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javastrava.config.Messages;
+import javastrava.model.reference.StravaStreamType;
+
+/**
+ * <p>
+ * All the streams of an {@link StravaActivity activity} (or {@link StravaSegmentEffort effort}) side by side, keyed by {@link StravaStreamType type}, so
+ * that the samples at a given index of every stream belong to the same moment
+ * </p>
+ *
+ * <p>
+ * A frame can be cut down to a range of indexes, of time or of distance, or to a {@link StravaLap lap} or {@link StravaSegmentEffort effort}. The frame
+ * that results is a view: its streams share the samples of the original rather than copying them, so slicing is as cheap for a stream of a whole day as for
+ * a short one, and a sample {@link java.util.List#set(int, Object) set} through one frame is seen through the other.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaStreamFrame {
+	/**
+	 * The streams, keyed by type
+	 */
+	private final Map<StravaStreamType, StravaStream> streams;
+
+	/**
+	 * Number of samples in each stream
+	 */
+	private final int size;
+
+	/**
+	 * @param streams
+	 *            The streams, as returned by {@link javastrava.service.StreamService}; streams of an unknown type are left out
+	 * @throws IllegalArgumentException
+	 *             If the streams aren't all the same length, or two are of the same type
+	 */
+	public StravaStreamFrame(final List<StravaStream> streams) {
+		this.streams = new EnumMap<StravaStreamType, StravaStream>(StravaStreamType.class);
+		int frameSize = -1;
+		for (final StravaStream stream : streams) {
+			if ((stream.getType() == null) || (stream.getType() == StravaStreamType.UNKNOWN)) {
+				continue;
+			}
+			if (this.streams.containsKey(stream.getType())) {
+				throw new IllegalArgumentException(String.format(Messages.string("StravaStreamFrame.duplicateStream"), stream.getType())); //$NON-NLS-1$
+			}
+			final int streamSize = sizeOf(stream);
+			if ((frameSize >= 0) && (streamSize != frameSize)) {
+				throw new IllegalArgumentException(String.format(Messages.string("StravaStreamFrame.misalignedStream"), stream.getType(), //$NON-NLS-1$
+						Integer.valueOf(streamSize), Integer.valueOf(frameSize)));
+			}
+			frameSize = streamSize;
+			this.streams.put(stream.getType(), stream);
+		}
+		this.size = Math.max(frameSize, 0);
+	}
+
+	/**
+	 * @param streams
+	 *            The streams of the view
+	 * @param size
+	 *            Number of samples in each of them
+	 */
+	private StravaStreamFrame(final Map<StravaStreamType, StravaStream> streams, final int size) {
+		this.streams = streams;
+		this.size = size;
+	}
+
+	/**
+	 * @param stream
+	 *            A stream
+	 * @return Number of samples in it
+	 */
+	private static int sizeOf(final StravaStream stream) {
+		if (stream.getData() != null) {
+			return stream.getData().size();
+		}
+		if (stream.getMapPoints() != null) {
+			return stream.getMapPoints().size();
+		}
+		if (stream.getMoving() != null) {
+			return stream.getMoving().size();
+		}
+		return 0;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof StravaStreamFrame)) {
+			return false;
+		}
+		final StravaStreamFrame other = (StravaStreamFrame) obj;
+		return (this.size == other.size) && this.streams.equals(other.streams);
+	}
+
+	/**
+	 * @param type
+	 *            Type of stream
+	 * @return The stream of that type, or <code>null</code> if the frame doesn't have one
+	 */
+	public StravaStream getStream(final StravaStreamType type) {
+		return this.streams.get(type);
+	}
+
+	/**
+	 * @return The types of the streams in the frame
+	 */
+	public Set<StravaStreamType> getTypes() {
+		return Collections.unmodifiableSet(this.streams.keySet());
+	}
+
+	/**
+	 * @param type
+	 *            Type of stream
+	 * @return <code>true</code> if the frame has a stream of that type
+	 */
+	public boolean hasStream(final StravaStreamType type) {
+		return this.streams.containsKey(type);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + this.size;
+		result = (prime * result) + this.streams.hashCode();
+		return result;
+	}
+
+	/**
+	 * @return Number of samples in each stream
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param fromIndex
+	 *            Index of the first sample to include
+	 * @param toIndex
+	 *            Index after the last sample to include
+	 * @return A view of the samples from <code>fromIndex</code> up to but not including <code>toIndex</code>
+	 * @throws IndexOutOfBoundsException
+	 *             If the range isn't within the frame
+	 */
+	public StravaStreamFrame slice(final int fromIndex, final int toIndex) {
+		if ((fromIndex < 0) || (toIndex > this.size) || (fromIndex > toIndex)) {
+			throw new IndexOutOfBoundsException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		final Map<StravaStreamType, StravaStream> views = new EnumMap<StravaStreamType, StravaStream>(StravaStreamType.class);
+		for (final StravaStream stream : this.streams.values()) {
+			final StravaStream view = new StravaStream();
+			view.setType(stream.getType());
+			view.setSeriesType(stream.getSeriesType());
+			view.setOriginalSize(stream.getOriginalSize());
+			view.setResolution(stream.getResolution());
+			view.setData(stream.getData() == null ? null : stream.getData().subList(fromIndex, toIndex));
+			view.setMapPoints(stream.getMapPoints() == null ? null : stream.getMapPoints().subList(fromIndex, toIndex));
+			view.setMoving(stream.getMoving() == null ? null : stream.getMoving().subList(fromIndex, toIndex));
+			views.put(stream.getType(), view);
+		}
+		return new StravaStreamFrame(views, toIndex - fromIndex);
+	}
+
+	/**
+	 * <p>
+	 * The samples of a lap, which only match the frame's indexes if the frame holds the activity's streams at full resolution
+	 * </p>
+	 *
+	 * @param lap
+	 *            The lap
+	 * @return A view of the samples from the lap's start index to its end index, inclusive
+	 * @throws IndexOutOfBoundsException
+	 *             If the lap isn't within the frame
+	 */
+	public StravaStreamFrame slice(final StravaLap lap) {
+		return slice(lap.getStartIndex().intValue(), lap.getEndIndex().intValue() + 1);
+	}
+
+	/**
+	 * <p>
+	 * The samples of a segment effort, which only match the frame's indexes if the frame holds the activity's streams at full resolution
+	 * </p>
+	 *
+	 * @param effort
+	 *            The effort
+	 * @return A view of the samples from the effort's start index to its end index, inclusive
+	 * @throws IndexOutOfBoundsException
+	 *             If the effort isn't within the frame
+	 */
+	public StravaStreamFrame slice(final StravaSegmentEffort effort) {
+		return slice(effort.getStartIndex().intValue(), effort.getEndIndex().intValue() + 1);
+	}
+
+	/**
+	 * @param from
+	 *            Distance in metres of the first sample to include
+	 * @param to
+	 *            Distance in metres before which samples are included
+	 * @return A view of the samples whose distance is at least <code>from</code> and less than <code>to</code>
+	 * @throws IllegalStateException
+	 *             If the frame has no {@link StravaStreamType#DISTANCE} stream
+	 */
+	public StravaStreamFrame sliceByDistance(final float from, final float to) {
+		return sliceByValue(StravaStreamType.DISTANCE, from, to);
+	}
+
+	/**
+	 * @param from
+	 *            Time in seconds of the first sample to include
+	 * @param to
+	 *            Time in seconds before which samples are included
+	 * @return A view of the samples whose time is at least <code>from</code> and less than <code>to</code>
+	 * @throws IllegalStateException
+	 *             If the frame has no {@link StravaStreamType#TIME} stream
+	 */
+	public StravaStreamFrame sliceByTime(final float from, final float to) {
+		return sliceByValue(StravaStreamType.TIME, from, to);
+	}
+
+	/**
+	 * @param type
+	 *            Type of a stream whose values never decrease
+	 * @param from
+	 *            Value of the first sample to include
+	 * @param to
+	 *            Value before which samples are included
+	 * @return A view of the samples whose value in the stream is at least <code>from</code> and less than <code>to</code>
+	 */
+	private StravaStreamFrame sliceByValue(final StravaStreamType type, final float from, final float to) {
+		final StravaStream stream = this.streams.get(type);
+		if ((stream == null) || (stream.getData() == null)) {
+			throw new IllegalStateException(String.format(Messages.string("StravaStreamFrame.noStream"), type)); //$NON-NLS-1$
+		}
+		final List<Float> values = stream.getData();
+		final int fromIndex = firstIndexNotBelow(values, from);
+		return slice(fromIndex, Math.max(fromIndex, firstIndexNotBelow(values, to)));
+	}
+
+	/**
+	 * @param values
+	 *            Values which never decrease
+	 * @param value
+	 *            Value to look for
+	 * @return Index of the first value which isn't less than <code>value</code>, or the number of values if they are all less
+	 */
+	private static int firstIndexNotBelow(final List<Float> values, final float value) {
+		int low = 0;
+		int high = values.size();
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			final Float sample = values.get(middle);
+			if ((sample != null) && (sample.floatValue() < value)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "StravaStreamFrame [size=" + this.size + ", types=" + this.streams.keySet() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
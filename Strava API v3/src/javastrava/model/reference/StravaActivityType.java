@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ActivityTypeSerializer;
 
 /**
  * <p>
@@ -212,8 +211,6 @@ public enum StravaActivityType implements StravaReferenceType<String> {
 	 *            the Strava API
 	 * @return The {@link StravaActivityType} with the matching id, or
 	 *         {@link StravaActivityType#UNKNOWN} if there is no match
-	 * @see ActivityTypeSerializer#deserialize(com.google.gson.JsonElement,
-	 *      java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaActivityType create(final String id) {
 		for (final StravaActivityType type : StravaActivityType.values()) {
@@ -257,8 +254,7 @@ public enum StravaActivityType implements StravaReferenceType<String> {
 
 	/**
 	 * @return the id
-	 * @see ActivityTypeSerializer#serialize(StravaActivityType,
-	 *      java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getId() {
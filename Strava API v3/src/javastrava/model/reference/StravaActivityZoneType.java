@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ActivityZoneTypeSerializer;
 import javastrava.service.ActivityService;
 
 /**
@@ -82,7 +81,7 @@ public enum StravaActivityZoneType implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaActivityZoneType}
-	 * @see ActivityZoneTypeSerializer#serialize(StravaActivityZoneType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
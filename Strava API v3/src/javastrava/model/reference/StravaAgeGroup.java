@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.AgeGroupSerializer;
 import javastrava.model.StravaSegmentLeaderboard;
 
 /**
@@ -98,7 +97,7 @@ public enum StravaAgeGroup implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of the {@link StravaAgeGroup} to be used in JSON
-	 * @see AgeGroupSerializer#serialize(StravaAgeGroup, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
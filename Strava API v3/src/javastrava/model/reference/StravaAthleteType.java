@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.AthleteTypeSerializer;
 
 /**
  * <p>
@@ -30,7 +29,6 @@ public enum StravaAthleteType implements StravaReferenceType<Integer> {
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaAthleteType} as returned by the Strava API
 	 * @return The matching {@link StravaAthleteType}, or {@link StravaAthleteType#UNKNOWN} if there is no match
-	 * @see AthleteTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaAthleteType create(final Integer id) {
 		final StravaAthleteType[] categories = StravaAthleteType.values();
@@ -79,7 +77,7 @@ public enum StravaAthleteType implements StravaReferenceType<Integer> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The integer value to be used with the Strava API
-	 * @see AthleteTypeSerializer#serialize(StravaAthleteType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
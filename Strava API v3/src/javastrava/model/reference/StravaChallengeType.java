@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ActivityTypeSerializer;
 
 /**
  * <p>
@@ -37,7 +36,6 @@ public enum StravaChallengeType implements StravaReferenceType<String> {
 	 * @param string
 	 *            The string representation of the activity type as returned by the Strava API
 	 * @return The {@link StravaChallengeType} with the matching id, or {@link StravaChallengeType#UNKNOWN} if there is no match
-	 * @see ActivityTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaChallengeType create(final String string) {
 		for (final StravaChallengeType type : StravaChallengeType.values()) {
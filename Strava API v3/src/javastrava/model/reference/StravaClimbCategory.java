@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ClimbCategorySerializer;
 import javastrava.model.StravaSegment;
 
 /**
@@ -49,7 +48,6 @@ public enum StravaClimbCategory implements StravaReferenceType<Integer> {
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaClimbCategory} as returned by the Strava API
 	 * @return The matching {@link StravaClimbCategory}, or {@link StravaClimbCategory#UNKNOWN} if there is no match
-	 * @see ClimbCategorySerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaClimbCategory create(final Integer id) {
 		final StravaClimbCategory[] categories = StravaClimbCategory.values();
@@ -99,7 +97,7 @@ public enum StravaClimbCategory implements StravaReferenceType<Integer> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The integer value to be used with the Strava API
-	 * @see ClimbCategorySerializer#serialize(StravaClimbCategory, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
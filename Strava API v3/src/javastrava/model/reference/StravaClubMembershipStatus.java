@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ClubMembershipStatusSerializer;
 
 /**
  * Club membership status of an athlete - member, pending
@@ -32,8 +31,6 @@ public enum StravaClubMembershipStatus implements StravaReferenceType<String> {
 	 *            the Strava API
 	 * @return The {@link StravaClubMembershipStatus} with the matching id, or
 	 *         {@link StravaClubMembershipStatus#UNKNOWN} if there is no match
-	 * @see ClubMembershipStatusSerializer#deserialize(com.google.gson.JsonElement,
-	 *      java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaClubMembershipStatus create(final String id) {
 		for (final StravaClubMembershipStatus status : StravaClubMembershipStatus.values()) {
@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ClubTypeSerializer;
 
 /**
  * <p>
@@ -93,7 +92,7 @@ public enum StravaClubType implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaClubType} to be used with the Strava API
-	 * @see ClubTypeSerializer#serialize(StravaClubType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
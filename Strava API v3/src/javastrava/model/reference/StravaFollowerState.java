@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.FollowerStateSerializer;
 
 /**
  * <p>
@@ -85,7 +84,7 @@ public enum StravaFollowerState implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaFollowerState} to be used with the Strava API
-	 * @see FollowerStateSerializer#serialize(StravaFollowerState, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
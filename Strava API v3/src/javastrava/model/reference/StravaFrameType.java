@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.FrameTypeSerializer;
 
 /**
  * <p>
@@ -89,7 +88,7 @@ public enum StravaFrameType implements StravaReferenceType<Integer> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The integer representation of this {@link StravaFrameType} to be used with the Strava API
-	 * @see FrameTypeSerializer#serialize(StravaFrameType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
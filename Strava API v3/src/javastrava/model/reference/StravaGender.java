@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.GenderSerializer;
 
 /**
  * <p>
@@ -81,7 +80,7 @@ public enum StravaGender implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaGender} to be used with the Strava API
-	 * @see GenderSerializer#serialize(StravaGender, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.LeaderboardDateRangeSerializer;
 import javastrava.model.StravaSegmentLeaderboard;
 
 /**
@@ -89,7 +88,7 @@ public enum StravaLeaderboardDateRange implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaLeaderboardDateRange} to be used with the Strava API
-	 * @see LeaderboardDateRangeSerializer#serialize(StravaLeaderboardDateRange, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
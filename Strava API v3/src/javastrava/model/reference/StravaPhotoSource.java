@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ClimbCategorySerializer;
 
 /**
  * <p>Identifies the source of a photo which has been attached to an activity</p>
@@ -27,7 +26,6 @@ public enum StravaPhotoSource implements StravaReferenceType<Integer>{
 	 * Used by JSON deserialisation
 	 * @param id The integer representation of the {@link StravaClimbCategory} as returned by the Strava API
 	 * @return The matching {@link StravaClimbCategory}, or {@link StravaClimbCategory#UNKNOWN} if there is no match
-	 * @see ClimbCategorySerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaPhotoSource create(final Integer id) {
 		final StravaPhotoSource[] sources = StravaPhotoSource.values();
@@ -77,7 +75,7 @@ public enum StravaPhotoSource implements StravaReferenceType<Integer>{
 	/**
 	 * Used by JSON serialisation
 	 * @return The integer value to be used with the Strava API
-	 * @see ClimbCategorySerializer#serialize(StravaClimbCategory, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
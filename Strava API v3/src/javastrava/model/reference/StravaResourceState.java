@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ResourceStateSerializer;
 
 /**
  * <p>
@@ -106,7 +105,7 @@ public enum StravaResourceState implements StravaReferenceType<Integer> {
 	 * Used by JSON serialisation
 	 *
 	 * @return The integer representation of this {@link StravaResourceState} to be used with the Strava API
-	 * @see ResourceStateSerializer#serialize(StravaResourceState, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
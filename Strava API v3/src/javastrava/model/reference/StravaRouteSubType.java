@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ActivityTypeSerializer;
 
 /**
  * Strava Route sub-types
@@ -40,8 +39,6 @@ public enum StravaRouteSubType implements StravaReferenceType<Integer> {
 	 * @param id
 	 *            The string representation of the activity type as returned by the Strava API
 	 * @return The {@link StravaRouteSubType} with the matching id, or {@link StravaRouteSubType#UNKNOWN} if there is no match
-	 * @see ActivityTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type,
-	 *      com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRouteSubType create(final Integer id) {
 		for (final StravaRouteSubType type : StravaRouteSubType.values()) {
@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.ActivityTypeSerializer;
 
 /**
  * Type of Strava Route
@@ -28,8 +27,6 @@ public enum StravaRouteType implements StravaReferenceType<Integer> {
 	 * @param id
 	 *            The string representation of the activity type as returned by the Strava API
 	 * @return The {@link StravaRouteType} with the matching id, or {@link StravaRouteType#UNKNOWN} if there is no match
-	 * @see ActivityTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type,
-	 *      com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRouteType create(final Integer id) {
 		for (final StravaRouteType type : StravaRouteType.values()) {
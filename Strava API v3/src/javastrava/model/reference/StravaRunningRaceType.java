@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.AthleteTypeSerializer;
 import javastrava.model.StravaRunningRace;
 
 /**
@@ -41,7 +40,6 @@ public enum StravaRunningRaceType implements StravaReferenceType<Integer> {
 	 * @param id
 	 *            The integer representation of the {@link StravaAthleteType} as returned by the Strava API
 	 * @return The matching {@link StravaAthleteType}, or {@link StravaAthleteType#UNKNOWN} if there is no match
-	 * @see AthleteTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaRunningRaceType create(final Integer id) {
 		final StravaRunningRaceType[] categories = StravaRunningRaceType.values();
@@ -96,7 +94,7 @@ public enum StravaRunningRaceType implements StravaReferenceType<Integer> {
 	 * Used by JSON serialisation
 	 *
 	 * @return The integer value to be used with the Strava API
-	 * @see AthleteTypeSerializer#serialize(StravaAthleteType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
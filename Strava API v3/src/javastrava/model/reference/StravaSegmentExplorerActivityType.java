@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.SegmentExplorerActivityTypeSerializer;
 import javastrava.model.StravaMapPoint;
 import javastrava.service.SegmentService;
 
@@ -90,7 +89,7 @@ public enum StravaSegmentExplorerActivityType implements StravaReferenceType<Str
 	 * Used by JSON serialisation
 	 * 
 	 * @return The string representation of this {@link StravaSegmentExplorerActivityType} to be used with the Strava API
-	 * @see SegmentExplorerActivityTypeSerializer#serialize(StravaSegmentExplorerActivityType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
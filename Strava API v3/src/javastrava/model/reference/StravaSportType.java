@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.SportTypeSerializer;
 import javastrava.model.StravaClub;
 
 /**
@@ -41,7 +40,6 @@ public enum StravaSportType implements StravaReferenceType<String> {
 	 * Used by JSON deserialisation
 	 * @param id The string representation of a {@link StravaSportType} as returned by the Strava API
 	 * @return The matching {@link StravaSportType}, or {@link StravaSportType#UNKNOWN} if there is no match
-	 * @see SportTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaSportType create(final String id) {
 		final StravaSportType[] sportTypes = StravaSportType.values();
@@ -91,7 +89,7 @@ public enum StravaSportType implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaSportType} to be used with the Strava API
-	 * @see SportTypeSerializer#serialize(StravaSportType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
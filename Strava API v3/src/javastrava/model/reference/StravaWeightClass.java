@@ -5,7 +5,6 @@ import java.util.List;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.WeightClassSerializer;
 import javastrava.model.StravaSegmentLeaderboard;
 
 /**
@@ -156,7 +155,7 @@ public enum StravaWeightClass implements StravaReferenceType<String> {
 	/**
 	 * Used by JSON serialisation
 	 * @return The string representation of this {@link StravaWeightClass} to be used with the Strava API
-	 * @see WeightClassSerializer#serialize(StravaWeightClass, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public String getValue() {
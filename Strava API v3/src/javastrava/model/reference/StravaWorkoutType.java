@@ -2,7 +2,6 @@ package javastrava.model.reference;
 
 import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
-import javastrava.json.impl.serializer.WorkoutTypeSerializer;
 import javastrava.model.StravaActivity;
 
 /**
@@ -55,7 +54,6 @@ public enum StravaWorkoutType implements StravaReferenceType<Integer> {
 	 * @param id
 	 *            The integer representation of a {@link StravaWorkoutType} as returned by the Strava API
 	 * @return The matching {@link StravaWorkoutType}, or {@link StravaWorkoutType#UNKNOWN} if there is no match
-	 * @see WorkoutTypeSerializer#deserialize(com.google.gson.JsonElement, java.lang.reflect.Type, com.google.gson.JsonDeserializationContext)
 	 */
 	public static StravaWorkoutType create(final Integer id) {
 		final StravaWorkoutType[] workoutTypes = StravaWorkoutType.values();
@@ -110,7 +108,7 @@ public enum StravaWorkoutType implements StravaReferenceType<Integer> {
 	 * Used by JSON serialisation
 	 * 
 	 * @return The integer representation of this {@link StravaWorkoutType} to be used with the Strava API
-	 * @see WorkoutTypeSerializer#serialize(StravaWorkoutType, java.lang.reflect.Type, com.google.gson.JsonSerializationContext)
+	 * @see javastrava.json.impl.serializer.StravaReferenceTypeAdapterFactory
 	 */
 	@Override
 	public Integer getValue() {
@@ -1,8 +1,11 @@
 package javastrava.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaActivityUpdate;
@@ -13,7 +16,9 @@ import javastrava.model.StravaLap;
 import javastrava.model.StravaPhoto;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.RawJsonResult;
 
 /**
  * StravaActivity related services
@@ -399,6 +404,37 @@ public interface ActivityService extends StravaService {
 	 */
 	public StravaActivity getActivity(final Long activityId, final Boolean includeAllEfforts);
 
+	/**
+	 * <p>
+	 * Copy the JSON of an activity, exactly as Strava returns it, to the output stream without reading it into a {@link StravaActivity}, so that passing it on (to the
+	 * client of a proxy, or to an archive) costs no parsing or serialisation. Nothing is read from or put in the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * The body is copied as it arrives from Strava, so the whole activity is never held in memory. If asked to validate, the JSON is checked as it is copied, so
+	 * when it turns out to be malformed the bytes before the fault have already been written to the output stream; a caller which can't pass on part of a
+	 * document should copy to a buffer first.
+	 * </p>
+	 *
+	 * @param activityId
+	 *            The id of the {@link StravaActivity activity} to be returned
+	 * @param includeAllEfforts
+	 *            (Optional) Used to include all segment efforts in the result (if omitted or <code>false</code> then only "important" efforts are returned).
+	 * @param out
+	 *            Stream to copy the JSON to, which is not flushed or closed
+	 * @param validate
+	 *            <code>true</code> to check that the JSON is well-formed as it is copied (see {@link javastrava.util.RawJsonUtils#copy(java.io.InputStream, OutputStream, boolean)})
+	 * @return The number of bytes copied, or that nothing was copied because the activity does not exist or is private and the authenticated athlete isn't
+	 *         allowed to see it
+	 * @throws IOException
+	 *             If the response can't be read or the output stream can't be written
+	 * @throws javastrava.service.exception.UnauthorizedException
+	 *             If the token is not valid (e.g. it has been revoked)
+	 * @throws javastrava.service.exception.StravaUnknownAPIException
+	 *             If asked to validate, and the JSON is not well-formed
+	 */
+	public RawJsonResult getActivityRaw(final Long activityId, final Boolean includeAllEfforts, final OutputStream out, final boolean validate) throws IOException;
+
 	/**
 	 * <p>
 	 * StravaActivity details, including segment efforts, splits and best efforts, are only available to the owner of the activity.
@@ -1310,6 +1346,78 @@ public interface ActivityService extends StravaService {
 	 */
 	public CompletableFuture<List<StravaActivity>> listAllAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after);
 
+	/**
+	 * <p>
+	 * Publishes ALL the {@link StravaActivity activities} for the authenticated {@link StravaAthlete} one at a time, getting each page of activities from the
+	 * Strava API only when the subscriber asks for activities which are not already on hand. No more pages are requested once the subscriber cancels.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/athlete/activities
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/activities/">http://strava.github.io/api/v3/activities/</a>
+	 *
+	 * @return Publisher of {@link StravaActivity} summary representations sorted newest first by default.
+	 */
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities();
+
+	/**
+	 * <p>
+	 * Publishes ALL the {@link StravaActivity activities} for the authenticated {@link StravaAthlete} one at a time, getting each page of activities from the
+	 * Strava API only when the subscriber asks for activities which are not already on hand. No more pages are requested once the subscriber cancels.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/athlete/activities
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/activities/">http://strava.github.io/api/v3/activities/</a>
+	 *
+	 * @param before
+	 *            Return only rides started BEFORE this date/time
+	 * @param after
+	 *            Return only rides started AFTER this data/time
+	 * @return Publisher of {@link StravaActivity} summary representations sorted newest first by default.
+	 */
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after);
+
+	/**
+	 * <p>
+	 * Streams ALL the {@link StravaActivity activities} for the authenticated {@link StravaAthlete}, getting each page of activities from the Strava API
+	 * only when the stream reaches it. A short-circuiting operation such as {@link Stream#limit(long)} stops further pages being requested.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/athlete/activities
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/activities/">http://strava.github.io/api/v3/activities/</a>
+	 *
+	 * @return Stream of {@link StravaActivity} summary representations sorted newest first by default.
+	 */
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities();
+
+	/**
+	 * <p>
+	 * Streams ALL the {@link StravaActivity activities} for the authenticated {@link StravaAthlete}, getting each page of activities from the Strava API
+	 * only when the stream reaches it. A short-circuiting operation such as {@link Stream#limit(long)} stops further pages being requested.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/athlete/activities
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/activities/">http://strava.github.io/api/v3/activities/</a>
+	 *
+	 * @param before
+	 *            Return only rides started BEFORE this date/time
+	 * @param after
+	 *            Return only rides started AFTER this data/time
+	 * @return Stream of {@link StravaActivity} summary representations sorted newest first by default.
+	 */
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after);
+
 	/**
 	 * <p>
 	 * List the recent activities performed by those the current authenticated {@link StravaAthlete} is following.
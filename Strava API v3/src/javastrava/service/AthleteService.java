@@ -1,5 +1,7 @@
 package javastrava.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -10,6 +12,7 @@ import javastrava.model.StravaStatistics;
 import javastrava.model.reference.StravaGender;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.util.Paging;
+import javastrava.util.RawJsonResult;
 
 /**
  * StravaAthlete related services
@@ -40,6 +43,35 @@ public interface AthleteService extends StravaService {
 	 */
 	public StravaAthlete getAthlete(final Integer athleteId);
 
+	/**
+	 * <p>
+	 * Copy the JSON of an athlete, exactly as Strava returns it, to the output stream without reading it into a {@link StravaAthlete}, so that passing it on (to the
+	 * client of a proxy, or to an archive) costs no parsing or serialisation. Nothing is read from or put in the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * The body is copied as it arrives from Strava, so the whole athlete is never held in memory. If asked to validate, the JSON is checked as it is copied, so
+	 * when it turns out to be malformed the bytes before the fault have already been written to the output stream; a caller which can't pass on part of a
+	 * document should copy to a buffer first.
+	 * </p>
+	 *
+	 * @param athleteId
+	 *            The id of the {@link StravaAthlete athlete} to be returned
+	 * @param out
+	 *            Stream to copy the JSON to, which is not flushed or closed
+	 * @param validate
+	 *            <code>true</code> to check that the JSON is well-formed as it is copied (see {@link javastrava.util.RawJsonUtils#copy(java.io.InputStream, OutputStream, boolean)})
+	 * @return The number of bytes copied, or that nothing was copied because the athlete does not exist or is private and the authenticated athlete isn't
+	 *         allowed to see it
+	 * @throws IOException
+	 *             If the response can't be read or the output stream can't be written
+	 * @throws javastrava.service.exception.UnauthorizedException
+	 *             If the token is not valid (e.g. it has been revoked)
+	 * @throws javastrava.service.exception.StravaUnknownAPIException
+	 *             If asked to validate, and the JSON is not well-formed
+	 */
+	public RawJsonResult getAthleteRaw(final Integer athleteId, final OutputStream out, final boolean validate) throws IOException;
+
 	/**
 	 * <p>
 	 * This request is used to retrieve information about any {@link StravaAthlete athlete} on Strava.
@@ -2,6 +2,7 @@ package javastrava.service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaAthlete;
@@ -10,7 +11,9 @@ import javastrava.model.StravaClubAnnouncement;
 import javastrava.model.StravaClubEvent;
 import javastrava.model.StravaClubMembershipResponse;
 import javastrava.model.reference.StravaResourceState;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.PagingCheckpoint;
 
 /**
  * <p>
@@ -237,6 +240,87 @@ public interface ClubService extends StravaService {
 	 */
 	public CompletableFuture<List<StravaAthlete>> listAllClubMembersAsync(final Integer clubId);
 
+	/**
+	 * <p>
+	 * Publishes ALL of the members of a club one at a time, getting each page of members from the Strava API only when the subscriber asks for members who
+	 * are not already on hand. No more pages are requested once the subscriber cancels.
+	 * </p>
+	 *
+	 * <p>
+	 * The subscriber receives a {@link javastrava.service.exception.NotFoundException} if the club with the given id does not exist, and no members if the
+	 * club is private
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/clubs/:id/members
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/clubs/#get-members">http://strava.github.io/api/v3/clubs/#get-members</a>
+	 *
+	 * @param clubId
+	 *            The id of the {@link StravaClub} whose member {@link StravaAthlete athletes} should be published
+	 * @return Publisher of {@link StravaAthlete athlete} summary {@link StravaResourceState representations}.
+	 */
+	public Flow.Publisher<StravaAthlete> publishAllClubMembers(final Integer clubId);
+
+	/**
+	 * <p>
+	 * Streams ALL of the members of a club, getting each page of members from the Strava API only when the stream reaches it. A short-circuiting operation
+	 * such as {@link Stream#limit(long)} stops further pages being requested.
+	 * </p>
+	 *
+	 * <p>
+	 * Reading the stream throws a {@link javastrava.service.exception.NotFoundException} if the club with the given id does not exist; the stream is empty if
+	 * the club is private
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/clubs/:id/members
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/clubs/#get-members">http://strava.github.io/api/v3/clubs/#get-members</a>
+	 *
+	 * @param clubId
+	 *            The id of the {@link StravaClub} whose member {@link StravaAthlete athletes} should be streamed
+	 * @return Stream of {@link StravaAthlete athlete} summary {@link StravaResourceState representations}.
+	 */
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId);
+
+	/**
+	 * <p>
+	 * Crawls ALL of the members of a club into a checkpoint (such as a {@link javastrava.util.FilePagingCheckpoint}), handing over each page of members as
+	 * soon as it and all the pages before it have been got from the Strava API. Intended for clubs too large to list in one go.
+	 * </p>
+	 *
+	 * <p>
+	 * Progress survives in the checkpoint: if the crawl is interrupted, by a failure (which is thrown, rather than hidden as listAll does), reaching the rate
+	 * limit or the process stopping, calling this again with the same checkpoint carries on from the page after the last one it holds, without getting the
+	 * pages before it from Strava again. A checkpoint which is already complete makes no calls at all.
+	 * </p>
+	 *
+	 * <p>
+	 * Pages are got by position in the member list as it stands when each page is requested, so if members join or leave between one run and the next, the
+	 * positions shift and a resumed crawl may hold some members twice, or miss some. If that matters, remove duplicates by id, or start a new crawl with an
+	 * empty checkpoint.
+	 * </p>
+	 *
+	 * <p>
+	 * Throws a {@link javastrava.service.exception.NotFoundException} if the club with the given id does not exist
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/clubs/:id/members
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/clubs/#get-members">http://strava.github.io/api/v3/clubs/#get-members</a>
+	 *
+	 * @param clubId
+	 *            The id of the {@link StravaClub} whose member {@link StravaAthlete athletes} should be crawled
+	 * @param checkpoint
+	 *            Where the {@link StravaAthlete athlete} summary {@link StravaResourceState representations} are kept and progress is recorded
+	 */
+	public void crawlAllClubMembers(final Integer clubId, final PagingCheckpoint<StravaAthlete> checkpoint);
+
 	/**
 	 * <p>
 	 * Retrieve ALL the recent {@link StravaActivity activities} performed by member {@link StravaAthlete athletes} of a specific {@link StravaClub club}.
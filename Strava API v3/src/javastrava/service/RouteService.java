@@ -1,10 +1,13 @@
 package javastrava.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import javastrava.auth.ref.AuthorisationScope;
 import javastrava.model.StravaRoute;
+import javastrava.util.RawJsonResult;
 import retrofit.http.Path;
 
 /**
@@ -30,6 +33,35 @@ public interface RouteService extends StravaService {
 	 */
 	public StravaRoute getRoute(@Path("id") Integer routeId);
 
+	/**
+	 * <p>
+	 * Copy the JSON of a route, exactly as Strava returns it, to the output stream without reading it into a {@link StravaRoute}, so that passing it on (to the
+	 * client of a proxy, or to an archive) costs no parsing or serialisation. Nothing is read from or put in the cache.
+	 * </p>
+	 *
+	 * <p>
+	 * The body is copied as it arrives from Strava, so the whole route is never held in memory. If asked to validate, the JSON is checked as it is copied, so
+	 * when it turns out to be malformed the bytes before the fault have already been written to the output stream; a caller which can't pass on part of a
+	 * document should copy to a buffer first.
+	 * </p>
+	 *
+	 * @param routeId
+	 *            The identifier of the route to retrieve
+	 * @param out
+	 *            Stream to copy the JSON to, which is not flushed or closed
+	 * @param validate
+	 *            <code>true</code> to check that the JSON is well-formed as it is copied (see {@link javastrava.util.RawJsonUtils#copy(java.io.InputStream, OutputStream, boolean)})
+	 * @return The number of bytes copied, or that nothing was copied because the route does not exist or is private and the authenticated athlete isn't
+	 *         allowed to see it
+	 * @throws IOException
+	 *             If the response can't be read or the output stream can't be written
+	 * @throws javastrava.service.exception.UnauthorizedException
+	 *             If the token is not valid (e.g. it has been revoked)
+	 * @throws javastrava.service.exception.StravaUnknownAPIException
+	 *             If asked to validate, and the JSON is not well-formed
+	 */
+	public RawJsonResult getRouteRaw(Integer routeId, OutputStream out, boolean validate) throws IOException;
+
 	/**
 	 * <p>
 	 * This request is used to retrieve details about a route. Private routes can only be accessed if owned by the authenticating
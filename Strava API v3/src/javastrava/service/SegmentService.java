@@ -3,6 +3,7 @@ package javastrava.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaClub;
@@ -20,7 +21,9 @@ import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaSegmentExplorerActivityType;
 import javastrava.model.reference.StravaWeightClass;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.PagingCheckpoint;
 
 /**
  * <p>
@@ -620,6 +623,186 @@ public interface SegmentService extends StravaService {
 	 */
 	public CompletableFuture<List<StravaSegmentEffort>> listAllSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate);
 
+	/**
+	 * <p>
+	 * Publishes ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment} one at a time, getting each page of efforts from the
+	 * Strava API only when the subscriber asks for efforts which are not already on hand. No more pages are requested once the subscriber cancels.
+	 * </p>
+	 *
+	 * <p>
+	 * The subscriber receives a {@link javastrava.service.exception.NotFoundException} if the segment does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be published
+	 * @return Publisher of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local
+	 *         ascending.
+	 */
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId);
+
+	/**
+	 * <p>
+	 * Publishes ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment}, filtered by {@link StravaAthlete} and/or a date range,
+	 * one at a time, getting each page of efforts from the Strava API only when the subscriber asks for efforts which are not already on hand. No more pages
+	 * are requested once the subscriber cancels.
+	 * </p>
+	 *
+	 * <p>
+	 * Filtering is as for {@link #listAllSegmentEfforts(Integer, Integer, LocalDateTime, LocalDateTime)}.
+	 * </p>
+	 *
+	 * <p>
+	 * The subscriber receives a {@link javastrava.service.exception.NotFoundException} if the segment does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be published
+	 * @param athleteId
+	 *            (Optional) id of the {@link StravaAthlete} to filter results by
+	 * @param startDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @param endDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @return Publisher of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local
+	 *         ascending or by elapsed_time if an athlete_id is provided.
+	 */
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate);
+
+	/**
+	 * <p>
+	 * Streams ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment}, getting each page of efforts from the Strava API only
+	 * when the stream reaches it. A short-circuiting operation such as {@link Stream#limit(long)} stops further pages being requested.
+	 * </p>
+	 *
+	 * <p>
+	 * Reading the stream throws a {@link javastrava.service.exception.NotFoundException} if the segment does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be streamed
+	 * @return Stream of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local ascending.
+	 */
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId);
+
+	/**
+	 * <p>
+	 * Streams ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment}, filtered by {@link StravaAthlete} and/or a date range,
+	 * getting each page of efforts from the Strava API only when the stream reaches it. A short-circuiting operation such as {@link Stream#limit(long)} stops
+	 * further pages being requested.
+	 * </p>
+	 *
+	 * <p>
+	 * Filtering is as for {@link #listAllSegmentEfforts(Integer, Integer, LocalDateTime, LocalDateTime)}.
+	 * </p>
+	 *
+	 * <p>
+	 * Reading the stream throws a {@link javastrava.service.exception.NotFoundException} if the segment does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be streamed
+	 * @param athleteId
+	 *            (Optional) id of the {@link StravaAthlete} to filter results by
+	 * @param startDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @param endDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @return Stream of {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} sorted by start_date_local ascending
+	 *         or by elapsed_time if an athlete_id is provided.
+	 */
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate);
+
+	/**
+	 * <p>
+	 * Crawls ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment} into a checkpoint (such as a
+	 * {@link javastrava.util.FilePagingCheckpoint}), handing over each page of efforts as soon as it and all the pages before it have been got from the Strava
+	 * API. Intended for segments with effort histories too long to list in one go.
+	 * </p>
+	 *
+	 * <p>
+	 * Progress survives in the checkpoint: if the crawl is interrupted, by a failure (which is thrown, rather than hidden as listAll does), reaching the rate
+	 * limit or the process stopping, calling this again with the same checkpoint carries on from the page after the last one it holds, without getting the
+	 * pages before it from Strava again. A checkpoint which is already complete makes no calls at all.
+	 * </p>
+	 *
+	 * <p>
+	 * Pages are got by position in the effort list as it stands when each page is requested, so if efforts are added or removed between one run and the
+	 * next, the positions shift and a resumed crawl may hold some efforts twice, or miss some. If that matters, remove duplicates by id, or start a new crawl
+	 * with an empty checkpoint.
+	 * </p>
+	 *
+	 * <p>
+	 * Throws a {@link javastrava.service.exception.NotFoundException} if the segment does not exist.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be crawled
+	 * @param checkpoint
+	 *            Where the {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} are kept and progress is recorded
+	 */
+	public void crawlAllSegmentEfforts(final Integer segmentId, final PagingCheckpoint<StravaSegmentEffort> checkpoint);
+
+	/**
+	 * <p>
+	 * Crawls ALL the {@link StravaSegmentEffort segment efforts} for a given {@link StravaSegment}, filtered by {@link StravaAthlete} and/or a date range,
+	 * into a checkpoint, as {@link #crawlAllSegmentEfforts(Integer, PagingCheckpoint)} does
+	 * </p>
+	 *
+	 * <p>
+	 * Filtering is as for {@link #listAllSegmentEfforts(Integer, Integer, LocalDateTime, LocalDateTime)}. Resume a crawl with the same filters it was started
+	 * with; a {@link javastrava.util.FilePagingCheckpoint} of a crawl with different filters is refused.
+	 * </p>
+	 *
+	 * <p>
+	 * URL GET https://www.strava.com/api/v3/segments/:id/all_efforts
+	 * </p>
+	 *
+	 * @see <a href="http://strava.github.io/api/v3/segments/#efforts">http://strava.github.io/api/v3/segments/#efforts</a>
+	 *
+	 * @param segmentId
+	 *            The id of the {@link StravaSegment} for which {@link StravaSegmentEffort segment efforts} are to be crawled
+	 * @param athleteId
+	 *            (Optional) id of the {@link StravaAthlete} to filter results by
+	 * @param startDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @param endDate
+	 *            (Optional) ISO 8601 formatted date time
+	 * @param checkpoint
+	 *            Where the {@link StravaSegmentEffort segment effort} summary {@link StravaResourceState representations} are kept and progress is recorded
+	 */
+	public void crawlAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate,
+			final PagingCheckpoint<StravaSegmentEffort> checkpoint);
+
 	/**
 	 * <p>
 	 * Returns a {@link StravaResourceState#SUMMARY summary representation} of ALL the {@link StravaSegment segments} starred by the identified {@link StravaAthlete athlete}.
@@ -1,11 +1,16 @@
 package javastrava.service;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
+import javastrava.api.util.StravaRateLimitState;
 import javastrava.auth.TokenService;
 import javastrava.auth.model.Token;
 import javastrava.auth.model.TokenResponse;
@@ -36,6 +41,7 @@ import javastrava.model.StravaSegmentExplorerResponse;
 import javastrava.model.StravaSegmentLeaderboard;
 import javastrava.model.StravaStatistics;
 import javastrava.model.StravaStream;
+import javastrava.model.StravaStreamFrame;
 import javastrava.model.StravaUploadResponse;
 import javastrava.model.reference.StravaActivityType;
 import javastrava.model.reference.StravaAgeGroup;
@@ -49,11 +55,15 @@ import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
 import javastrava.model.reference.StravaStreamType;
 import javastrava.model.reference.StravaWeightClass;
 import javastrava.model.webhook.StravaEventSubscription;
+import javastrava.service.async.StravaExecutor;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.service.impl.StravaServiceImpl;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.PagingCheckpoint;
+import javastrava.util.RawJsonResult;
 
 /**
  * <p>
@@ -67,37 +77,53 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		SegmentService, StreamService, TokenService, UploadService, WebhookService {
 	/**
 	 * Daily request rate limit (default is 30,000)
+	 *
+	 * @deprecated Last value reported for any application; use {@link StravaRateLimitState#getRateLimitDaily()}
 	 */
-	public static int RATE_LIMIT_DAILY = StravaConfig.integer("strava.rate_limit_daily").intValue(); //$NON-NLS-1$
+	@Deprecated
+	public static volatile int RATE_LIMIT_DAILY = StravaConfig.integer("strava.rate_limit_daily").intValue(); //$NON-NLS-1$
 
 	/**
 	 * Request rate limit every 15 minutes (default is 600)
+	 *
+	 * @deprecated Last value reported for any application; use {@link StravaRateLimitState#getRateLimitCurrent()}
 	 */
-	public static int RATE_LIMIT_CURRENT = StravaConfig.integer("strava.rate_limit").intValue(); //$NON-NLS-1$
+	@Deprecated
+	public static volatile int RATE_LIMIT_CURRENT = StravaConfig.integer("strava.rate_limit").intValue(); //$NON-NLS-1$
 
 	/**
 	 * Current request rate over the last day
+	 *
+	 * @deprecated Last value reported for any application; use {@link StravaRateLimitState#getRequestRateDaily()}
 	 */
-	public static int REQUEST_RATE_DAILY = 0;
+	@Deprecated
+	public static volatile int REQUEST_RATE_DAILY = 0;
 
 	/**
 	 * Current request rate over the last 15 minutes
+	 *
+	 * @deprecated Last value reported for any application; use {@link StravaRateLimitState#getRequestRateCurrent()}
 	 */
-	public static int REQUEST_RATE_CURRENT = 0;
+	@Deprecated
+	public static volatile int REQUEST_RATE_CURRENT = 0;
 
 	/**
 	 * Calculates the percentage of the per-15-minute request limit that has been used, issues a warning if required
 	 *
-	 * @return Percentage used.
+	 * @return Percentage used, according to the last values reported for any application
+	 * @deprecated Use {@link StravaRateLimitState#getRequestRateCurrentPercentage()} for the relevant application
 	 */
+	@Deprecated
 	public static float requestRateCurrentPercentage() {
-		final float percent = (RATE_LIMIT_CURRENT == 0 ? 0 : (100 * new Float(REQUEST_RATE_CURRENT).floatValue()) / new Float(RATE_LIMIT_CURRENT).floatValue());
+		final int requestRate = REQUEST_RATE_CURRENT;
+		final int rateLimit = RATE_LIMIT_CURRENT;
+		final float percent = (rateLimit == 0 ? 0 : (100 * new Float(requestRate).floatValue()) / new Float(rateLimit).floatValue());
 		if (percent > 100) {
-			StravaServiceImpl.log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimit"), Integer.valueOf(REQUEST_RATE_CURRENT), //$NON-NLS-1$
-					Integer.valueOf(RATE_LIMIT_CURRENT), Float.valueOf(percent)));
+			StravaServiceImpl.log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimit"), Integer.valueOf(requestRate), //$NON-NLS-1$
+					Integer.valueOf(rateLimit), Float.valueOf(percent)));
 		} else if (percent > StravaConfig.WARN_AT_REQUEST_LIMIT_PERCENT) {
-			StravaServiceImpl.log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimit"), Integer.valueOf(REQUEST_RATE_CURRENT), //$NON-NLS-1$
-					Integer.valueOf(RATE_LIMIT_CURRENT), Float.valueOf(percent)));
+			StravaServiceImpl.log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimit"), Integer.valueOf(requestRate), //$NON-NLS-1$
+					Integer.valueOf(rateLimit), Float.valueOf(percent)));
 		}
 		return percent;
 	}
@@ -105,20 +131,41 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 	/**
 	 * Calculates the percentage of the daily request limit that has been used, issues a warning if required
 	 *
-	 * @return Percentage used.
+	 * @return Percentage used, according to the last values reported for any application
+	 * @deprecated Use {@link StravaRateLimitState#getRequestRateDailyPercentage()} for the relevant application
 	 */
+	@Deprecated
 	public static float requestRateDailyPercentage() {
-		final float percent = (Strava.RATE_LIMIT_DAILY == 0 ? 0 : (100 * new Float(REQUEST_RATE_DAILY).floatValue()) / new Float(Strava.RATE_LIMIT_DAILY).floatValue());
+		final int requestRate = REQUEST_RATE_DAILY;
+		final int rateLimit = RATE_LIMIT_DAILY;
+		final float percent = (rateLimit == 0 ? 0 : (100 * new Float(requestRate).floatValue()) / new Float(rateLimit).floatValue());
 		if (percent > 100) {
-			StravaServiceImpl.log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimitDaily"), Integer.valueOf(REQUEST_RATE_DAILY), //$NON-NLS-1$
-					Integer.valueOf(Strava.RATE_LIMIT_DAILY), Float.valueOf(percent)));
+			StravaServiceImpl.log.error(String.format(Messages.string("StravaServiceImpl.exceededRateLimitDaily"), Integer.valueOf(requestRate), //$NON-NLS-1$
+					Integer.valueOf(rateLimit), Float.valueOf(percent)));
 		} else if (percent > StravaConfig.WARN_AT_REQUEST_LIMIT_PERCENT) {
-			StravaServiceImpl.log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimitDaily"), Integer.valueOf(REQUEST_RATE_DAILY), //$NON-NLS-1$
-					Integer.valueOf(Strava.RATE_LIMIT_DAILY), Float.valueOf(percent)));
+			StravaServiceImpl.log.warn(String.format(Messages.string("StravaServiceImpl.approachingRateLimitDaily"), Integer.valueOf(requestRate), //$NON-NLS-1$
+					Integer.valueOf(rateLimit), Float.valueOf(percent)));
 		}
 		return percent;
 	}
 
+	/**
+	 * @return Rate limit usage and limits of the Strava application which issued this instance's token
+	 */
+	public StravaRateLimitState getRateLimitState() {
+		return StravaRateLimitState.forApplication(this.token.getClientId());
+	}
+
+	/**
+	 * @return The executor on which this instance's asynchronous methods run
+	 */
+	public Executor getExecutor() {
+		if (this.activityService instanceof StravaServiceImpl) {
+			return ((StravaServiceImpl) this.activityService).getExecutor();
+		}
+		return StravaExecutor.defaultExecutor();
+	}
+
 	/**
 	 * Instance used for access to activity data
 	 */
@@ -201,8 +248,37 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 	 *            the access token to be used with calls to the Strava API
 	 */
 	public Strava(final Token token) {
+		this(token, null);
+	}
+
+	/**
+	 * <p>
+	 * Constructor for a token whose asynchronous methods should run on an executor of their own, rather than the {@link StravaExecutor#defaultExecutor()
+	 * default} shared by all tokens
+	 * </p>
+	 *
+	 * <p>
+	 * The executor is given to the token's services, which are shared by everything using the token, so it also applies to other instances constructed with
+	 * the same token.
+	 * </p>
+	 *
+	 * @param token
+	 *            the access token to be used with calls to the Strava API
+	 * @param executor
+	 *            the executor on which asynchronous methods should run, or <code>null</code> to leave the token's services as they are
+	 */
+	public Strava(final Token token, final Executor executor) {
 		this.token = token;
 		addServices();
+		if (executor != null) {
+			for (final Object service : new Object[] { this.activityService, this.athleteService, this.challengeService, this.clubService,
+					this.clubGroupEventService, this.gearService, this.routeService, this.runningRaceService, this.segmentEffortService, this.segmentService,
+					this.streamService, this.tokenService, this.uploadService, this.webhookService }) {
+				if (service instanceof StravaServiceImpl) {
+					((StravaServiceImpl) service).setExecutor(executor);
+				}
+			}
+		}
 	}
 
 	private void addServices() {
@@ -440,6 +516,14 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.activityService.getActivity(activityId, includeAllEfforts);
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#getActivityRaw(java.lang.Long, java.lang.Boolean, java.io.OutputStream, boolean)
+	 */
+	@Override
+	public RawJsonResult getActivityRaw(final Long activityId, final Boolean includeAllEfforts, final OutputStream out, final boolean validate) throws IOException {
+		return this.activityService.getActivityRaw(activityId, includeAllEfforts, out, validate);
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#getActivityAsync(java.lang.Long)
 	 */
@@ -487,6 +571,19 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.streamService.getActivityStreams(activityId, types);
 	}
 
+	/**
+	 * @param activityId
+	 *            Activity identifier
+	 * @param types
+	 *            List of types, if the activity does not have that stream it will not be included in the frame
+	 * @return Frame of the streams of the activity, or <code>null</code> if the activity does not exist.
+	 * @see javastrava.service.StreamService#getActivityStreamFrame(java.lang.Long, javastrava.model.reference.StravaStreamType[])
+	 */
+	@Override
+	public StravaStreamFrame getActivityStreamFrame(final Long activityId, final StravaStreamType... types) {
+		return this.streamService.getActivityStreamFrame(activityId, types);
+	}
+
 	/**
 	 * @param activityId
 	 *            Activity identifier
@@ -616,6 +713,14 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.athleteService.getAthlete(athleteId);
 	}
 
+	/**
+	 * @see javastrava.service.AthleteService#getAthleteRaw(java.lang.Integer, java.io.OutputStream, boolean)
+	 */
+	@Override
+	public RawJsonResult getAthleteRaw(final Integer athleteId, final OutputStream out, final boolean validate) throws IOException {
+		return this.athleteService.getAthleteRaw(athleteId, out, validate);
+	}
+
 	/**
 	 * @param athleteId
 	 *            Athlete identifier
@@ -832,6 +937,14 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.routeService.getRoute(routeId);
 	}
 
+	/**
+	 * @see javastrava.service.RouteService#getRouteRaw(java.lang.Integer, java.io.OutputStream, boolean)
+	 */
+	@Override
+	public RawJsonResult getRouteRaw(final Integer routeId, final OutputStream out, final boolean validate) throws IOException {
+		return this.routeService.getRouteRaw(routeId, out, validate);
+	}
+
 	/**
 	 * <p>
 	 * This request is used to retrieve details about a route. Private routes can only be accessed if owned by the authenticating user and the token has {@link AuthorisationScope#VIEW_PRIVATE
@@ -1632,6 +1745,50 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.activityService.listAllAuthenticatedAthleteActivitiesAsync(before, after);
 	}
 
+	/**
+	 * @return Publisher of all the authenticated athlete's activities
+	 * @see javastrava.service.ActivityService#publishAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities() {
+		return this.activityService.publishAllAuthenticatedAthleteActivities();
+	}
+
+	/**
+	 * @param before
+	 *            Only return activities before this date/time
+	 * @param after
+	 *            Only return activities after this date/time
+	 * @return Publisher of all the authenticated athlete's activities, filtered by dates
+	 * @see javastrava.service.ActivityService#publishAllAuthenticatedAthleteActivities(LocalDateTime, LocalDateTime)
+	 */
+	@Override
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return this.activityService.publishAllAuthenticatedAthleteActivities(before, after);
+	}
+
+	/**
+	 * @return Stream of all the authenticated athlete's activities
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities() {
+		return this.activityService.streamAllAuthenticatedAthleteActivities();
+	}
+
+	/**
+	 * @param before
+	 *            Only return activities before this date/time
+	 * @param after
+	 *            Only return activities after this date/time
+	 * @return Stream of all the authenticated athlete's activities, filtered by dates
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities(LocalDateTime, LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return this.activityService.streamAllAuthenticatedAthleteActivities(before, after);
+	}
+
 	/**
 	 * <p>
 	 * USE WITH CAUTION - ATHLETES WITH MANY FRIENDS WILL REQUIRE MANY CALLS TO THE STRAVA API
@@ -1766,6 +1923,40 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.clubService.listAllClubMembersAsync(clubId);
 	}
 
+	/**
+	 * @param clubId
+	 *            Club identifier
+	 * @return Publisher of all members of the club
+	 * @see javastrava.service.ClubService#publishAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Flow.Publisher<StravaAthlete> publishAllClubMembers(final Integer clubId) {
+		return this.clubService.publishAllClubMembers(clubId);
+	}
+
+	/**
+	 * @param clubId
+	 *            Club identifier
+	 * @return Stream of all members of the club
+	 * @see javastrava.service.ClubService#streamAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId) {
+		return this.clubService.streamAllClubMembers(clubId);
+	}
+
+	/**
+	 * @param clubId
+	 *            Club identifier
+	 * @param checkpoint
+	 *            Where the members are kept and progress is recorded
+	 * @see javastrava.service.ClubService#crawlAllClubMembers(java.lang.Integer, javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllClubMembers(final Integer clubId, final PagingCheckpoint<StravaAthlete> checkpoint) {
+		this.clubService.crawlAllClubMembers(clubId, checkpoint);
+	}
+
 	@Override
 	public List<StravaAthlete> listAllEventJoinedAthletes(Integer eventId) {
 		return this.clubGroupEventService.listAllEventJoinedAthletes(eventId);
@@ -1918,6 +2109,94 @@ public class Strava implements ActivityService, AthleteService, ChallengeService
 		return this.segmentService.listAllSegmentEffortsAsync(segmentId, athleteId, startDate, endDate);
 	}
 
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @return Publisher of all efforts on the segment
+	 * @see javastrava.service.SegmentService#publishAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId) {
+		return this.segmentService.publishAllSegmentEfforts(segmentId);
+	}
+
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @param athleteId
+	 *            (Optional) athlete identifier
+	 * @param startDate
+	 *            (Optional) start date
+	 * @param endDate
+	 *            (Optional) end date
+	 * @return Publisher of all efforts on the segment, filtered as requested
+	 * @see javastrava.service.SegmentService#publishAllSegmentEfforts(java.lang.Integer, java.lang.Integer, LocalDateTime, LocalDateTime)
+	 */
+	@Override
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		return this.segmentService.publishAllSegmentEfforts(segmentId, athleteId, startDate, endDate);
+	}
+
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @return Stream of all efforts on the segment
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId) {
+		return this.segmentService.streamAllSegmentEfforts(segmentId);
+	}
+
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @param athleteId
+	 *            (Optional) athlete identifier
+	 * @param startDate
+	 *            (Optional) start date
+	 * @param endDate
+	 *            (Optional) end date
+	 * @return Stream of all efforts on the segment, filtered as requested
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer, java.lang.Integer, LocalDateTime, LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		return this.segmentService.streamAllSegmentEfforts(segmentId, athleteId, startDate, endDate);
+	}
+
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @param checkpoint
+	 *            Where the efforts are kept and progress is recorded
+	 * @see javastrava.service.SegmentService#crawlAllSegmentEfforts(java.lang.Integer, javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllSegmentEfforts(final Integer segmentId, final PagingCheckpoint<StravaSegmentEffort> checkpoint) {
+		this.segmentService.crawlAllSegmentEfforts(segmentId, checkpoint);
+	}
+
+	/**
+	 * @param segmentId
+	 *            Segment identifier
+	 * @param athleteId
+	 *            (Optional) athlete identifier
+	 * @param startDate
+	 *            (Optional) start date
+	 * @param endDate
+	 *            (Optional) end date
+	 * @param checkpoint
+	 *            Where the efforts are kept and progress is recorded
+	 * @see javastrava.service.SegmentService#crawlAllSegmentEfforts(java.lang.Integer, java.lang.Integer, LocalDateTime, LocalDateTime,
+	 *      javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate,
+			final PagingCheckpoint<StravaSegmentEffort> checkpoint) {
+		this.segmentService.crawlAllSegmentEfforts(segmentId, athleteId, startDate, endDate, checkpoint);
+	}
+
 	/**
 	 * @param athleteId
 	 *            Athlete identifier
@@ -7,6 +7,7 @@ import javastrava.model.StravaActivity;
 import javastrava.model.StravaSegment;
 import javastrava.model.StravaSegmentEffort;
 import javastrava.model.StravaStream;
+import javastrava.model.StravaStreamFrame;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
 import javastrava.model.reference.StravaStreamType;
@@ -103,6 +104,22 @@ public interface StreamService extends StravaService {
 	public List<StravaStream> getActivityStreams(final Long activityId,
 			final StravaStreamType... types);
 
+	/**
+	 * <p>
+	 * Get the streams of an activity, as {@link #getActivityStreams(Long, StravaStreamType...)} does, lined up in a {@link StravaStreamFrame frame} so that
+	 * they can be sliced by time, distance, lap or segment effort together
+	 * </p>
+	 *
+	 * @param activityId
+	 *            The id of the activity for which streams are to be retrieved
+	 * @param types
+	 *            List of types, if the activity does not have that stream it will not be included in the frame; if none are given, all are retrieved
+	 * @return The streams, or <code>null</code> if the activity doesn't exist; the frame is empty if the activity is private
+	 * @throws UnauthorizedException
+	 *             If there is a security exception
+	 */
+	public StravaStreamFrame getActivityStreamFrame(final Long activityId, final StravaStreamType... types);
+
 	/**
 	 * <p>
 	 * Streams represent the raw data of the uploaded file. External applications may only access this information for activities owned by the authenticated
@@ -0,0 +1,309 @@
+package javastrava.service.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Executor on which the <code>*Async</code> service methods run
+ * </p>
+ *
+ * <p>
+ * The work done by an asynchronous service method mostly consists of waiting for the Strava API, so it is kept off the JVM-wide common
+ * {@link java.util.concurrent.ForkJoinPool}. By default all tokens share a {@link #bounded(int, int) bounded} pool; a token's services can be given an
+ * executor of their own (see {@link javastrava.service.Strava#Strava(javastrava.auth.model.Token, Executor)}). When the bounded pool's queue is full, tasks
+ * are rejected, and the asynchronous call's future completes exceptionally with a {@link RejectedExecutionException}. Running them on the submitting thread
+ * instead, which slows callers down rather than failing their calls but blocks whichever thread submitted them, is an explicit opt-in (see
+ * {@link #bounded(int, int, boolean)}). On a JDK which supports virtual threads, {@link #virtualThreads()} runs each task on its own virtual thread instead.
+ * </p>
+ *
+ * <p>
+ * The executor keeps track of the number of tasks waiting and running, so that saturation can be monitored.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class StravaExecutor implements Executor {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Value of <code>strava.async.executor</code> which selects virtual threads
+	 */
+	private static final String VIRTUAL = "virtual"; //$NON-NLS-1$
+
+	/**
+	 * Executor shared by all tokens which have not been given their own
+	 */
+	private static volatile StravaExecutor defaultExecutor;
+
+	/**
+	 * @return The executor shared by all tokens which have not been given their own, created from the <code>strava.async.*</code> configuration when first
+	 *         used
+	 */
+	public static StravaExecutor defaultExecutor() {
+		StravaExecutor executor = defaultExecutor;
+		if (executor == null) {
+			synchronized (StravaExecutor.class) {
+				executor = defaultExecutor;
+				if (executor == null) {
+					executor = (VIRTUAL.equalsIgnoreCase(StravaConfig.ASYNC_EXECUTOR) ? virtualThreads()
+							: bounded(StravaConfig.ASYNC_THREADS, StravaConfig.ASYNC_QUEUE_SIZE, StravaConfig.ASYNC_CALLER_RUNS));
+					defaultExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * <p>
+	 * Create an executor with a fixed maximum number of threads and a bounded queue. Idle threads are allowed to die, and tasks submitted when the queue is
+	 * full are rejected with a {@link RejectedExecutionException}.
+	 * </p>
+	 *
+	 * @param threads
+	 *            Maximum number of tasks to run at once
+	 * @param queueSize
+	 *            Maximum number of tasks waiting to run
+	 * @return The executor
+	 */
+	public static StravaExecutor bounded(final int threads, final int queueSize) {
+		return bounded(threads, queueSize, false);
+	}
+
+	/**
+	 * <p>
+	 * Create an executor with a fixed maximum number of threads and a bounded queue. Idle threads are allowed to die. Tasks submitted when the queue is full
+	 * are either rejected with a {@link RejectedExecutionException}, or run by the submitting thread, which then blocks until the task (including any
+	 * request to Strava it makes) is done.
+	 * </p>
+	 *
+	 * @param threads
+	 *            Maximum number of tasks to run at once
+	 * @param queueSize
+	 *            Maximum number of tasks waiting to run
+	 * @param callerRuns
+	 *            <code>true</code> to run tasks on the submitting thread when the queue is full, <code>false</code> to reject them
+	 * @return The executor
+	 */
+	public static StravaExecutor bounded(final int threads, final int queueSize, final boolean callerRuns) {
+		final int poolSize = Math.max(1, threads);
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ThreadFactory threadFactory = runnable -> {
+			final Thread thread = new Thread(runnable, "javastrava-async-" + threadNumber.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		};
+		final StravaExecutor executor = new StravaExecutor(poolSize, false);
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(Math.max(1, queueSize)),
+				threadFactory, (task, rejectedBy) -> {
+					if (rejectedBy.isShutdown()) {
+						throw new RejectedExecutionException();
+					}
+					if (!callerRuns) {
+						executor.rejected.increment();
+						throw new RejectedExecutionException(String.format(Messages.string("StravaExecutor.saturated"), Integer.valueOf(poolSize), //$NON-NLS-1$
+								Integer.valueOf(rejectedBy.getQueue().size())));
+					}
+					executor.callerRuns.increment();
+					task.run();
+				});
+		pool.allowCoreThreadTimeOut(true);
+		executor.delegate = pool;
+		return executor;
+	}
+
+	/**
+	 * <p>
+	 * Create an executor which runs each task on a new virtual thread. Virtual threads are only available on Java 21 and later; on earlier JDKs a bounded
+	 * executor is created from the <code>strava.async.*</code> configuration instead.
+	 * </p>
+	 *
+	 * @return The executor
+	 */
+	public static StravaExecutor virtualThreads() {
+		try {
+			final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+			final StravaExecutor executor = new StravaExecutor(-1, true);
+			executor.delegate = (ExecutorService) factory.invoke(null);
+			return executor;
+		} catch (final ReflectiveOperationException e) {
+			log.warn(Messages.string("StravaExecutor.virtualThreadsNotAvailable")); //$NON-NLS-1$
+			return bounded(StravaConfig.ASYNC_THREADS, StravaConfig.ASYNC_QUEUE_SIZE, StravaConfig.ASYNC_CALLER_RUNS);
+		}
+	}
+
+	/**
+	 * The executor which runs the tasks
+	 */
+	private ExecutorService delegate;
+
+	/**
+	 * Maximum number of tasks run at once, or -1 if there is no limit
+	 */
+	private final int maxThreads;
+
+	/**
+	 * Whether tasks run on virtual threads
+	 */
+	private final boolean virtual;
+
+	/**
+	 * Number of tasks waiting to run
+	 */
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/**
+	 * Number of tasks running
+	 */
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * Number of tasks submitted
+	 */
+	private final LongAdder submitted = new LongAdder();
+
+	/**
+	 * Number of tasks completed
+	 */
+	private final LongAdder completed = new LongAdder();
+
+	/**
+	 * Number of tasks run by the submitting thread because the queue was full
+	 */
+	private final LongAdder callerRuns = new LongAdder();
+
+	/**
+	 * Number of tasks rejected because the queue was full
+	 */
+	private final LongAdder rejected = new LongAdder();
+
+	/**
+	 * @param maxThreads
+	 *            Maximum number of tasks run at once, or -1 if there is no limit
+	 * @param virtual
+	 *            Whether tasks run on virtual threads
+	 */
+	private StravaExecutor(final int maxThreads, final boolean virtual) {
+		this.maxThreads = maxThreads;
+		this.virtual = virtual;
+	}
+
+	/**
+	 * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+	 */
+	@Override
+	public void execute(final Runnable task) {
+		this.submitted.increment();
+		this.queued.incrementAndGet();
+		try {
+			this.delegate.execute(() -> {
+				this.queued.decrementAndGet();
+				this.active.incrementAndGet();
+				try {
+					task.run();
+				} finally {
+					this.active.decrementAndGet();
+					this.completed.increment();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			this.queued.decrementAndGet();
+			throw e;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Stop accepting tasks; tasks already submitted are still run
+	 * </p>
+	 */
+	public void shutdown() {
+		this.delegate.shutdown();
+	}
+
+	/**
+	 * @return Number of tasks waiting to run
+	 */
+	public int getQueueDepth() {
+		return this.queued.get();
+	}
+
+	/**
+	 * @return Number of tasks running
+	 */
+	public int getActiveCount() {
+		return this.active.get();
+	}
+
+	/**
+	 * @return Maximum number of tasks run at once, or -1 if there is no limit
+	 */
+	public int getMaxThreads() {
+		return this.maxThreads;
+	}
+
+	/**
+	 * @return <code>true</code> if tasks run on virtual threads
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtual;
+	}
+
+	/**
+	 * @return Number of tasks submitted
+	 */
+	public long getSubmittedCount() {
+		return this.submitted.sum();
+	}
+
+	/**
+	 * @return Number of tasks completed
+	 */
+	public long getCompletedCount() {
+		return this.completed.sum();
+	}
+
+	/**
+	 * @return Number of tasks run by the submitting thread because the queue was full; a steadily rising count means the executor is saturated
+	 */
+	public long getCallerRunsCount() {
+		return this.callerRuns.sum();
+	}
+
+	/**
+	 * @return Number of tasks rejected because the queue was full; a steadily rising count means the executor is saturated
+	 */
+	public long getRejectedCount() {
+		return this.rejected.sum();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "StravaExecutor [virtual=" + this.virtual + ", maxThreads=" + this.maxThreads + ", queueDepth=" + this.queued.get() + ", active=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ this.active.get() + ", submitted=" + this.submitted.sum() + ", completed=" + this.completed.sum() + ", callerRuns=" + this.callerRuns.sum() + ", rejected=" + this.rejected.sum() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+}
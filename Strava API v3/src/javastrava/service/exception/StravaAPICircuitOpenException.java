@@ -0,0 +1,76 @@
+package javastrava.service.exception;
+
+import javastrava.config.Messages;
+import javastrava.model.StravaResponse;
+
+/**
+ * <p>
+ * Thrown without calling the Strava API when the circuit breaker for the endpoint is open, because recent calls to it have failed with network errors or
+ * because Strava is unavailable
+ * </p>
+ *
+ * @author Dan Shannon
+ */
+public class StravaAPICircuitOpenException extends RuntimeException implements StravaAPIException {
+
+	/**
+	 * Default
+	 */
+	private static final long	serialVersionUID	= 1L;
+
+	/**
+	 * Response from Strava API containing error details; always <code>null</code> as no call is made
+	 */
+	private StravaResponse		response;
+
+	/**
+	 * Name of the endpoint whose circuit breaker is open
+	 */
+	private final String		endpoint;
+
+	/**
+	 * Time (in milliseconds) until the circuit breaker will allow a trial call
+	 */
+	private final long			millisUntilTrial;
+
+	/**
+	 * @param endpoint Name of the endpoint whose circuit breaker is open, e.g. <code>ActivityAPI.getActivity</code>
+	 * @param millisUntilTrial Time (in milliseconds) until the circuit breaker will allow a trial call
+	 */
+	public StravaAPICircuitOpenException(final String endpoint, final long millisUntilTrial) {
+		super(String.format(Messages.string("StravaAPICircuitOpenException.message"), endpoint, Long.valueOf(millisUntilTrial))); //$NON-NLS-1$
+		this.endpoint = endpoint;
+		this.millisUntilTrial = millisUntilTrial;
+	}
+
+	/**
+	 * @return Name of the endpoint whose circuit breaker is open
+	 */
+	public String getEndpoint() {
+		return this.endpoint;
+	}
+
+	/**
+	 * @return Time (in milliseconds) until the circuit breaker will allow a trial call
+	 */
+	public long getMillisUntilTrial() {
+		return this.millisUntilTrial;
+	}
+
+	/**
+	 * @see javastrava.service.exception.StravaAPIException#getResponse()
+	 */
+	@Override
+	public StravaResponse getResponse() {
+		return this.response;
+	}
+
+	/**
+	 * @see javastrava.service.exception.StravaAPIException#setResponse(javastrava.model.StravaResponse)
+	 */
+	@Override
+	public void setResponse(final StravaResponse response) {
+		this.response = response;
+	}
+
+}
@@ -1,10 +1,14 @@
 package javastrava.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
@@ -18,15 +22,19 @@ import javastrava.model.StravaAthlete;
 import javastrava.model.StravaComment;
 import javastrava.model.StravaLap;
 import javastrava.model.StravaPhoto;
+import javastrava.model.StravaStatistics;
+import javastrava.model.StravaStatisticsEntry;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.service.ActivityService;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.StravaUnknownAPIException;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
 import javastrava.util.PagingHandler;
 import javastrava.util.PrivacyUtils;
+import javastrava.util.RawJsonResult;
 import javastrava.util.StravaDateUtils;
 
 /**
@@ -162,7 +170,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaComment> createCommentAsync(final Long activityId, final String text) throws NotFoundException, BadRequestException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return createComment(activityId, text);
 		});
 
@@ -203,7 +211,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> createManualActivityAsync(final StravaActivity activity) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return createManualActivity(activity);
 		});
 	}
@@ -260,7 +268,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> deleteActivityAsync(final Long activityId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return deleteActivity(activityId);
 		});
 	}
@@ -316,7 +324,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> deleteCommentAsync(final Long activityId, final Integer commentId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteComment(activityId, commentId);
 			return null;
 		});
@@ -327,12 +335,42 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> deleteCommentAsync(final StravaComment comment) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteComment(comment);
 			return null;
 		});
 	}
 
+	/**
+	 * <p>
+	 * Asynchronously get data belonging to an activity, once it has been established that the activity exists and is accessible
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of the data
+	 * @param activityId
+	 *            Activity identifier
+	 * @param data
+	 *            Asynchronously gets the data from Strava
+	 * @return Future which completes with <code>null</code> if the activity doesn't exist, with an empty list if it is private and inaccessible, or otherwise
+	 *         with the data
+	 */
+	private <T> CompletableFuture<List<T>> activityDataAsync(final Long activityId, final Supplier<CompletableFuture<List<T>>> data) {
+		return getActivityAsync(activityId).thenCompose(activity -> {
+			// If the activity doesn't exist, then neither does its data
+			if (activity == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// If the activity is private and inaccessible, return an empty list
+			if (activity.getResourceState() == StravaResourceState.PRIVATE) {
+				return CompletableFuture.completedFuture(new ArrayList<T>());
+			}
+
+			return data.get();
+		});
+	}
+
 	/**
 	 * Update the given activity
 	 *
@@ -395,14 +433,23 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 		return stravaResponse;
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#getActivityRaw(java.lang.Long, java.lang.Boolean, java.io.OutputStream, boolean)
+	 */
+	@Override
+	public RawJsonResult getActivityRaw(final Long activityId, final Boolean includeAllEfforts, final OutputStream out, final boolean validate) throws IOException {
+		if (activityId == null) {
+			return RawJsonResult.NOT_FOUND;
+		}
+		return raw(() -> this.api.getActivityAPI().getActivityStreaming(activityId, includeAllEfforts), out, validate);
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#getActivityAsync(java.lang.Long)
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> getActivityAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return getActivity(activityId);
-		});
+		return getActivityAsync(activityId, Boolean.FALSE);
 	}
 
 	/**
@@ -410,8 +457,35 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> getActivityAsync(final Long activityId, final Boolean includeAllEfforts) {
-		return StravaServiceImpl.future(() -> {
-			return getActivity(activityId, includeAllEfforts);
+		if (activityId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the activity from cache
+		final StravaActivity cachedActivity = this.activityCache.get(activityId);
+		if (cachedActivity != null) {
+			return CompletableFuture.completedFuture(cachedActivity);
+		}
+
+		// If it wasn't in cache, then get it from the API
+		return apiFuture(() -> this.api.getActivityAsync(activityId, includeAllEfforts)).handle((stravaResponse, error) -> {
+			if (error != null) {
+				final Throwable cause = cause(error);
+				if (cause instanceof NotFoundException) {
+					// Activity doesn't exist - return null
+					return null;
+				}
+				if (cause instanceof UnauthorizedException) {
+					return PrivacyUtils.privateActivity(activityId);
+				}
+				throw failure(cause);
+			}
+
+			// Put the activity in cache unless it's UPDATING
+			if (stravaResponse.getResourceState() != StravaResourceState.UPDATING) {
+				this.activityCache.put(stravaResponse);
+			}
+			return stravaResponse;
 		});
 	}
 
@@ -450,7 +524,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<Void> giveKudosAsync(final Long activityId) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			giveKudos(activityId);
 			return null;
 		});
@@ -514,9 +588,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityComments(activityId);
-		});
+		return listActivityCommentsAsync(activityId, Boolean.FALSE);
 	}
 
 	/**
@@ -524,9 +596,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Boolean markdown) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityComments(activityId, markdown);
-		});
+		return listActivityCommentsAsync(activityId, markdown, null);
 	}
 
 	/**
@@ -534,9 +604,16 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Boolean markdown, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityComments(activityId, markdown, pagingInstruction);
-		});
+		// Only get the comments if the activity exists and is accessible
+		return activityDataAsync(activityId, () -> PagingHandler.handlePagingAsync(pagingInstruction,
+				thisPage -> apiFuture(() -> this.api.listActivityCommentsAsync(activityId, markdown, thisPage.getPage(), thisPage.getPageSize())).thenApply(Arrays::asList))
+				.thenApply(comments -> {
+					// Put the comments in the cache
+					if (comments != null) {
+						this.commentCache.putAll(comments);
+					}
+					return comments;
+				}));
 	}
 
 	/**
@@ -544,9 +621,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listActivityCommentsAsync(final Long activityId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityComments(activityId, pagingInstruction);
-		});
+		return listActivityCommentsAsync(activityId, Boolean.FALSE, pagingInstruction);
 	}
 
 	/**
@@ -582,9 +657,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listActivityKudoersAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityKudoers(activityId);
-		});
+		return listActivityKudoersAsync(activityId, null);
 	}
 
 	/**
@@ -592,9 +665,9 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listActivityKudoersAsync(final Long activityId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityKudoers(activityId, pagingInstruction);
-		});
+		// Only get the kudoers if the activity exists and is accessible
+		return activityDataAsync(activityId, () -> PagingHandler.handlePagingAsync(pagingInstruction,
+				thisPage -> apiFuture(() -> this.api.listActivityKudoersAsync(activityId, thisPage.getPage(), thisPage.getPageSize())).thenApply(Arrays::asList)));
 	}
 
 	/**
@@ -645,8 +718,31 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaLap>> listActivityLapsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityLaps(activityId);
+		// Only get the laps if the activity exists and is accessible
+		return activityDataAsync(activityId, () -> {
+			// Try to get the laps from cache
+			final List<StravaLap> laps = new ArrayList<StravaLap>();
+			for (final StravaLap lap : this.lapCache.list()) {
+				if (lap.getActivity().getId().equals(activityId)) {
+					laps.add(lap);
+				}
+			}
+			if (!laps.isEmpty()) {
+				return CompletableFuture.completedFuture(laps);
+			}
+
+			// Get the laps from Strava and put them all in the cache
+			return apiFuture(() -> this.api.listActivityLapsAsync(activityId)).handle((lapArray, error) -> {
+				if (error != null) {
+					if (cause(error) instanceof NotFoundException) {
+						return null;
+					}
+					throw failure(error);
+				}
+				final List<StravaLap> stravaLaps = Arrays.asList(lapArray);
+				this.lapCache.putAll(stravaLaps);
+				return stravaLaps;
+			});
 		});
 	}
 
@@ -697,9 +793,20 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaPhoto>> listActivityPhotosAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityPhotos(activityId);
-		});
+		// Only get the photos if the activity exists and is accessible
+		return activityDataAsync(activityId, () -> apiFuture(() -> this.api.listActivityPhotosAsync(activityId)).handle((photoArray, error) -> {
+			if (error != null) {
+				if (cause(error) instanceof NotFoundException) {
+					return null;
+				}
+				throw failure(error);
+			}
+
+			// Put all the photos in cache
+			final List<StravaPhoto> photos = Arrays.asList(photoArray);
+			this.photoCache.putAll(photos);
+			return photos;
+		}));
 	}
 
 	/**
@@ -730,9 +837,16 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivityZone>> listActivityZonesAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
-			return listActivityZones(activityId);
-		});
+		// Only get the zones if the activity exists and is accessible
+		return activityDataAsync(activityId, () -> apiFuture(() -> this.api.listActivityZonesAsync(activityId)).handle((zones, error) -> {
+			if (error != null) {
+				if (cause(error) instanceof NotFoundException) {
+					return null;
+				}
+				throw failure(error);
+			}
+			return Arrays.asList(zones);
+		}));
 	}
 
 	/**
@@ -740,7 +854,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaComment> listAllActivityComments(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listActivityComments(activityId, thisPage));
+		return listAll(thisPage -> listActivityComments(activityId, thisPage));
 	}
 
 	/**
@@ -748,7 +862,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaComment>> listAllActivityCommentsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllActivityComments(activityId);
 		});
 	}
@@ -758,7 +872,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaAthlete> listAllActivityKudoers(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listActivityKudoers(activityId, thisPage));
+		return listAll(thisPage -> listActivityKudoers(activityId, thisPage));
 	}
 
 	/**
@@ -766,17 +880,59 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllActivityKudoersAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllActivityKudoers(activityId);
 		});
 	}
 
+	/**
+	 * <p>
+	 * Estimate how many activities the authenticated athlete has, from their all-time ride, run and swim totals. Strava's statistics only have totals for
+	 * those three types, so every other type of activity (walks, hikes, workouts and so on) is left out and the estimate may be well below the real number.
+	 * It is only used to plan the paging, which carries on past the estimate until it finds the last page, so no activities are missed.
+	 * </p>
+	 *
+	 * <p>
+	 * The statistics are requested asynchronously, at the same time as the first page of activities, and are only waited for if that page comes back full;
+	 * for an athlete whose activities fit on one page they cost no time. The estimate is an optimisation, so any failure to get the statistics just means
+	 * the activities are listed without one.
+	 * </p>
+	 *
+	 * @return Future which completes with the estimate, or with <code>null</code> if the athlete's statistics can't be got
+	 */
+	private CompletableFuture<Integer> authenticatedAthleteActivityCount() {
+		if (getToken().getAthlete() == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return apiFuture(() -> this.api.statisticsAsync(getToken().getAthlete().getId())).handle((statistics, error) -> {
+			return (error == null ? activityCount(statistics) : null);
+		});
+	}
+
+	/**
+	 * @param statistics
+	 *            The authenticated athlete's statistics, or <code>null</code>
+	 * @return Total of their all-time ride, run and swim counts, or <code>null</code> if there are no statistics
+	 */
+	private static Integer activityCount(final StravaStatistics statistics) {
+		if (statistics == null) {
+			return null;
+		}
+		int count = 0;
+		for (final StravaStatisticsEntry totals : Arrays.asList(statistics.getAllRideTotals(), statistics.getAllRunTotals(), statistics.getAllSwimTotals())) {
+			if ((totals != null) && (totals.getCount() != null)) {
+				count = count + totals.getCount().intValue();
+			}
+		}
+		return Integer.valueOf(count);
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#listAllAuthenticatedAthleteActivities()
 	 */
 	@Override
 	public List<StravaActivity> listAllAuthenticatedAthleteActivities() {
-		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(thisPage));
+		return listAll(thisPage -> listAuthenticatedAthleteActivities(thisPage), authenticatedAthleteActivityCount());
 
 	}
 
@@ -785,7 +941,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
-		final List<StravaActivity> activities = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage));
+		final List<StravaActivity> activities = listAll(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage));
 
 		return activities;
 	}
@@ -795,7 +951,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllAuthenticatedAthleteActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteActivities();
 		});
 	}
@@ -805,17 +961,49 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteActivities(before, after);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.ActivityService#publishAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities() {
+		return publisher(thisPage -> listAuthenticatedAthleteActivities(thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#publishAllAuthenticatedAthleteActivities(java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Flow.Publisher<StravaActivity> publishAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return publisher(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities()
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities() {
+		return stream(thisPage -> listAuthenticatedAthleteActivities(thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.ActivityService#streamAllAuthenticatedAthleteActivities(java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaActivity> streamAllAuthenticatedAthleteActivities(final LocalDateTime before, final LocalDateTime after) {
+		return stream(thisPage -> listAuthenticatedAthleteActivities(before, after, thisPage));
+	}
+
 	/**
 	 * @see javastrava.service.ActivityService#listAllFriendsActivities()
 	 */
 	@Override
 	public List<StravaActivity> listAllFriendsActivities() {
-		return PagingHandler.handleListAll(thisPage -> listFriendsActivities(thisPage));
+		return listAll(thisPage -> listFriendsActivities(thisPage));
 	}
 
 	/**
@@ -823,7 +1011,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllFriendsActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllFriendsActivities();
 		});
 	}
@@ -833,7 +1021,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public List<StravaActivity> listAllRelatedActivities(final Long activityId) {
-		return PagingHandler.handleListAll(thisPage -> listRelatedActivities(activityId, thisPage));
+		return listAll(thisPage -> listRelatedActivities(activityId, thisPage));
 	}
 
 	/**
@@ -841,7 +1029,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllRelatedActivitiesAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllRelatedActivities(activityId);
 		});
 	}
@@ -897,7 +1085,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities();
 		});
 	}
@@ -907,7 +1095,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(before, after);
 		});
 	}
@@ -917,7 +1105,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final LocalDateTime before, final LocalDateTime after, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(before, after, pagingInstruction);
 		});
 	}
@@ -927,7 +1115,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAuthenticatedAthleteActivitiesAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteActivities(pagingInstruction);
 		});
 	}
@@ -963,7 +1151,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listFriendsActivitiesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listFriendsActivities();
 		});
 	}
@@ -973,7 +1161,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listFriendsActivitiesAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listFriendsActivities(pagingInstruction);
 		});
 	}
@@ -1010,7 +1198,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRelatedActivitiesAsync(final Long id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRelatedActivities(id);
 		});
 	}
@@ -1020,7 +1208,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRelatedActivitiesAsync(final Long id, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRelatedActivities(id, pagingInstruction);
 		});
 	}
@@ -1081,7 +1269,7 @@ public class ActivityServiceImpl extends StravaServiceImpl implements ActivitySe
 	 */
 	@Override
 	public CompletableFuture<StravaActivity> updateActivityAsync(final Long activityId, final StravaActivityUpdate activity) throws NotFoundException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return updateActivity(activityId, activity);
 		});
 	}
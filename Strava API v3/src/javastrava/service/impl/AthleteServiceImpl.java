@@ -1,5 +1,7 @@
 package javastrava.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +21,7 @@ import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.util.Paging;
 import javastrava.util.PagingHandler;
+import javastrava.util.RawJsonResult;
 
 /**
  * <p>
@@ -87,6 +90,14 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 		this.effortCache.removeAll();
 	}
 
+	@Override
+	public RawJsonResult getAthleteRaw(final Integer athleteId, final OutputStream out, final boolean validate) throws IOException {
+		if (athleteId == null) {
+			return RawJsonResult.NOT_FOUND;
+		}
+		return raw(() -> this.api.getAthleteAPI().getAthleteStreaming(athleteId), out, validate);
+	}
+
 	@Override
 	public StravaAthlete getAthlete(final Integer id) {
 		// If the id is null, return null
@@ -124,7 +135,40 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> getAthleteAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> getAthlete(athleteId));
+		// If the id is null, return null
+		if (athleteId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the athlete from the cache
+		final StravaAthlete cachedAthlete = this.athleteCache.get(athleteId);
+		if ((cachedAthlete != null) && (cachedAthlete.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedAthlete);
+		}
+
+		// Attempt to get the athlete from the API if it's not in cache
+		return apiFuture(() -> this.api.getAthleteAsync(athleteId)).handle((stravaAthlete, error) -> {
+			if (error == null) {
+				// Put the athlete in the cache
+				this.athleteCache.put(stravaAthlete);
+				return CompletableFuture.completedFuture(stravaAthlete);
+			}
+			final Throwable cause = cause(error);
+			if (cause instanceof NotFoundException) {
+				return CompletableFuture.<StravaAthlete> completedFuture(null);
+			}
+			if (!(cause instanceof UnauthorizedException)) {
+				throw failure(cause);
+			}
+			return accessTokenIsValidAsync().thenApply(valid -> {
+				if (!valid.booleanValue()) {
+					throw failure(cause);
+				}
+				final StravaAthlete athlete = new StravaAthlete();
+				athlete.setId(athleteId);
+				return athlete;
+			});
+		}).thenCompose(result -> result);
 	}
 
 	/**
@@ -151,7 +195,17 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> getAuthenticatedAthleteAsync() {
-		return StravaServiceImpl.future(() -> getAuthenticatedAthlete());
+		// Try to get it from the cache
+		final StravaAthlete cachedAthlete = this.athleteCache.get(this.getToken().getAthlete().getId());
+		if (cachedAthlete != null) {
+			return CompletableFuture.completedFuture(cachedAthlete);
+		}
+
+		// Now get it via the API, then put it in the cache and return
+		return apiFuture(() -> this.api.getAuthenticatedAthleteAsync()).thenApply(athlete -> {
+			this.athleteCache.put(athlete);
+			return athlete;
+		});
 	}
 
 	/**
@@ -171,7 +225,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthleteZones> getAuthenticatedAthleteZonesAsync() {
-		return StravaServiceImpl.future(() -> getAuthenticatedAthleteZones());
+		return future(() -> getAuthenticatedAthleteZones());
 	}
 
 	/**
@@ -180,7 +234,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	@Override
 	public List<StravaAthlete> listAllAthleteFriends(final Integer athleteId) {
 		// Always get from Strava, not from cache, as there's no way to be sure the cache is up to date
-		final List<StravaAthlete> athletes = PagingHandler.handleListAll(thisPage -> listAthleteFriends(athleteId, thisPage));
+		final List<StravaAthlete> athletes = listAll(thisPage -> listAthleteFriends(athleteId, thisPage));
 
 		// Return them
 		return athletes;
@@ -191,7 +245,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAthleteFriendsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthleteFriends(athleteId));
+		return future(() -> listAllAthleteFriends(athleteId));
 	}
 
 	/**
@@ -199,7 +253,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaSegmentEffort> listAllAthleteKOMs(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listAthleteKOMs(athleteId, thisPage));
+		return listAll(thisPage -> listAthleteKOMs(athleteId, thisPage));
 	}
 
 	/**
@@ -207,7 +261,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllAthleteKOMsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthleteKOMs(athleteId));
+		return future(() -> listAllAthleteKOMs(athleteId));
 	}
 
 	/**
@@ -215,7 +269,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaAthlete> listAllAthletesBothFollowing(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listAthletesBothFollowing(athleteId, thisPage));
+		return listAll(thisPage -> listAthletesBothFollowing(athleteId, thisPage));
 
 	}
 
@@ -224,7 +278,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAthletesBothFollowingAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAllAthletesBothFollowing(athleteId));
+		return future(() -> listAllAthletesBothFollowing(athleteId));
 	}
 
 	/**
@@ -232,7 +286,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public List<StravaAthlete> listAllAuthenticatedAthleteFriends() {
-		return PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteFriends(thisPage));
+		return listAll(thisPage -> listAuthenticatedAthleteFriends(thisPage));
 	}
 
 	/**
@@ -240,7 +294,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllAuthenticatedAthleteFriendsAsync() {
-		return StravaServiceImpl.future(() -> listAllAuthenticatedAthleteFriends());
+		return future(() -> listAllAuthenticatedAthleteFriends());
 	}
 
 	/**
@@ -277,7 +331,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthleteFriendsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthleteFriends(athleteId));
+		return future(() -> listAthleteFriends(athleteId));
 	}
 
 	/**
@@ -285,7 +339,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthleteFriendsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthleteFriends(athleteId, pagingInstruction));
+		return future(() -> listAthleteFriends(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -320,7 +374,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAthleteKOMsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthleteKOMs(athleteId));
+		return future(() -> listAthleteKOMs(athleteId));
 	}
 
 	/**
@@ -328,7 +382,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAthleteKOMsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthleteKOMs(athleteId, pagingInstruction));
+		return future(() -> listAthleteKOMs(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -363,7 +417,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthletesBothFollowingAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> listAthletesBothFollowing(athleteId));
+		return future(() -> listAthletesBothFollowing(athleteId));
 	}
 
 	/**
@@ -371,7 +425,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAthletesBothFollowingAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAthletesBothFollowing(athleteId, pagingInstruction));
+		return future(() -> listAthletesBothFollowing(athleteId, pagingInstruction));
 	}
 
 	/**
@@ -400,7 +454,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAuthenticatedAthleteFriendsAsync() {
-		return StravaServiceImpl.future(() -> listAuthenticatedAthleteFriends());
+		return future(() -> listAuthenticatedAthleteFriends());
 	}
 
 	/**
@@ -408,7 +462,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAuthenticatedAthleteFriendsAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> listAuthenticatedAthleteFriends(pagingInstruction));
+		return future(() -> listAuthenticatedAthleteFriends(pagingInstruction));
 	}
 
 	/**
@@ -440,7 +494,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaStatistics> statisticsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> statistics(athleteId));
+		return future(() -> statistics(athleteId));
 	}
 
 	/**
@@ -461,7 +515,7 @@ public class AthleteServiceImpl extends StravaServiceImpl implements AthleteServ
 	 */
 	@Override
 	public CompletableFuture<StravaAthlete> updateAuthenticatedAthleteAsync(final String city, final String state, final String country, final StravaGender sex, final Float weight) {
-		return StravaServiceImpl.future(() -> updateAuthenticatedAthlete(city, state, country, sex, weight));
+		return future(() -> updateAuthenticatedAthlete(city, state, country, sex, weight));
 	}
 
 }
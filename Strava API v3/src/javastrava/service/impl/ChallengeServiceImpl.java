@@ -95,7 +95,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<StravaChallenge> getChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getChallenge(id);
 		});
 	}
@@ -107,7 +107,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<Void> joinChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			joinChallenge(id);
 			return null;
 		});
@@ -120,7 +120,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<Void> leaveChallengeAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			leaveChallenge(id);
 			return null;
 		});
@@ -133,7 +133,7 @@ public class ChallengeServiceImpl extends StravaServiceImpl implements Challenge
 
 	@Override
 	public CompletableFuture<List<StravaChallenge>> listJoinedChallengesAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listJoinedChallenges();
 		});
 	}
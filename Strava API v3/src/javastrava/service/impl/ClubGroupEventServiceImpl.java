@@ -16,7 +16,6 @@ import javastrava.service.ClubGroupEventService;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
 import javastrava.util.Paging;
-import javastrava.util.PagingHandler;
 
 /**
  * <p>
@@ -73,7 +72,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<Void> deleteEventAsync(Integer id) throws NotFoundException, UnauthorizedException {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			deleteEvent(id);
 			return null;
 		});
@@ -119,7 +118,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEvent> getEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getEvent(id);
 		});
 	}
@@ -141,7 +140,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEventJoinResponse> joinEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return joinEvent(id);
 		});
 	}
@@ -163,19 +162,19 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<StravaClubEventJoinResponse> leaveEventAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return leaveEvent(id);
 		});
 	}
 
 	@Override
 	public List<StravaAthlete> listAllEventJoinedAthletes(Integer eventId) {
-		return PagingHandler.handleListAll(thisPage -> listEventJoinedAthletes(eventId, thisPage));
+		return listAll(thisPage -> listEventJoinedAthletes(eventId, thisPage));
 	}
 
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllEventJoinedAthletesAsync(Integer eventId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllEventJoinedAthletes(eventId);
 		});
 	}
@@ -197,7 +196,7 @@ public class ClubGroupEventServiceImpl extends StravaServiceImpl implements Club
 
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listEventJoinedAthletesAsync(Integer eventId, Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listEventJoinedAthletes(eventId, pagingInstruction);
 		});
 	}
@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
 import javastrava.cache.impl.StravaCacheImpl;
+import javastrava.config.Messages;
 import javastrava.model.StravaActivity;
 import javastrava.model.StravaAthlete;
 import javastrava.model.StravaClub;
@@ -18,7 +20,9 @@ import javastrava.model.reference.StravaResourceState;
 import javastrava.service.ClubService;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.PagingCheckpoint;
 import javastrava.util.PagingHandler;
 import javastrava.util.PrivacyUtils;
 
@@ -129,8 +133,34 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClub> getClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
-			return getClub(clubId);
+		// If the id is null, return null
+		if (clubId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the club from the cache
+		final StravaClub cachedClub = this.clubCache.get(clubId);
+		if ((cachedClub != null) && (cachedClub.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedClub);
+		}
+
+		// If it wasn't in cache, get it from Strava
+		return apiFuture(() -> this.api.getClubAsync(clubId)).handle((stravaClub, error) -> {
+			StravaClub club = stravaClub;
+			if (error != null) {
+				final Throwable cause = cause(error);
+				if (cause instanceof NotFoundException) {
+					return null;
+				}
+				if (!(cause instanceof UnauthorizedException)) {
+					throw failure(cause);
+				}
+				club = PrivacyUtils.privateClubRepresentation(clubId);
+			}
+
+			// Put it in the cache and return it
+			this.clubCache.put(club);
+			return club;
 		});
 	}
 
@@ -156,7 +186,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClubMembershipResponse> joinClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return joinClub(clubId);
 		});
 	}
@@ -183,7 +213,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<StravaClubMembershipResponse> leaveClubAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return leaveClub(clubId);
 		});
 	}
@@ -193,7 +223,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public List<StravaAthlete> listAllClubAdmins(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listClubAdmins(clubId, thisPage));
+		return listAll(thisPage -> listClubAdmins(clubId, thisPage));
 	}
 
 	/**
@@ -201,7 +231,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllClubAdminsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllClubAdmins(clubId);
 		});
 	}
@@ -211,7 +241,15 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public List<StravaAthlete> listAllClubMembers(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listClubMembers(clubId, thisPage));
+		// The club's member count says how many pages to expect; it's only an optimisation, so list the members without it if the club can't be got
+		StravaClub club;
+		try {
+			club = getClub(clubId);
+		} catch (final RuntimeException e) {
+			club = null;
+		}
+		final Integer memberCount = (club == null ? null : club.getMemberCount());
+		return listAll(thisPage -> listClubMembers(clubId, thisPage), memberCount);
 
 	}
 
@@ -220,17 +258,53 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listAllClubMembersAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllClubMembers(clubId);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.ClubService#publishAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Flow.Publisher<StravaAthlete> publishAllClubMembers(final Integer clubId) {
+		return publisher(thisPage -> listClubMembers(clubId, thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#streamAllClubMembers(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaAthlete> streamAllClubMembers(final Integer clubId) {
+		return stream(thisPage -> listClubMembers(clubId, thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.ClubService#crawlAllClubMembers(java.lang.Integer, javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllClubMembers(final Integer clubId, final PagingCheckpoint<StravaAthlete> checkpoint) {
+		final StravaClub club = getClub(clubId);
+		if (club == null) {
+			throw new NotFoundException(Messages.string("PagingHandler.notFound")); //$NON-NLS-1$
+		}
+
+		checkpoint.begin("/clubs/" + clubId + "/members"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// As for listAllClubMembers, there are no members to crawl for a private club
+		if (club.getResourceState() == StravaResourceState.PRIVATE) {
+			checkpoint.complete();
+			return;
+		}
+		crawl(thisPage -> Arrays.asList(this.api.listClubMembers(clubId, thisPage.getPage(), thisPage.getPageSize())), checkpoint, club.getMemberCount());
+	}
+
 	/**
 	 * @see javastrava.service.ClubService#listAllRecentClubActivities(java.lang.Integer)
 	 */
 	@Override
 	public List<StravaActivity> listAllRecentClubActivities(final Integer clubId) {
-		return PagingHandler.handleListAll(thisPage -> listRecentClubActivities(clubId, thisPage));
+		return listAll(thisPage -> listRecentClubActivities(clubId, thisPage));
 	}
 
 	/**
@@ -238,7 +312,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listAllRecentClubActivitiesAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllRecentClubActivities(clubId);
 		});
 	}
@@ -256,7 +330,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClub>> listAuthenticatedAthleteClubsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteClubs();
 		});
 	}
@@ -288,7 +362,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubAdminsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAdmins(clubId);
 		});
 	}
@@ -298,7 +372,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubAdminsAsync(final Integer clubId, final Paging paging) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAdmins(clubId, paging);
 		});
 	}
@@ -324,7 +398,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClubAnnouncement>> listClubAnnouncementsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubAnnouncements(clubId);
 		});
 	}
@@ -350,7 +424,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaClubEvent>> listClubGroupEventsAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return Arrays.asList(this.api.listClubGroupEvents(clubId));
 		});
 	}
@@ -382,7 +456,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubMembersAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubMembers(clubId);
 		});
 	}
@@ -392,7 +466,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaAthlete>> listClubMembersAsync(final Integer clubId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listClubMembers(clubId, pagingInstruction);
 		});
 
@@ -448,7 +522,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRecentClubActivitiesAsync(final Integer clubId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRecentClubActivities(clubId);
 		});
 	}
@@ -458,7 +532,7 @@ public class ClubServiceImpl extends StravaServiceImpl implements ClubService {
 	 */
 	@Override
 	public CompletableFuture<List<StravaActivity>> listRecentClubActivitiesAsync(final Integer clubId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRecentClubActivities(clubId, pagingInstruction);
 		});
 	}
@@ -110,8 +110,34 @@ public class GearServiceImpl extends StravaServiceImpl implements GearService {
 	 */
 	@Override
 	public CompletableFuture<StravaGear> getGearAsync(final String gearId) {
-		return StravaServiceImpl.future(() -> {
-			return getGear(gearId);
+		// If the id is null, return null
+		if (gearId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Attempt to get the gear from cache
+		final StravaGear cachedGear = this.gearCache.get(gearId);
+		if ((cachedGear != null) && (cachedGear.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedGear);
+		}
+
+		// If it wasn't in cache, try to get it from the API
+		return apiFuture(() -> this.api.getGearAsync(gearId)).handle((stravaGear, error) -> {
+			StravaGear gear = stravaGear;
+			if (error != null) {
+				final Throwable cause = cause(error);
+				if (cause instanceof NotFoundException) {
+					return null;
+				}
+				if (!(cause instanceof UnauthorizedException)) {
+					throw failure(cause);
+				}
+				gear = PrivacyUtils.privateGear(gearId);
+			}
+
+			// Put the gear in cache and return it
+			this.gearCache.put(gear);
+			return gear;
 		});
 	}
 
@@ -1,5 +1,7 @@
 package javastrava.service.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,6 +12,7 @@ import javastrava.model.StravaRoute;
 import javastrava.service.RouteService;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.RawJsonResult;
 
 /**
  * <p>
@@ -77,9 +80,29 @@ public class RouteServiceImpl extends StravaServiceImpl implements RouteService
 		}
 	}
 
+	@Override
+	public RawJsonResult getRouteRaw(Integer routeId, OutputStream out, boolean validate) throws IOException {
+		if (routeId == null) {
+			return RawJsonResult.NOT_FOUND;
+		}
+		return raw(() -> this.api.getRouteAPI().getRouteStreaming(routeId), out, validate);
+	}
+
 	@Override
 	public CompletableFuture<StravaRoute> getRouteAsync(Integer routeId) {
-		return StravaServiceImpl.future(() -> getRoute(routeId));
+		if (routeId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return apiFuture(() -> this.api.getRouteAsync(routeId)).handle((route, error) -> {
+			if (error != null) {
+				if (cause(error) instanceof NotFoundException) {
+					return null;
+				}
+				throw failure(error);
+			}
+			return route;
+		});
 	}
 
 	@Override
@@ -95,7 +118,7 @@ public class RouteServiceImpl extends StravaServiceImpl implements RouteService
 
 	@Override
 	public CompletableFuture<List<StravaRoute>> listAthleteRoutesAsync(Integer id) {
-		return StravaServiceImpl.future(() -> listAthleteRoutes(id));
+		return future(() -> listAthleteRoutes(id));
 	}
 
 }
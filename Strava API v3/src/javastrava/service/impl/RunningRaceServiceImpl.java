@@ -82,7 +82,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 
 	@Override
 	public CompletableFuture<StravaRunningRace> getRaceAsync(Integer id) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getRace(id);
 		});
 	}
@@ -100,7 +100,7 @@ public class RunningRaceServiceImpl extends StravaServiceImpl implements Running
 
 	@Override
 	public CompletableFuture<List<StravaRunningRace>> listRacesAsync(Integer year) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listRaces(year);
 		});
 	}
@@ -116,8 +116,52 @@ public class SegmentEffortServiceImpl extends StravaServiceImpl implements Segme
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentEffort> getSegmentEffortAsync(final Long segmentEffortId) {
-		return StravaServiceImpl.future(() -> {
-			return getSegmentEffort(segmentEffortId);
+		// If id is null, return null
+		if (segmentEffortId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Try to get the effort from cache
+		final StravaSegmentEffort cachedEffort = this.effortCache.get(segmentEffortId);
+		if ((cachedEffort != null) && (cachedEffort.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedEffort);
+		}
+
+		// If it wasn't in cache, get it from the API
+		return apiFuture(() -> this.api.getSegmentEffortAsync(segmentEffortId)).handle((stravaEffort, error) -> {
+			if (error == null) {
+				return stravaEffort;
+			}
+			final Throwable cause = cause(error);
+			if (cause instanceof NotFoundException) {
+				// Segment effort doesn't exist
+				return null;
+			}
+			if (cause instanceof UnauthorizedException) {
+				return PrivacyUtils.privateSegmentEffort(segmentEffortId);
+			}
+			throw failure(cause);
+		}).thenCompose(effort -> {
+			if (effort == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// TODO This is a workaround for issue javastrava-api #78
+			// See https://github.com/danshannon/javastravav3api/issues/78
+			final CompletableFuture<StravaSegmentEffort> checkedEffort;
+			if (effort.getResourceState() == StravaResourceState.DETAILED) {
+				checkedEffort = this.getToken().getService(SegmentService.class).getSegmentAsync(effort.getSegment().getId())
+						.thenApply(segment -> (segment.getResourceState() == StravaResourceState.PRIVATE ? PrivacyUtils.privateSegmentEffort(segmentEffortId) : effort));
+			} else {
+				checkedEffort = CompletableFuture.completedFuture(effort);
+			}
+			// End of workaround
+
+			// Put the effort into cache and return it
+			return checkedEffort.thenApply(result -> {
+				this.effortCache.put(result);
+				return result;
+			});
 		});
 	}
 
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import javastrava.auth.model.Token;
 import javastrava.cache.StravaCache;
@@ -30,7 +31,9 @@ import javastrava.service.SegmentService;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.Flow;
 import javastrava.util.Paging;
+import javastrava.util.PagingCheckpoint;
 import javastrava.util.PagingHandler;
 import javastrava.util.PagingUtils;
 import javastrava.util.PrivacyUtils;
@@ -207,7 +210,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getAllSegmentLeaderboardAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getAllSegmentLeaderboard(segmentId);
 		});
 	}
@@ -219,7 +222,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getAllSegmentLeaderboardAsync(final Integer segmentId, final StravaGender gender, final StravaAgeGroup ageGroup,
 			final StravaWeightClass weightClass, final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getAllSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange);
 		});
 	}
@@ -267,8 +270,41 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegment> getSegmentAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
-			return getSegment(segmentId);
+		// If the id is null, return null
+		if (segmentId == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		// Try to get the segment from cache
+		final StravaSegment cachedSegment = this.segmentCache.get(segmentId);
+		if ((cachedSegment != null) && (cachedSegment.getResourceState() != StravaResourceState.META)) {
+			return CompletableFuture.completedFuture(cachedSegment);
+		}
+
+		return apiFuture(() -> this.api.getSegmentAsync(segmentId)).handle((stravaSegment, error) -> {
+			StravaSegment segment = stravaSegment;
+			if (error != null) {
+				final Throwable cause = cause(error);
+				if (cause instanceof NotFoundException) {
+					return null;
+				}
+				if (!(cause instanceof UnauthorizedException)) {
+					throw failure(cause);
+				}
+				segment = PrivacyUtils.privateSegment(segmentId);
+			}
+
+			// TODO Workaround for javastrava-api #70
+			// If the segment is private and the token doesn't have view_private
+			// scope, then return an empty segment
+			if ((segment.getResourceState() != StravaResourceState.PRIVATE) && segment.getPrivateSegment().equals(Boolean.TRUE) && !getToken().hasViewPrivate()) {
+				segment = PrivacyUtils.privateSegment(segmentId);
+			}
+			// End of workaround
+
+			// Put the segment in cache and return it
+			this.segmentCache.put(segment);
+			return segment;
 		});
 	}
 
@@ -347,6 +383,12 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 		} catch (final BadRequestException e) {
 			return null;
 		}
+
+		// If the paging instruction ignores everything, no page was asked for
+		if (leaderboard.getEntries() == null) {
+			leaderboard.setEntries(new ArrayList<StravaSegmentLeaderboardEntry>());
+			leaderboard.setAthleteEntries(new ArrayList<StravaSegmentLeaderboardEntry>());
+		}
 		leaderboard.setResourceState(StravaResourceState.DETAILED);
 		return leaderboard;
 	}
@@ -356,7 +398,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId);
 		});
 	}
@@ -366,7 +408,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId, pagingInstruction);
 		});
 	}
@@ -380,7 +422,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	public CompletableFuture<StravaSegmentLeaderboard> getSegmentLeaderboardAsync(final Integer segmentId, final StravaGender gender, final StravaAgeGroup ageGroup,
 			final StravaWeightClass weightClass, final Boolean following, final Integer clubId, final StravaLeaderboardDateRange dateRange, final Paging pagingInstruction,
 			final Integer contextEntries) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return getSegmentLeaderboard(segmentId, gender, ageGroup, weightClass, following, clubId, dateRange, pagingInstruction, contextEntries);
 		});
 	}
@@ -390,7 +432,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public List<StravaSegment> listAllAuthenticatedAthleteStarredSegments() {
-		final List<StravaSegment> segments = PagingHandler.handleListAll(thisPage -> listAuthenticatedAthleteStarredSegments(thisPage));
+		final List<StravaSegment> segments = listAll(thisPage -> listAuthenticatedAthleteStarredSegments(thisPage));
 
 		// // TODO Workaround for issue javastrava-api #71 (see
 		// https://github.com/danshannon/javastravav3api/issues/71)
@@ -414,7 +456,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAllAuthenticatedAthleteStarredSegmentsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllAuthenticatedAthleteStarredSegments();
 		});
 	}
@@ -445,8 +487,6 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 			return null;
 		}
 
-		final int parallelism = StravaConfig.PAGING_LIST_ALL_PARALLELISM;
-
 		// TODO This is the workaround for issue #45
 		if (segment.getResourceState() == StravaResourceState.META) {
 			return new ArrayList<StravaSegmentEffort>();
@@ -457,7 +497,10 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 			return new ArrayList<StravaSegmentEffort>();
 		}
 		// End of workaround
-		return PagingHandler.handleListAll(thisPage -> listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage), parallelism);
+
+		// Without filters, the segment's effort count says how many pages to expect
+		final Integer effortCount = ((athleteId == null) && (startDate == null) && (endDate == null) ? segment.getEffortCount() : null);
+		return listAll(thisPage -> listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage), effortCount);
 	}
 
 	/**
@@ -465,7 +508,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllSegmentEffortsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllSegmentEfforts(segmentId);
 		});
 	}
@@ -475,17 +518,112 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listAllSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllSegmentEfforts(segmentId);
 		});
 	}
 
+	/**
+	 * @see javastrava.service.SegmentService#publishAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId) {
+		return publishAllSegmentEfforts(segmentId, null, null, null);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#publishAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Flow.Publisher<StravaSegmentEffort> publishAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		return publisher(thisPage -> segmentEffortsPage(segmentId, athleteId, startDate, endDate, thisPage));
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId) {
+		return streamAllSegmentEfforts(segmentId, null, null, null);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#crawlAllSegmentEfforts(java.lang.Integer, javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllSegmentEfforts(final Integer segmentId, final PagingCheckpoint<StravaSegmentEffort> checkpoint) {
+		crawlAllSegmentEfforts(segmentId, null, null, null, checkpoint);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#crawlAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime,
+	 *      javastrava.util.PagingCheckpoint)
+	 */
+	@Override
+	public void crawlAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate,
+			final PagingCheckpoint<StravaSegmentEffort> checkpoint) {
+		final StravaSegment segment = getSegment(segmentId);
+		if (segment == null) {
+			throw new NotFoundException(Messages.string("PagingHandler.notFound")); //$NON-NLS-1$
+		}
+
+		checkpoint.begin("/segments/" + segmentId + "/all_efforts?athlete_id=" + athleteId + "&start_date_local=" + startDate + "&end_date_local=" + endDate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+		// As for listAllSegmentEfforts, there are no efforts to crawl for a segment which is flagged as hazardous or can't be seen
+		if ((segment.getResourceState() == StravaResourceState.META) || (segment.getHazardous() == Boolean.TRUE)) {
+			checkpoint.complete();
+			return;
+		}
+		final Integer effortCount = ((athleteId == null) && (startDate == null) && (endDate == null) ? segment.getEffortCount() : null);
+		crawl(thisPage -> segmentEffortsApiPage(segmentId, athleteId, startDate, endDate, thisPage), checkpoint, effortCount);
+	}
+
+	/**
+	 * @see javastrava.service.SegmentService#streamAllSegmentEfforts(java.lang.Integer, java.lang.Integer, java.time.LocalDateTime, java.time.LocalDateTime)
+	 */
+	@Override
+	public Stream<StravaSegmentEffort> streamAllSegmentEfforts(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate) {
+		return stream(thisPage -> segmentEffortsPage(segmentId, athleteId, startDate, endDate, thisPage));
+	}
+
+	/**
+	 * <p>
+	 * Get one page of segment efforts for the publishAll and streamAll methods, making the same workarounds for issues #33 and #45 as listAllSegmentEfforts
+	 * when the first page is wanted
+	 * </p>
+	 *
+	 * @param segmentId
+	 *            The id of the segment
+	 * @param athleteId
+	 *            (Optional) id of the athlete to filter results by
+	 * @param startDate
+	 *            (Optional) start of the date range to filter results by
+	 * @param endDate
+	 *            (Optional) end of the date range to filter results by
+	 * @param thisPage
+	 *            The page to get
+	 * @return The page of segment efforts, or <code>null</code> if the segment does not exist
+	 */
+	private List<StravaSegmentEffort> segmentEffortsPage(final Integer segmentId, final Integer athleteId, final LocalDateTime startDate, final LocalDateTime endDate,
+			final Paging thisPage) {
+		if (thisPage.getPage().intValue() == 1) {
+			final StravaSegment segment = getSegment(segmentId);
+			if (segment == null) {
+				return null;
+			}
+			if ((segment.getResourceState() == StravaResourceState.META) || (segment.getHazardous() == Boolean.TRUE)) {
+				return new ArrayList<StravaSegmentEffort>();
+			}
+		}
+		return listSegmentEfforts(segmentId, athleteId, startDate, endDate, thisPage);
+	}
+
 	/**
 	 * @see javastrava.service.SegmentService#listAllStarredSegments(java.lang.Integer)
 	 */
 	@Override
 	public List<StravaSegment> listAllStarredSegments(final Integer athleteId) {
-		return PagingHandler.handleListAll(thisPage -> listStarredSegments(athleteId, thisPage));
+		return listAll(thisPage -> listStarredSegments(athleteId, thisPage));
 	}
 
 	/**
@@ -493,7 +631,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAllStarredSegmentsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAllStarredSegments(athleteId);
 		});
 	}
@@ -532,7 +670,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAuthenticatedAthleteStarredSegmentsAsync() {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteStarredSegments();
 		});
 	}
@@ -542,7 +680,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listAuthenticatedAthleteStarredSegmentsAsync(final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listAuthenticatedAthleteStarredSegments(pagingInstruction);
 		});
 	}
@@ -590,6 +728,36 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 		}
 		// End of workaround
 
+		final List<StravaSegmentEffort> efforts;
+
+		try {
+			efforts = PagingHandler.handlePaging(pagingInstruction, thisPage -> segmentEffortsApiPage(segmentId, athleteId, startDateLocalTZ, endDateLocalTZ, thisPage));
+		} catch (final NotFoundException e) {
+			return null;
+		} catch (final UnauthorizedException e) {
+			return new ArrayList<StravaSegmentEffort>();
+		}
+
+		return efforts;
+	}
+
+	/**
+	 * Get a page of segment efforts from the API, without checking the segment first or hiding failures
+	 *
+	 * @param segmentId
+	 *            Segment identifier
+	 * @param athleteId
+	 *            (Optional) athlete identifier
+	 * @param startDateLocalTZ
+	 *            (Optional) start date
+	 * @param endDateLocalTZ
+	 *            (Optional) end date
+	 * @param thisPage
+	 *            The Strava paging instruction
+	 * @return The page of efforts
+	 */
+	private List<StravaSegmentEffort> segmentEffortsApiPage(final Integer segmentId, final Integer athleteId, final LocalDateTime startDateLocalTZ,
+			final LocalDateTime endDateLocalTZ, final Paging thisPage) {
 		LocalDateTime endDateLocal = endDateLocalTZ;
 		LocalDateTime startDateLocal = startDateLocalTZ;
 
@@ -608,17 +776,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 		final String start = (startDateLocal == null ? null : startDateLocal.toString());
 		final String end = (endDateLocal == null ? null : endDateLocal.toString());
 
-		final List<StravaSegmentEffort> efforts;
-
-		try {
-			efforts = PagingHandler.handlePaging(pagingInstruction,
-					thisPage -> Arrays.asList(SegmentServiceImpl.this.api.listSegmentEfforts(segmentId, athleteId, start, end, thisPage.getPage(), thisPage.getPageSize())));
-		} catch (final NotFoundException e) {
-			return null;
-		} catch (final UnauthorizedException e) {
-			return new ArrayList<StravaSegmentEffort>();
-		}
-
+		final List<StravaSegmentEffort> efforts = Arrays.asList(this.api.listSegmentEfforts(segmentId, athleteId, start, end, thisPage.getPage(), thisPage.getPageSize()));
 		return PrivacyUtils.handlePrivateSegmentEfforts(efforts, this.getToken());
 	}
 
@@ -635,7 +793,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId);
 		});
 	}
@@ -646,7 +804,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDateLocal,
 			final LocalDateTime endDateLocal) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, athleteId, startDateLocal, endDateLocal);
 		});
 	}
@@ -657,7 +815,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Integer athleteId, final LocalDateTime startDateLocal, final LocalDateTime endDateLocal,
 			final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, athleteId, startDateLocal, endDateLocal, pagingInstruction);
 		});
 	}
@@ -667,7 +825,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegmentEffort>> listSegmentEffortsAsync(final Integer segmentId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listSegmentEfforts(segmentId, pagingInstruction);
 		});
 	}
@@ -713,7 +871,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listStarredSegmentsAsync(final Integer athleteId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listStarredSegments(athleteId);
 		});
 	}
@@ -723,7 +881,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<List<StravaSegment>> listStarredSegmentsAsync(final Integer athleteId, final Paging pagingInstruction) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return listStarredSegments(athleteId, pagingInstruction);
 		});
 	}
@@ -751,7 +909,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	@Override
 	public CompletableFuture<StravaSegmentExplorerResponse> segmentExploreAsync(final StravaMapPoint southwestCorner, final StravaMapPoint northeastCorner,
 			final StravaSegmentExplorerActivityType activityType, final StravaClimbCategory minCat, final StravaClimbCategory maxCat) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return segmentExplore(southwestCorner, northeastCorner, activityType, minCat, maxCat);
 		});
 	}
@@ -783,7 +941,7 @@ public class SegmentServiceImpl extends StravaServiceImpl implements SegmentServ
 	 */
 	@Override
 	public CompletableFuture<StravaSegment> starSegmentAsync(Integer segmentId, Boolean starred) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return starSegment(segmentId, starred);
 		});
 	}
@@ -1,14 +1,39 @@
 package javastrava.service.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javastrava.api.API;
+import javastrava.api.async.StravaAPIFuture;
 import javastrava.auth.model.Token;
+import javastrava.config.StravaConfig;
+import javastrava.json.exception.JsonSerialisationException;
 import javastrava.service.async.AsyncCallback;
+import javastrava.service.async.StravaExecutor;
+import javastrava.service.exception.NotFoundException;
+import javastrava.service.exception.StravaUnknownAPIException;
 import javastrava.service.exception.UnauthorizedException;
+import javastrava.util.Flow;
+import javastrava.util.PagingCallback;
+import javastrava.util.PagingCheckpoint;
+import javastrava.util.PagingHandler;
+import javastrava.util.PagingParallelism;
+import javastrava.util.PagingPublisher;
+import javastrava.util.PagingScheduler;
+import javastrava.util.RawJsonResult;
+import javastrava.util.RawJsonUtils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import retrofit.client.Response;
 
 /**
  * <p>
@@ -25,15 +50,207 @@ public abstract class StravaServiceImpl {
 	public static Logger log = LogManager.getLogger();
 
 	/**
+	 * <p>
+	 * Run the callback asynchronously on the service's executor (see {@link #getExecutor()})
+	 * </p>
+	 *
+	 * <p>
+	 * If the executor rejects the callback (for example because its queue is full), the future completes exceptionally with the
+	 * {@link RejectedExecutionException}, rather than it being thrown.
+	 * </p>
+	 *
 	 * @param <T> Type which will be returned by the future
 	 * @param callback Callback with code to be executed
 	 * @return A {@link CompletableFuture}
 	 */
-	protected static <T> CompletableFuture<T> future(final AsyncCallback<T> callback) {
-		final CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> callback.run());
+	protected <T> CompletableFuture<T> future(final AsyncCallback<T> callback) {
+		try {
+			return CompletableFuture.supplyAsync(() -> callback.run(), getExecutor());
+		} catch (final RejectedExecutionException e) {
+			final CompletableFuture<T> future = new CompletableFuture<T>();
+			future.completeExceptionally(e);
+			return future;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Return ALL the data from a paged Strava service, adapting the number of pages requested at once to page latency, the token's rate limit usage and
+	 * server errors (see {@link PagingParallelism#adaptive(javastrava.api.util.StravaRateLimitState)}). Pages are requested on the token's queue in the
+	 * {@link PagingScheduler}, so a long crawl by one token does not hold up listAll calls by other tokens.
+	 * </p>
+	 *
+	 * @param <T> Class of the items returned
+	 * @param callback The callback function that returns one page of data
+	 * @return The list containing all the records; see {@link PagingHandler#handleListAll(PagingCallback, PagingParallelism, java.util.concurrent.Executor)}
+	 */
+	protected <T> List<T> listAll(final PagingCallback<T> callback) {
+		return listAll(callback, (Integer) null);
+	}
+
+	/**
+	 * <p>
+	 * As {@link #listAll(PagingCallback)}, for a list whose size is known (or can be estimated) from another Strava call, so that all the pages can be
+	 * requested at once
+	 * </p>
+	 *
+	 * @param <T> Class of the items returned
+	 * @param callback The callback function that returns one page of data
+	 * @param expectedTotal Number of records the list is expected to have, or <code>null</code> if not known
+	 * @return The list containing all the records; see {@link PagingHandler#handleListAll(PagingCallback, PagingParallelism, java.util.concurrent.Executor, int)}
+	 */
+	protected <T> List<T> listAll(final PagingCallback<T> callback, final Integer expectedTotal) {
+		return PagingHandler.handleListAll(callback, PagingParallelism.adaptive(API.rateLimitState(this.token)),
+				PagingScheduler.defaultScheduler().forToken(this.token.getToken()), (expectedTotal == null ? -1 : Math.max(0, expectedTotal.intValue())));
+	}
+
+	/**
+	 * <p>
+	 * As {@link #listAll(PagingCallback)}, for a list whose size can be estimated from another Strava call made at the same time as the first page is
+	 * requested; the estimate is only waited for, and used, if the first page comes back full
+	 * </p>
+	 *
+	 * @param <T> Class of the items returned
+	 * @param callback The callback function that returns one page of data
+	 * @param expectedTotal Completes with the number of records the list is expected to have, or <code>null</code> if not known
+	 * @return The list containing all the records; see
+	 *         {@link PagingHandler#handleListAll(PagingCallback, PagingParallelism, java.util.concurrent.Executor, CompletableFuture)}
+	 */
+	protected <T> List<T> listAll(final PagingCallback<T> callback, final CompletableFuture<Integer> expectedTotal) {
+		return PagingHandler.handleListAll(callback, PagingParallelism.adaptive(API.rateLimitState(this.token)),
+				PagingScheduler.defaultScheduler().forToken(this.token.getToken()), expectedTotal);
+	}
+
+	/**
+	 * <p>
+	 * Crawl ALL the data from a paged Strava service into a checkpoint, resuming from the last page it holds, with pages requested as by
+	 * {@link #listAll(PagingCallback, Integer)}
+	 * </p>
+	 *
+	 * @param <T> Class of the items crawled
+	 * @param callback The callback function that returns one page of data
+	 * @param checkpoint Where the pages are kept and progress is recorded
+	 * @param expectedTotal Number of records the list is expected to have, or <code>null</code> if not known
+	 * @see PagingHandler#handleCrawl(PagingCallback, PagingCheckpoint, PagingParallelism, java.util.concurrent.Executor, int)
+	 */
+	protected <T> void crawl(final PagingCallback<T> callback, final PagingCheckpoint<T> checkpoint, final Integer expectedTotal) {
+		PagingHandler.handleCrawl(callback, checkpoint, PagingParallelism.adaptive(API.rateLimitState(this.token)),
+				PagingScheduler.defaultScheduler().forToken(this.token.getToken()), (expectedTotal == null ? -1 : Math.max(0, expectedTotal.intValue())));
+	}
+
+	/**
+	 * <p>
+	 * Publish ALL the data from a paged Strava service one item at a time, getting pages on the service's executor (see {@link #getExecutor()}) as the
+	 * subscriber asks for more items
+	 * </p>
+	 *
+	 * @param <T> Class of the items published
+	 * @param callback The callback function that returns one page of data
+	 * @return A {@link PagingPublisher}
+	 */
+	protected <T> Flow.Publisher<T> publisher(final PagingCallback<T> callback) {
+		return new PagingPublisher<T>(callback, getExecutor());
+	}
+
+	/**
+	 * <p>
+	 * Stream ALL the data from a paged Strava service, getting pages only as the stream reaches them, with
+	 * {@link javastrava.config.StravaConfig#PAGING_STREAM_PREFETCH} pages prefetched on the service's executor (see {@link #getExecutor()})
+	 * </p>
+	 *
+	 * @param <T> Class of the items streamed
+	 * @param callback The callback function that returns one page of data
+	 * @return A stream; see {@link PagingHandler#handleStreamAll(PagingCallback, int, java.util.concurrent.Executor)}
+	 */
+	protected <T> Stream<T> stream(final PagingCallback<T> callback) {
+		return PagingHandler.handleStreamAll(callback, StravaConfig.PAGING_STREAM_PREFETCH, getExecutor());
+	}
+
+	/**
+	 * <p>
+	 * Make an asynchronous call to the API, for composing into a non-blocking pipeline. No thread waits for the API to respond; stages composed onto the
+	 * returned future run when the response arrives.
+	 * </p>
+	 *
+	 * @param <T> Type which will be returned by the future
+	 * @param call Makes the asynchronous call to the API
+	 * @return A {@link CompletableFuture} which completes with the API's response, or with the exception thrown by the API
+	 */
+	protected static <T> CompletableFuture<T> apiFuture(final Supplier<StravaAPIFuture<T>> call) {
+		try {
+			return call.get().toCompletableFuture();
+		} catch (final RuntimeException e) {
+			return failedFuture(e);
+		}
+	}
+
+	/**
+	 * @param <T> Type which would have been returned by the future
+	 * @param cause The exception with which the future is to complete
+	 * @return A {@link CompletableFuture} which has already completed with the exception
+	 */
+	protected static <T> CompletableFuture<T> failedFuture(final Throwable cause) {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(cause);
 		return future;
 	}
 
+	/**
+	 * @param error An exception with which a stage of a {@link CompletableFuture} pipeline completed
+	 * @return The exception which caused the stage to fail
+	 */
+	protected static Throwable cause(final Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException) && (cause.getCause() != null)) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * @param error An exception with which a stage of a {@link CompletableFuture} pipeline completed
+	 * @return An exception to throw from a later stage, to fail it with the same cause
+	 */
+	protected static CompletionException failure(final Throwable error) {
+		return new CompletionException(cause(error));
+	}
+
+	/**
+	 * <p>
+	 * Copy the body of a raw response from the API to the output stream untouched, without reading it into model objects (see
+	 * {@link RawJsonUtils#copy(InputStream, OutputStream, boolean)})
+	 * </p>
+	 *
+	 * @param call Makes the call to the API's raw method
+	 * @param out Stream to copy the body to, which is not flushed or closed
+	 * @param validate <code>true</code> to check that the body is well-formed JSON as it is copied
+	 * @return The number of bytes copied, or why nothing was
+	 * @throws IOException If the response can't be read or the output stream can't be written
+	 * @throws UnauthorizedException If the token is not valid (e.g. it has been revoked)
+	 */
+	protected RawJsonResult raw(final Supplier<Response> call, final OutputStream out, final boolean validate) throws IOException {
+		final Response response;
+		try {
+			response = call.get();
+		} catch (final NotFoundException e) {
+			return RawJsonResult.NOT_FOUND;
+		} catch (final UnauthorizedException e) {
+			// As with the model methods, a refusal with a valid token means the resource is private
+			if (accessTokenIsValid()) {
+				return RawJsonResult.PRIVATE;
+			}
+			throw e;
+		}
+		if (response.getBody() == null) {
+			return RawJsonResult.copied(0);
+		}
+		try (InputStream in = response.getBody().in()) {
+			return RawJsonResult.copied(RawJsonUtils.copy(in, out, validate));
+		} catch (final JsonSerialisationException e) {
+			throw new StravaUnknownAPIException(null, null, e);
+		}
+	}
+
 	/**
 	 * The Strava access token in use
 	 */
@@ -44,6 +261,11 @@ public abstract class StravaServiceImpl {
 	 */
 	protected final API api;
 
+	/**
+	 * Executor on which asynchronous methods run, or <code>null</code> to use the {@link StravaExecutor#defaultExecutor() default}
+	 */
+	private volatile Executor executor;
+
 	/**
 	 * <p>
 	 * Protected constructor prevents user from getting a service instance
@@ -75,6 +297,47 @@ public abstract class StravaServiceImpl {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Asynchronously work out if the access token is valid (i.e. has not been revoked)
+	 * </p>
+	 *
+	 * @return Future which completes with <code>true</code> if the token can be used to get the authenticated athlete, <code>false</code> otherwise
+	 */
+	protected CompletableFuture<Boolean> accessTokenIsValidAsync() {
+		return apiFuture(() -> this.api.getAuthenticatedAthleteAsync()).handle((athlete, error) -> {
+			if (error == null) {
+				return Boolean.TRUE;
+			}
+			if (cause(error) instanceof UnauthorizedException) {
+				return Boolean.FALSE;
+			}
+			throw failure(error);
+		});
+	}
+
+	/**
+	 * @return The executor on which this service's asynchronous methods run; the {@link StravaExecutor#defaultExecutor() default} unless one has been set
+	 */
+	public Executor getExecutor() {
+		final Executor configured = this.executor;
+		return (configured == null ? StravaExecutor.defaultExecutor() : configured);
+	}
+
+	/**
+	 * <p>
+	 * Set the executor on which this service's asynchronous methods run. Service instances are shared by everything using the same token (see
+	 * {@link Token#getService(Class)}), so this is best done once, when the token is first put to use; {@link javastrava.service.Strava#Strava(Token, Executor)}
+	 * does it for all of a token's services.
+	 * </p>
+	 *
+	 * @param executor
+	 *            The executor, or <code>null</code> to use the {@link StravaExecutor#defaultExecutor() default}
+	 */
+	public void setExecutor(final Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * Get the Strava access token associated with this service
 	 * @return The token
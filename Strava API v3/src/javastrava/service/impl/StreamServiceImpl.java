@@ -4,14 +4,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javastrava.api.async.StravaAPIFuture;
 import javastrava.auth.model.Token;
 import javastrava.config.Messages;
 import javastrava.model.StravaActivity;
+import javastrava.model.StravaEntity;
 import javastrava.model.StravaSegment;
 import javastrava.model.StravaSegmentEffort;
 import javastrava.model.StravaStream;
+import javastrava.model.StravaStreamFrame;
 import javastrava.model.reference.StravaResourceState;
 import javastrava.model.reference.StravaStreamResolutionType;
 import javastrava.model.reference.StravaStreamSeriesDownsamplingType;
@@ -109,6 +114,51 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 		}
 	}
 
+	/**
+	 * <p>
+	 * Asynchronously get streams from Strava, once it has been established that the activity, effort or segment they belong to exists and is accessible
+	 * </p>
+	 *
+	 * @param owner
+	 *            Future which completes with the activity, effort or segment the streams belong to
+	 * @param unauthorizedIsPrivate
+	 *            If <code>true</code>, an {@link UnauthorizedException} from Strava means the streams are private, so an empty list is returned
+	 * @param streams
+	 *            Makes the asynchronous call to the API to get the streams
+	 * @return Future which completes with <code>null</code> if the owner doesn't exist, with an empty list if it is private, or otherwise with the streams
+	 */
+	private static CompletableFuture<List<StravaStream>> streamsAsync(final CompletableFuture<? extends StravaEntity> owner, final boolean unauthorizedIsPrivate,
+			final Supplier<StravaAPIFuture<StravaStream[]>> streams) {
+		return owner.thenCompose(entity -> {
+			// If it's null, it doesn't exist, so return null
+			if (entity == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+
+			// If it's private, then don't return the streams, just an empty list
+			if (entity.getResourceState() == StravaResourceState.PRIVATE) {
+				return CompletableFuture.completedFuture(new ArrayList<StravaStream>());
+			}
+
+			return apiFuture(streams).handle((streamArray, error) -> {
+				if (error == null) {
+					return Arrays.asList(streamArray);
+				}
+				final Throwable cause = cause(error);
+				if (cause instanceof NotFoundException) {
+					return null;
+				}
+				if (cause instanceof BadRequestException) {
+					throw new CompletionException(new IllegalArgumentException(cause));
+				}
+				if (unauthorizedIsPrivate && (cause instanceof UnauthorizedException)) {
+					return new ArrayList<StravaStream>();
+				}
+				throw failure(cause);
+			});
+		});
+	}
+
 	/**
 	 * <p>
 	 * Private constructor prevents anyone from getting an instance without a valid access token
@@ -176,12 +226,21 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 		return streams;
 	}
 
+	/**
+	 * @see javastrava.service.StreamService#getActivityStreamFrame(java.lang.Long, javastrava.model.reference.StravaStreamType[])
+	 */
+	@Override
+	public StravaStreamFrame getActivityStreamFrame(final Long activityId, final StravaStreamType... types) {
+		final List<StravaStream> streams = getActivityStreams(activityId, types);
+		return (streams == null ? null : new StravaStreamFrame(streams));
+	}
+
 	/**
 	 * @see javastrava.service.StreamService#getActivityStreamsAsync(java.lang.Long)
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getActivityStreamsAsync(final Long activityId) {
-		return StravaServiceImpl.future(() -> getActivityStreams(activityId));
+		return getActivityStreamsAsync(activityId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -191,7 +250,15 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getActivityStreamsAsync(final Long activityId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getActivityStreams(activityId, types));
+		StravaStreamType[] typesToGet = types;
+		if ((typesToGet == null) || (typesToGet.length == 0)) {
+			typesToGet = getAllStreamTypes();
+		}
+		final String typeString = typeString(typesToGet);
+
+		// Check the activity, then get its streams
+		return streamsAsync(this.getToken().getService(ActivityService.class).getActivityAsync(activityId), true,
+				() -> this.api.getActivityStreamsAsync(activityId, typeString, null, null));
 	}
 
 	/**
@@ -240,7 +307,7 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getEffortStreamsAsync(final Long effortId) {
-		return StravaServiceImpl.future(() -> getEffortStreams(effortId));
+		return getEffortStreamsAsync(effortId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -250,7 +317,20 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getEffortStreamsAsync(final Long effortId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getEffortStreams(effortId, resolution, seriesType, types));
+		try {
+			validateArguments(seriesType, types);
+		} catch (final IllegalArgumentException e) {
+			return failedFuture(e);
+		}
+		StravaStreamType[] typesToGet = types;
+		if ((types == null) || (types.length == 0)) {
+			typesToGet = getAllStreamTypes();
+		}
+		final String typeString = typeString(typesToGet);
+
+		// Check that the effort exists and is not private, then get its streams
+		return streamsAsync(this.getToken().getService(SegmentEffortService.class).getSegmentEffortAsync(effortId), false,
+				() -> this.api.getEffortStreamsAsync(effortId, typeString, resolution, seriesType));
 	}
 
 	/**
@@ -303,7 +383,7 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	 */
 	@Override
 	public CompletableFuture<List<StravaStream>> getSegmentStreamsAsync(final Integer segmentId) {
-		return StravaServiceImpl.future(() -> getSegmentStreams(segmentId));
+		return getSegmentStreamsAsync(segmentId, null, null, getAllStreamTypes());
 	}
 
 	/**
@@ -313,7 +393,23 @@ public class StreamServiceImpl extends StravaServiceImpl implements StreamServic
 	@Override
 	public CompletableFuture<List<StravaStream>> getSegmentStreamsAsync(final Integer segmentId, final StravaStreamResolutionType resolution, final StravaStreamSeriesDownsamplingType seriesType,
 			final StravaStreamType... types) {
-		return StravaServiceImpl.future(() -> getSegmentStreams(segmentId, resolution, seriesType, types));
+		try {
+			validateArguments(seriesType, types);
+		} catch (final IllegalArgumentException e) {
+			return failedFuture(e);
+		}
+		if (seriesType == StravaStreamSeriesDownsamplingType.TIME) {
+			return failedFuture(new IllegalArgumentException(Messages.string("StreamServiceImpl.cannotDownsampleSegmentByTime"))); //$NON-NLS-1$
+		}
+		StravaStreamType[] typesToGet = types;
+		if ((types == null) || (types.length == 0)) {
+			typesToGet = getAllStreamTypes();
+		}
+		final String typeString = typeString(typesToGet);
+
+		// Check the segment, then get its streams
+		return streamsAsync(this.getToken().getService(SegmentService.class).getSegmentAsync(segmentId), false,
+				() -> this.api.getSegmentStreamsAsync(segmentId, typeString, resolution, seriesType));
 	}
 
 }
@@ -50,7 +50,7 @@ public class WebhookServiceImpl extends StravaServiceImpl implements WebhookServ
 
 	@Override
 	public CompletableFuture<StravaEventSubscription> createSubscriptionAsync(Integer clientId, String clientSecret, final StravaEventSubscription subscription, final String verifyToken) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return this.api.createSubscription(clientId, clientSecret, subscription.getObjectType(), subscription.getAspectType(), subscription.getCallbackURL(), verifyToken);
 		});
 	}
@@ -64,7 +64,7 @@ public class WebhookServiceImpl extends StravaServiceImpl implements WebhookServ
 
 	@Override
 	public CompletableFuture<Void> deleteSubscriptionAsync(final Integer clientId, final String clientSecret, final Integer subscriptionId) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			this.api.deleteSubscription(subscriptionId, clientId, clientSecret);
 			return null;
 		});
@@ -77,7 +77,7 @@ public class WebhookServiceImpl extends StravaServiceImpl implements WebhookServ
 
 	@Override
 	public CompletableFuture<List<StravaEventSubscription>> listSubscriptionsAsync(final Integer clientId, final String clientSecret) {
-		return StravaServiceImpl.future(() -> {
+		return future(() -> {
 			return Arrays.asList(this.api.listSubscriptions(clientId, clientSecret));
 		});
 	}
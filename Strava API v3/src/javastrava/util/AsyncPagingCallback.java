@@ -0,0 +1,22 @@
+package javastrava.util;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>
+ * Asynchronous equivalent of {@link PagingCallback}, for use with {@link PagingHandler#handlePagingAsync(Paging, AsyncPagingCallback)}
+ * </p>
+ *
+ * @author Dan Shannon
+ * @param <T>
+ *            Class of the object in the list to be returned
+ *
+ */
+public interface AsyncPagingCallback<T> {
+	/**
+	 * @param thisPage The page of data to be returned
+	 * @return Future which completes with the page of data, or with the exception thrown by the API
+	 */
+	public CompletableFuture<List<T>> getPageOfData(final Paging thisPage);
+}
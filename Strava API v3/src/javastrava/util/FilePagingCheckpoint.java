@@ -0,0 +1,267 @@
+package javastrava.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.json.JsonUtil;
+import javastrava.json.exception.JsonSerialisationException;
+import javastrava.json.impl.JsonUtilImpl;
+
+/**
+ * <p>
+ * {@link PagingCheckpoint} which keeps the pages of a crawl in a file, so that the crawl can be resumed after the process is restarted
+ * </p>
+ *
+ * <p>
+ * Each page is appended to the file as a line holding a JSON array of its records, and forced to disk before the page is regarded as done; a last line of
+ * <code>complete</code> marks the crawl as finished. A line left half-written by a crash is dropped when the file is next opened, so that page is simply got
+ * again. Give a new crawl a new (or empty) file; resume one by opening the file it was using.
+ * </p>
+ *
+ * <p>
+ * The first line of the file identifies the crawl: what is being crawled (see {@link PagingCheckpoint#begin(String)}), the page size and the class of the
+ * items. Opening the file as a checkpoint for a different class of item or with a different page size, or using it to resume a different crawl, throws an
+ * {@link IllegalStateException}, rather than adding pages of one crawl to another's, or skipping pages of one because another got that far.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of the items crawled
+ */
+public class FilePagingCheckpoint<T> implements PagingCheckpoint<T> {
+	/**
+	 * Last line of the file of a finished crawl
+	 */
+	private static final String COMPLETE = "complete"; //$NON-NLS-1$
+
+	/**
+	 * Start of the first line of the file, which identifies the crawl
+	 */
+	private static final String HEADER = "crawl "; //$NON-NLS-1$
+
+	/**
+	 * JSON utility used to write and read pages
+	 */
+	private final JsonUtil json = JsonUtilImpl.instance();
+
+	/**
+	 * The file
+	 */
+	private final Path file;
+
+	/**
+	 * Class of an array of the items crawled, which is what each line of the file holds
+	 */
+	private final Class<T[]> arrayClass;
+
+	/**
+	 * End of the line identifying the crawl, which holds the page size and the class of the items crawled
+	 */
+	private final String headerSuffix;
+
+	/**
+	 * The line identifying the crawl, or <code>null</code> if the file doesn't have one yet
+	 */
+	private String header;
+
+	/**
+	 * Number of pages in the file
+	 */
+	private int pagesCompleted;
+
+	/**
+	 * Set if the file is marked as complete
+	 */
+	private boolean complete;
+
+	/**
+	 * @param file
+	 *            The file in which to keep the pages; if it already holds pages, the crawl resumes after them
+	 * @param type
+	 *            Class of the items crawled
+	 */
+	@SuppressWarnings("unchecked")
+	public FilePagingCheckpoint(final Path file, final Class<T> type) {
+		this.file = file;
+		this.arrayClass = (Class<T[]>) Array.newInstance(type, 0).getClass();
+		this.headerSuffix = " page_size=" + StravaConfig.MAX_PAGE_SIZE + " type=" + type.getName(); //$NON-NLS-1$ //$NON-NLS-2$
+		load();
+	}
+
+	/**
+	 * <p>
+	 * Write the line identifying the crawl to a new file, or check that an existing file is for the same crawl
+	 * </p>
+	 *
+	 * @see javastrava.util.PagingCheckpoint#begin(java.lang.String)
+	 */
+	@Override
+	public synchronized void begin(final String crawl) {
+		final String expected = HEADER + crawl + this.headerSuffix;
+		if (this.header == null) {
+			if ((this.pagesCompleted > 0) || this.complete) {
+				throw new IllegalStateException(String.format(Messages.string("FilePagingCheckpoint.noHeader"), this.file)); //$NON-NLS-1$
+			}
+			append(expected);
+			this.header = expected;
+		} else if (!this.header.equals(expected)) {
+			throw new IllegalStateException(String.format(Messages.string("FilePagingCheckpoint.differentCrawl"), this.file, this.header, expected)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @see javastrava.util.PagingCheckpoint#getPagesCompleted()
+	 */
+	@Override
+	public synchronized int getPagesCompleted() {
+		return this.pagesCompleted;
+	}
+
+	/**
+	 * @see javastrava.util.PagingCheckpoint#isComplete()
+	 */
+	@Override
+	public synchronized boolean isComplete() {
+		return this.complete;
+	}
+
+	/**
+	 * @see javastrava.util.PagingCheckpoint#pageCompleted(int, java.util.List)
+	 */
+	@Override
+	public synchronized void pageCompleted(final int page, final List<T> records) {
+		if ((page != (this.pagesCompleted + 1)) || this.complete) {
+			throw new IllegalStateException(String.format(Messages.string("FilePagingCheckpoint.outOfOrder"), Integer.valueOf(page), Integer.valueOf(this.pagesCompleted))); //$NON-NLS-1$
+		}
+		final String line;
+		try {
+			line = this.json.serialise(records);
+		} catch (final JsonSerialisationException e) {
+			throw new IllegalStateException(e);
+		}
+		append(line);
+		this.pagesCompleted = page;
+	}
+
+	/**
+	 * @see javastrava.util.PagingCheckpoint#complete()
+	 */
+	@Override
+	public synchronized void complete() {
+		if (!this.complete) {
+			append(COMPLETE);
+			this.complete = true;
+		}
+	}
+
+	/**
+	 * @return All the records in the file so far, in order
+	 */
+	public synchronized List<T> getRecords() {
+		final List<T> records = new ArrayList<T>();
+		if (!Files.exists(this.file)) {
+			return records;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+			String line = reader.readLine();
+			if ((line != null) && line.startsWith(HEADER)) {
+				line = reader.readLine();
+			}
+			while ((line != null) && !line.equals(COMPLETE)) {
+				records.addAll(Arrays.asList(this.json.deserialise(line, this.arrayClass)));
+				line = reader.readLine();
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (final JsonSerialisationException e) {
+			throw new IllegalStateException(e);
+		}
+		return records;
+	}
+
+	/**
+	 * Count the pages in the file, dropping any half-written line at the end, and check that the line identifying the crawl is for the same page size and
+	 * class of item
+	 */
+	private void load() {
+		if (!Files.exists(this.file)) {
+			return;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(this.file.toFile(), "rw")) { //$NON-NLS-1$
+			long end = raf.length();
+			while (end > 0) {
+				raf.seek(end - 1);
+				if (raf.read() == '\n') {
+					break;
+				}
+				end--;
+			}
+			raf.setLength(end);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+			String line = reader.readLine();
+			if ((line != null) && line.startsWith(HEADER)) {
+				if (!line.endsWith(this.headerSuffix)) {
+					throw new IllegalStateException(String.format(Messages.string("FilePagingCheckpoint.differentCrawl"), this.file, line, //$NON-NLS-1$
+							HEADER + "..." + this.headerSuffix)); //$NON-NLS-1$
+				}
+				this.header = line;
+				line = reader.readLine();
+			}
+			while (line != null) {
+				if (line.equals(COMPLETE)) {
+					this.complete = true;
+				} else {
+					this.pagesCompleted++;
+				}
+				line = reader.readLine();
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Append a line to the file and force it to disk
+	 *
+	 * @param line
+	 *            The line
+	 */
+	private void append(final String line) {
+		try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			final ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "FilePagingCheckpoint [file=" + this.file + ", header=" + this.header + ", pagesCompleted=" + this.pagesCompleted + ", complete=" + this.complete //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ "]"; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,103 @@
+package javastrava.util;
+
+/**
+ * <p>
+ * Interfaces for publishing data to subscribers which control how much they receive, for use by {@link PagingPublisher}
+ * </p>
+ *
+ * <p>
+ * These have the same methods and rules as the <a href="http://www.reactive-streams.org/">Reactive Streams</a> interfaces and Java 9's
+ * <code>java.util.concurrent.Flow</code>, neither of which is available to javastrava, so an adapter to either is a matter of delegating each method.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class Flow {
+	/**
+	 * <p>
+	 * Source of items, which are sent to each subscriber as it asks for them
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of the items published
+	 */
+	public static interface Publisher<T> {
+		/**
+		 * <p>
+		 * Add a subscriber; {@link Subscriber#onSubscribe(Subscription)} is called before any other method of the subscriber
+		 * </p>
+		 *
+		 * @param subscriber
+		 *            The subscriber
+		 */
+		public void subscribe(Subscriber<? super T> subscriber);
+	}
+
+	/**
+	 * <p>
+	 * Receiver of items from a {@link Publisher}. The methods are never called concurrently.
+	 * </p>
+	 *
+	 * @param <T>
+	 *            Class of the items received
+	 */
+	public static interface Subscriber<T> {
+		/**
+		 * @param subscription
+		 *            The subscription, used to ask for items or to cancel
+		 */
+		public void onSubscribe(Subscription subscription);
+
+		/**
+		 * @param item
+		 *            The next item; called no more times in total than the subscriber has asked for
+		 */
+		public void onNext(T item);
+
+		/**
+		 * @param throwable
+		 *            The failure which ended the subscription; no more methods will be called
+		 */
+		public void onError(Throwable throwable);
+
+		/**
+		 * <p>
+		 * Called when there are no more items; no more methods will be called
+		 * </p>
+		 */
+		public void onComplete();
+	}
+
+	/**
+	 * <p>
+	 * Link between a {@link Publisher} and one of its {@link Subscriber subscribers}
+	 * </p>
+	 */
+	public static interface Subscription {
+		/**
+		 * <p>
+		 * Ask for up to <code>n</code> more items. Requests add up; {@link Long#MAX_VALUE} asks for everything.
+		 * </p>
+		 *
+		 * @param n
+		 *            Number of items; if not positive, the subscriber's {@link Subscriber#onError(Throwable)} is called with an
+		 *            {@link IllegalArgumentException}
+		 */
+		public void request(long n);
+
+		/**
+		 * <p>
+		 * Stop sending items. Items already on their way may still arrive.
+		 * </p>
+		 */
+		public void cancel();
+	}
+
+	/**
+	 * No instances
+	 */
+	private Flow() {
+		// Holds interfaces only
+	}
+}
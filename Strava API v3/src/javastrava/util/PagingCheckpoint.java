@@ -0,0 +1,70 @@
+package javastrava.util;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Where a crawl through ALL the data from a paged Strava service (see
+ * {@link PagingHandler#handleCrawl(PagingCallback, PagingCheckpoint, PagingParallelism, java.util.concurrent.Executor, int)}) keeps the pages it has got
+ * and records how far it has got, so that if it is interrupted it can carry on from where it left off
+ * </p>
+ *
+ * <p>
+ * Pages are handed over in order, one at a time, as soon as they and all the pages before them have been got. An implementation which keeps them somewhere
+ * that survives a restart (such as {@link FilePagingCheckpoint}) lets a crawl be resumed by a new process without getting those pages from Strava again.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of the items crawled
+ */
+public interface PagingCheckpoint<T> {
+	/**
+	 * <p>
+	 * Called before a crawl uses the checkpoint, with a description of what is being crawled (the Strava endpoint, including the ids and filters in it), so
+	 * that a checkpoint which survives a restart can check that it is being used to resume the same crawl it holds pages of, rather than a different one
+	 * </p>
+	 *
+	 * <p>
+	 * By default nothing is checked.
+	 * </p>
+	 *
+	 * @param crawl
+	 *            What is being crawled, such as <code>/clubs/123/members</code>
+	 * @throws IllegalStateException
+	 *             If the checkpoint holds pages of a different crawl
+	 */
+	public default void begin(final String crawl) {
+		// Nothing to check
+	}
+
+	/**
+	 * @return Number of pages already handed over, so the crawl carries on from the page after this one
+	 */
+	public int getPagesCompleted();
+
+	/**
+	 * @return <code>true</code> if the crawl has already reached the last page, in which case it makes no more calls to Strava
+	 */
+	public boolean isComplete();
+
+	/**
+	 * <p>
+	 * Keep the next page of data; when this returns the page is regarded as done, and it won't be got again
+	 * </p>
+	 *
+	 * @param page
+	 *            Page number, which is always one more than {@link #getPagesCompleted()}
+	 * @param records
+	 *            The records on the page
+	 */
+	public void pageCompleted(int page, List<T> records);
+
+	/**
+	 * <p>
+	 * Record that the last page has been handed over
+	 * </p>
+	 */
+	public void complete();
+}
@@ -11,7 +11,10 @@ import javastrava.service.exception.NotFoundException;
  * @author Dan Shannon
  *
  * @param <T> Class of objects which will be returned in a list
+ * @deprecated No longer used by {@link PagingHandler}, which gets pages on the I/O threads of the {@link PagingScheduler} rather than in a CPU-sized
+ *             {@link java.util.concurrent.ForkJoinPool}
  */
+@Deprecated
 public class PagingForkJoinTask<T> extends RecursiveTask<List<T>> {
 
 	/**
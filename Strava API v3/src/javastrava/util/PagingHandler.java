@@ -1,9 +1,27 @@
 package javastrava.util;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ForkJoinPool;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javastrava.config.Messages;
 import javastrava.config.StravaConfig;
 import javastrava.service.exception.BadRequestException;
 import javastrava.service.exception.NotFoundException;
@@ -23,10 +41,6 @@ import javastrava.service.impl.ActivityServiceImpl;
  *
  */
 public class PagingHandler {
-	/**
-	 * A ForkJoinPool used for parallel processing of large paging requests
-	 */
-	private static ForkJoinPool pool = new ForkJoinPool();
 	/**
 	 * <p>
 	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
@@ -40,12 +54,16 @@ public class PagingHandler {
 	 * The {@link PagingCallback} provides the method to return a single page of data
 	 * </p>
 	 *
+	 * <p>
+	 * Pages are requested on the {@link PagingScheduler}'s shared queue, as by {@link #handleListAll(PagingCallback, PagingParallelism)}
+	 * </p>
+	 *
 	 * @param callback The callback function that returns one page of data
 	 * @param <T> the parameterised type of list to be returned
 	 * @return The list containing all the records
 	 */
 	public static <T> List<T> handleListAll(final PagingCallback<T> callback) {
-		return handleListAll(callback, StravaConfig.PAGING_LIST_ALL_PARALLELISM);
+		return handleListAll(callback, PagingParallelism.adaptive(null));
 	}
 
 	/**
@@ -61,43 +79,529 @@ public class PagingHandler {
 	 * The {@link PagingCallback} provides the method to return a single page of data
 	 * </p>
 	 *
+	 * <p>
+	 * Pages are requested on the {@link PagingScheduler}'s shared queue, as by {@link #handleListAll(PagingCallback, PagingParallelism)}
+	 * </p>
+	 *
 	 * @param callback The callback function that returns one page of data
 	 * @param <T> the parameterised type of list to be returned
-	 * @param parallelism How many concurrent pages should be retrieved. This gives the user an opportunity to specify the right number of pages if
+	 * @param parallelism How many pages should be requested at once; if 0, {@link StravaConfig#PAGING_LIST_ALL_PARALLELISM} is used
 	 * @return The list containing all the records
 	 */
 	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final int parallelism) {
-		int parallelismUsed = parallelism;
-		if (parallelismUsed == 0) {
-			parallelismUsed = StravaConfig.PAGING_LIST_ALL_PARALLELISM;
-		}
-		boolean loop = true;
+		return handleListAll(callback, PagingParallelism.fixed(parallelism == 0 ? StravaConfig.PAGING_LIST_ALL_PARALLELISM : parallelism));
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * The {@link PagingCallback} provides the method to return a single page of data
+	 * </p>
+	 *
+	 * <p>
+	 * Pages are requested as a pipeline: as many requests as the {@link PagingParallelism} allows are kept in flight, the next page being asked for as soon as
+	 * any page arrives, so one slow page doesn't hold up the rest. Each page's latency, and any server error, is reported to the {@link PagingParallelism},
+	 * which backs off; the page is only requested again if the parallelism says so (when retries are turned off). Once a page comes back short no more are
+	 * requested, and the pages are put together in order at the end.
+	 * </p>
+	 *
+	 * <p>
+	 * The pages are requested on the {@link PagingScheduler}'s shared queue, which every caller of these overloads shares whatever its token, so they get
+	 * none of the fairness between tokens that the scheduler gives. To have a token's requests queued fairly with other tokens', pass its queue to
+	 * {@link #handleListAll(PagingCallback, PagingParallelism, Executor)} (see {@link PagingScheduler#forToken(String)}).
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list to be returned
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final PagingParallelism parallelism) {
+		return handleListAll(callback, parallelism, PagingScheduler.defaultScheduler().shared());
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * As {@link #handleListAll(PagingCallback, PagingParallelism)}, with the pages requested on the given executor, such as the access token's queue in the
+	 * {@link PagingScheduler}
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list to be returned
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final PagingParallelism parallelism, final Executor executor) {
+		return handleListAll(callback, parallelism, executor, -1);
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * As {@link #handleListAll(PagingCallback, PagingParallelism, Executor)}, but finding out how many pages there are as early as possible so that the rest
+	 * can all be requested at once (see {@link PagingParallelism#expectPages(int)}), rather than a few at a time until one comes back short. While pages are
+	 * requested in order, one of the pages in flight is a probe further ahead: first the page the expected total ends on, if there is one, then pages twice
+	 * as far in as the last full page until one comes back short, then pages halfway between the last full page and the first short one until the last page
+	 * is found. Probes for lists which turn out to be short (i.e. without an expected total, and before the first round of pages has come back full) are not
+	 * made. Pages got by probing are part of the list, so the only requests wasted are probes past the end.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list to be returned
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @param expectedTotal Number of records the list is expected to have, such as a count from another Strava call, or -1 if not known; it need not be
+	 *            exact
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final PagingParallelism parallelism, final Executor executor, final int expectedTotal) {
+		return listAll(callback, parallelism, executor, expectedTotal, null);
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data, by simply getting pages 1..n until there's no more data to retrieve
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * As {@link #handleListAll(PagingCallback, PagingParallelism, Executor, int)}, with an expected total which is still being got, such as by a Strava call
+	 * made at the same time as the first page is requested. Most lists fit on one page, so the total is only waited for, and used, if the first page comes
+	 * back full; otherwise it is cancelled, and if it can't be got the pages are requested as they would be without one.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list to be returned
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @param expectedTotal Completes with the number of records the list is expected to have, or <code>null</code> if not known; it need not be exact
+	 * @return The list containing all the records
+	 */
+	public static <T> List<T> handleListAll(final PagingCallback<T> callback, final PagingParallelism parallelism, final Executor executor,
+			final CompletableFuture<Integer> expectedTotal) {
+		return listAll(callback, parallelism, executor, -1, expectedTotal);
+	}
+
+	/**
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list to be returned
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @param expectedTotal Number of records the list is expected to have, or -1 if not known
+	 * @param laterTotal Completes with the number of records the list is expected to have, to be used if the first page is full; or <code>null</code>
+	 * @return The list containing all the records
+	 */
+	private static <T> List<T> listAll(final PagingCallback<T> callback, final PagingParallelism parallelism, final Executor executor, final int expectedTotal,
+			final CompletableFuture<Integer> laterTotal) {
 		final List<T> records = new ArrayList<T>();
-		int page = 0;
-		final Integer pageSize = Integer.valueOf(StravaConfig.MAX_PAGE_SIZE.intValue() * parallelismUsed);
+		try {
+			getPages(callback, parallelism, executor, expectedTotal, laterTotal, 1, (pageRecords, page) -> records.addAll(pageRecords));
+		} catch (final NotFoundException e) {
+			return null;
+		} catch (final UnauthorizedException e) {
+			return new ArrayList<T>();
+		} catch (final BadRequestException e) {
+			return new ArrayList<T>();
+		}
+		return records;
+
+	}
+
+	/**
+	 * <p>
+	 * Gets ALL the data from a Strava service that would normally only return a page of data, handing each page to the checkpoint as soon as it and all the
+	 * pages before it have arrived, so that a crawl which is interrupted can be resumed from where it left off
+	 * </p>
+	 *
+	 * <p>
+	 * USE WITH CAUTION! THIS WILL VERY RAPIDLY EAT THROUGH YOUR STRAVA QUOTA!
+	 * </p>
+	 *
+	 * <p>
+	 * Pages are requested as by {@link #handleListAll(PagingCallback, PagingParallelism, Executor, int)}, starting from the page after the last one the
+	 * checkpoint has; a checkpoint which is already complete makes no calls at all. Unlike handleListAll, failures are not hidden: if a page can't be got
+	 * (including because the data is not accessible, Strava rejects the paging instructions or the rate limit has been reached) the exception is thrown,
+	 * leaving the checkpoint with every page before the failed one, and if the thing being paged does not exist a {@link NotFoundException} is thrown.
+	 * Calling this again with the same checkpoint carries on from there.
+	 * </p>
+	 *
+	 * <p>
+	 * The checkpoint is not told what is being crawled; call {@link PagingCheckpoint#begin(String)} first, as the service crawlAll methods do, so that a
+	 * checkpoint which survives a restart can refuse to resume a different crawl.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param checkpoint Where the pages are kept and progress is recorded
+	 * @param <T> the parameterised type of list to be crawled
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @param expectedTotal Number of records the list is expected to have, or -1 if not known; it need not be exact
+	 */
+	public static <T> void handleCrawl(final PagingCallback<T> callback, final PagingCheckpoint<T> checkpoint, final PagingParallelism parallelism, final Executor executor,
+			final int expectedTotal) {
+		if (checkpoint.isComplete()) {
+			return;
+		}
+		getPages(callback, parallelism, executor, expectedTotal, null, checkpoint.getPagesCompleted() + 1,
+				(records, page) -> checkpoint.pageCompleted(page, records));
+		checkpoint.complete();
+	}
+
+	/**
+	 * <p>
+	 * Get pages from <code>firstPage</code> to the end of the data, handing each one to the sink as soon as it and all the pages before it have arrived
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param <T> the parameterised type of list being paged
+	 * @param parallelism Decides how many pages should be requested at once
+	 * @param executor Executor on which the pages are requested
+	 * @param expectedTotal Number of records the list is expected to have, or -1 if not known
+	 * @param laterTotal Completes with the number of records the list is expected to have, to be waited for and used only if the first page is full; or
+	 *            <code>null</code>
+	 * @param firstPage The first page to get; all the pages before it are taken to be full
+	 * @param sink Given each page's records, and its page number, in page order
+	 * @throws NotFoundException If the thing being paged does not exist
+	 */
+	private static <T> void getPages(final PagingCallback<T> callback, final PagingParallelism parallelism, final Executor executor, final int expectedTotal,
+			final CompletableFuture<Integer> laterTotal, final int firstPage, final ObjIntConsumer<List<T>> sink) {
+		final int pageSize = StravaConfig.MAX_PAGE_SIZE.intValue();
+
+		// Keep pages in flight, asking for the next page as each one arrives, until one comes back short
+		final CompletionService<PageOfData<T>> completionService = new ExecutorCompletionService<PageOfData<T>>(executor);
+		// Only the pages still in flight are kept, as a completed future holds on to its page of records
+		final Map<Integer, Future<PageOfData<T>>> futures = new HashMap<Integer, Future<PageOfData<T>>>();
+		final List<List<T>> pages = new ArrayList<List<T>>();
+		final BitSet requested = new BitSet();
+		int lastPage = Integer.MAX_VALUE;
+		int nextPage = firstPage;
+		int inFlight = 0;
+		int received = firstPage - 1;
+
+		// Probing for the last page: the last page known to be full, the page being probed (0 if none), and the page to probe first
+		int expectedPages = expectedPages(expectedTotal, pageSize);
+		int probeAfter = (expectedPages > 0 ? 0 : (firstPage - 1) + parallelism.getParallelism());
+		boolean awaitingTotal = (laterTotal != null);
+		final int speculative = parallelism.getParallelism();
+		int lastFullPage = firstPage - 1;
+		int probePage = 0;
+		boolean lastPageFound = false;
+		if (expectedPages > 0) {
+			parallelism.expectPages(expectedPages);
+		}
+		try {
+			while (received < lastPage) {
+				while (inFlight < parallelism.getParallelism()) {
+					int page = 0;
+					if ((probePage == 0) && !lastPageFound && (parallelism.getParallelism() > 1)) {
+						page = nextProbe(expectedPages, probeAfter, lastFullPage, lastPage, requested);
+						probePage = page;
+					}
+					if (page == 0) {
+						while (requested.get(nextPage)) {
+							nextPage++;
+						}
+
+						// Until the last page is found, only get a few pages past those known (or expected) to exist
+						final int knownPages = Math.max(lastFullPage, (lastPage == Integer.MAX_VALUE ? expectedPages - 1 : 0));
+						if (nextPage > (lastPageFound ? lastPage : Math.min(lastPage, knownPages + speculative))) {
+							break;
+						}
+						page = nextPage++;
+					}
+					requested.set(page);
+					futures.put(Integer.valueOf(page), completionService.submit(pageOfData(callback, page, pageSize)));
+					inFlight++;
+				}
+				final PageOfData<T> result = take(completionService);
+				futures.remove(Integer.valueOf(result.page));
+				inFlight--;
+				if (result.error != null) {
+					if (parallelism.pageFailed(result.error)) {
+						futures.put(Integer.valueOf(result.page), completionService.submit(pageOfData(callback, result.page, pageSize)));
+						inFlight++;
+						continue;
+					}
+					throw result.error;
+				}
+				parallelism.pageReceived(result.latency);
+				if (result.records == null) {
+					throw new NotFoundException(Messages.string("PagingHandler.notFound")); //$NON-NLS-1$
+				}
+				if (result.page == probePage) {
+					probePage = 0;
+				}
+				if (awaitingTotal && (result.page == firstPage)) {
+					// A list which fits on its first page needs no estimate, so only then is it waited for
+					awaitingTotal = false;
+					if (result.records.size() < pageSize) {
+						laterTotal.cancel(false);
+					} else {
+						expectedPages = expectedPages(total(laterTotal), pageSize);
+						if (expectedPages > 0) {
+							probeAfter = 0;
+							parallelism.expectPages(expectedPages);
+						}
+					}
+				}
+				while (pages.size() <= (result.page - firstPage)) {
+					pages.add(null);
+				}
+				pages.set(result.page - firstPage, result.records);
+				if (result.records.size() < pageSize) {
+					lastPage = Math.min(lastPage, result.page);
+					lastPageFound = lastPageFound || !result.records.isEmpty();
+				} else {
+					lastFullPage = Math.max(lastFullPage, result.page);
+				}
+
+				// Hand over the pages which have now arrived in order
+				while ((received < lastPage) && ((received + 1 - firstPage) < pages.size()) && (pages.get(received + 1 - firstPage) != null)) {
+					sink.accept(pages.get(received + 1 - firstPage), received + 1);
+					pages.set(received + 1 - firstPage, null);
+					received++;
+				}
+				if (lastPage != Integer.MAX_VALUE) {
+					lastPageFound = lastPageFound || (lastFullPage >= (lastPage - 1));
+				}
+				if (lastPageFound) {
+					parallelism.expectPages(lastPage - received);
+				}
+			}
+		} finally {
+			for (final Future<PageOfData<T>> future : futures.values()) {
+				future.cancel(false);
+			}
+			if (awaitingTotal) {
+				laterTotal.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * @param expectedTotal
+	 *            Number of records the list is expected to have, or -1 if not known
+	 * @param pageSize
+	 *            Page size
+	 * @return The page the list is expected to end on, or 0 if not known
+	 */
+	private static int expectedPages(final int expectedTotal, final int pageSize) {
+		return (expectedTotal < 0 ? 0 : (expectedTotal / pageSize) + 1);
+	}
 
-		while (loop) {
-			page++;
-			List<T> currentPage;
+	/**
+	 * Wait for an expected total which is being got
+	 *
+	 * @param total
+	 *            Completes with the number of records the list is expected to have, or <code>null</code> if not known
+	 * @return The total, or -1 if it is not known or couldn't be got
+	 */
+	private static int total(final CompletableFuture<Integer> total) {
+		try {
+			final Integer value = total.join();
+			return (value == null ? -1 : Math.max(0, value.intValue()));
+		} catch (final CompletionException | CancellationException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Choose the next page to probe for the last page of a list
+	 *
+	 * @param expectedPages
+	 *            The page the list is expected to end on, or 0 if not known
+	 * @param probeAfter
+	 *            Probing starts once this page is known to be full
+	 * @param lastFullPage
+	 *            The last page known to be full
+	 * @param lastPage
+	 *            The first page known to be short, or {@link Integer#MAX_VALUE} if none is known
+	 * @param requested
+	 *            The pages already requested
+	 * @return The page to probe, or 0 if there is none worth probing yet
+	 */
+	private static int nextProbe(final int expectedPages, final int probeAfter, final int lastFullPage, final int lastPage, final BitSet requested) {
+		int probe;
+		if (lastPage == Integer.MAX_VALUE) {
+			// Look further ahead, starting from the expected end of the list, if there is one
+			if ((expectedPages > lastFullPage) && !requested.get(expectedPages)) {
+				return expectedPages;
+			}
+			if ((lastFullPage == 0) || (lastFullPage < probeAfter)) {
+				return 0;
+			}
+			probe = lastFullPage * 2;
+			while (requested.get(probe) && (probe < (Integer.MAX_VALUE / 2))) {
+				probe = probe * 2;
+			}
+		} else {
+			// Narrow down where the list ends
+			probe = lastFullPage + ((lastPage - lastFullPage) / 2);
+			if ((probe <= lastFullPage) || requested.get(probe)) {
+				return 0;
+			}
+		}
+		return probe;
+	}
+
+	/**
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 * @param page
+	 *            Page number
+	 * @param pageSize
+	 *            Page size
+	 * @param <T>
+	 *            the parameterised type of list being paged
+	 * @return Task which gets the page, timing how long it takes and catching any failure
+	 */
+	private static <T> Callable<PageOfData<T>> pageOfData(final PagingCallback<T> callback, final int page, final int pageSize) {
+		return () -> {
+			final long start = System.nanoTime();
 			try {
-				currentPage = handlePaging(new Paging(Integer.valueOf(page), pageSize), callback);
-			} catch (final NotFoundException e) {
-				return null;
-			} catch (final UnauthorizedException e) {
-				return new ArrayList<T>();
-			} catch (final BadRequestException e) {
-				return new ArrayList<T>();
+				final List<T> records = callback.getPageOfData(new Paging(Integer.valueOf(page), Integer.valueOf(pageSize)));
+				return new PageOfData<T>(page, records, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			} catch (final RuntimeException e) {
+				return new PageOfData<T>(page, null, e, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 			}
-			if (currentPage == null) {
-				return null; // Activity doesn't exist
+		};
+	}
+
+	/**
+	 * Wait for the next page to arrive
+	 *
+	 * @param completionService
+	 *            The completion service to which the requests for pages were submitted
+	 * @param <T>
+	 *            the parameterised type of list being paged
+	 * @return The page
+	 */
+	private static <T> PageOfData<T> take(final CompletionService<PageOfData<T>> completionService) {
+		try {
+			return completionService.take().get();
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
-			records.addAll(currentPage);
-			if (currentPage.size() < pageSize.intValue()) {
-				loop = false;
+			throw new CompletionException(e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Wait for a page to arrive
+	 *
+	 * @param future
+	 *            The page being got
+	 * @param <T>
+	 *            the parameterised type of list being paged
+	 * @return The page
+	 */
+	private static <T> List<T> join(final CompletableFuture<List<T>> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
+			throw e;
 		}
-		return records;
+	}
 
+	/**
+	 * A page of data returned by a {@link PagingCallback}, or the failure to get it, with its page number
+	 *
+	 * @param <T>
+	 *            Class of the objects in the page
+	 */
+	private static class PageOfData<T> {
+		/**
+		 * Page number
+		 */
+		final int page;
+
+		/**
+		 * The records on the page, or <code>null</code> if the thing being paged does not exist
+		 */
+		final List<T> records;
+
+		/**
+		 * The failure, if the page could not be got
+		 */
+		final RuntimeException error;
+
+		/**
+		 * Time taken to get the page, in milliseconds
+		 */
+		final long latency;
+
+		/**
+		 * @param page
+		 *            Page number
+		 * @param records
+		 *            The records on the page
+		 * @param error
+		 *            The failure, if the page could not be got
+		 * @param latency
+		 *            Time taken to get the page, in milliseconds
+		 */
+		PageOfData(final int page, final List<T> records, final RuntimeException error, final long latency) {
+			this.page = page;
+			this.records = records;
+			this.error = error;
+			this.latency = latency;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Returns ALL the data from a Strava service that would normally only return a page of data as a {@link Stream}, getting pages 1..n only as the stream
+	 * reaches them
+	 * </p>
+	 *
+	 * <p>
+	 * Unlike {@link #handleListAll(PagingCallback)}, only the page being read is held in memory, and a short-circuiting operation such as
+	 * {@link Stream#limit(long)} or {@link Stream#findFirst()} stops further pages being requested. Closing the stream stops any pages being prefetched. See
+	 * {@link PagingIterator}.
+	 * </p>
+	 *
+	 * @param callback The callback function that returns one page of data
+	 * @param prefetch Number of pages to get in the background, ahead of the page being read; if 0, each page is got on the thread reading the stream
+	 * @param executor Executor on which pages are prefetched
+	 * @param <T> the parameterised type of the stream to be returned
+	 * @return Sequential, ordered stream of all the records
+	 */
+	public static <T> Stream<T> handleStreamAll(final PagingCallback<T> callback, final int prefetch, final Executor executor) {
+		final PagingIterator<T> iterator = new PagingIterator<T>(callback, prefetch, executor);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
 	}
 
 	/**
@@ -123,6 +627,11 @@ public class PagingHandler {
 		try {
 			final List<Paging> pages = PagingUtils.convertToStravaPaging(pagingInstruction);
 
+			// If there's nothing to get, there are no records
+			if (pages.isEmpty()) {
+				return records;
+			}
+
 			// If there's only the one page to get, don't bother going all parallel!
 			if (pages.size() == 1) {
 				final Paging paging = pages.get(0);
@@ -132,8 +641,27 @@ public class PagingHandler {
 				return records;
 			}
 
-			// But if there is more than one, get them in parallel
-			records = pool.invoke(new PagingForkJoinTask<T>(callback, pages));
+			// But if there is more than one, get them in parallel (or one after another, if this is already one of the scheduler's threads)
+			final List<CompletableFuture<List<T>>> pageFutures = new ArrayList<>();
+			for (final Paging paging : pages) {
+				pageFutures.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return PagingUtils.ignoreFirstN(PagingUtils.ignoreLastN(callback.getPageOfData(paging), paging.getIgnoreLastN()), paging.getIgnoreFirstN());
+					} catch (final NotFoundException | BadRequestException e) {
+						return null;
+					}
+				}, PagingScheduler.defaultScheduler().shared()));
+			}
+			records = null;
+			for (final CompletableFuture<List<T>> pageFuture : pageFutures) {
+				final List<T> page = join(pageFuture);
+				if (page != null) {
+					if (records == null) {
+						records = new ArrayList<>();
+					}
+					records.addAll(page);
+				}
+			}
 		} catch (final NotFoundException e) {
 			return null;
 		} catch (final UnauthorizedException e) {
@@ -144,4 +672,62 @@ public class PagingHandler {
 		return records;
 
 	}
+
+	/**
+	 * <p>
+	 * Asynchronous equivalent of {@link #handlePaging(Paging, PagingCallback)}: validates paging instructions, converts them to Strava-compatible paging
+	 * instructions and requests all the pages at once, without blocking a thread while waiting for them
+	 * </p>
+	 *
+	 * <p>
+	 * As with {@link #handlePaging(Paging, PagingCallback)}, the future completes with <code>null</code> if the thing being paged does not exist, and with an
+	 * empty list if it is not accessible or the paging instructions are rejected by Strava
+	 * </p>
+	 *
+	 * @param pagingInstruction
+	 *            The overarching paging instruction to be managed
+	 * @param callback
+	 *            An implementation of AsyncPagingCallback which asynchronously gets the relevant page of data from the Strava API
+	 * @param <T>
+	 *            The class of objects which will be returned in the list
+	 * @return Future which completes with the list of strava objects as per the paging instruction
+	 */
+	public static <T> CompletableFuture<List<T>> handlePagingAsync(final Paging pagingInstruction, final AsyncPagingCallback<T> callback) {
+		final List<CompletableFuture<List<T>>> pageFutures = new ArrayList<>();
+		try {
+			PagingUtils.validatePagingArguments(pagingInstruction);
+			for (final Paging paging : PagingUtils.convertToStravaPaging(pagingInstruction)) {
+				pageFutures.add(callback.getPageOfData(paging).thenApply(records -> PagingUtils.ignoreFirstN(PagingUtils.ignoreLastN(records, paging.getIgnoreLastN()), paging.getIgnoreFirstN())));
+			}
+		} catch (final RuntimeException e) {
+			final CompletableFuture<List<T>> future = new CompletableFuture<List<T>>();
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		return CompletableFuture.allOf(pageFutures.toArray(new CompletableFuture<?>[pageFutures.size()])).handle((ignored, error) -> {
+			if (error != null) {
+				Throwable cause = error;
+				while ((cause instanceof CompletionException) && (cause.getCause() != null)) {
+					cause = cause.getCause();
+				}
+				if (cause instanceof NotFoundException) {
+					return null;
+				}
+				if ((cause instanceof UnauthorizedException) || (cause instanceof BadRequestException)) {
+					return new ArrayList<T>();
+				}
+				throw new CompletionException(cause);
+			}
+
+			final List<T> records = new ArrayList<>();
+			for (final CompletableFuture<List<T>> pageFuture : pageFutures) {
+				final List<T> page = pageFuture.join();
+				if (page != null) {
+					records.addAll(page);
+				}
+			}
+			return records;
+		});
+	}
 }
@@ -0,0 +1,227 @@
+package javastrava.util;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.BadRequestException;
+import javastrava.service.exception.NotFoundException;
+import javastrava.service.exception.UnauthorizedException;
+
+/**
+ * <p>
+ * Iterates over ALL the data from a Strava service that would normally only return a page of data, getting pages 1..n only as iteration reaches them
+ * </p>
+ *
+ * <p>
+ * Only the page being read is held in memory. If asked to prefetch, the iterator gets that many pages in the background on the executor, ahead of the page
+ * being read, so that reading does not have to wait for each page in turn; otherwise pages are got on the reading thread. No more pages are requested once a
+ * page comes back short or the iterator is {@link #close() closed}, so a short-circuiting {@link java.util.stream.Stream Stream} (see
+ * {@link PagingHandler#handleStreamAll(PagingCallback, int, Executor)}) stops making calls to Strava as soon as it has what it needs.
+ * </p>
+ *
+ * <p>
+ * As with {@link PagingHandler#handleListAll(PagingCallback)}, there are no items if the data is not accessible or Strava rejects the paging instructions;
+ * if the thing being paged does not exist, a {@link NotFoundException} is thrown.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of the items returned
+ */
+public class PagingIterator<T> implements Iterator<T>, AutoCloseable {
+	/**
+	 * The callback function that returns one page of data
+	 */
+	private final PagingCallback<T> callback;
+
+	/**
+	 * Number of pages to get ahead of the page being read
+	 */
+	private final int prefetch;
+
+	/**
+	 * Executor on which pages are prefetched
+	 */
+	private final Executor executor;
+
+	/**
+	 * Pages being prefetched, in page order
+	 */
+	private final ArrayDeque<CompletableFuture<List<T>>> ahead = new ArrayDeque<CompletableFuture<List<T>>>();
+
+	/**
+	 * Number of the next page to request from Strava
+	 */
+	private int nextPage = 1;
+
+	/**
+	 * The page of data currently being read
+	 */
+	private List<T> currentPage;
+
+	/**
+	 * Index in the current page of the next item
+	 */
+	private int index;
+
+	/**
+	 * Set once a page has come back short, so there are no more pages to get
+	 */
+	private boolean lastPage;
+
+	/**
+	 * Set when the iterator is closed
+	 */
+	private boolean closed;
+
+	/**
+	 * Create an iterator which gets each page on the reading thread as it is reached
+	 *
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 */
+	public PagingIterator(final PagingCallback<T> callback) {
+		this(callback, 0, null);
+	}
+
+	/**
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 * @param prefetch
+	 *            Number of pages to get in the background, ahead of the page being read; if 0, each page is got on the reading thread as it is reached
+	 * @param executor
+	 *            Executor on which pages are prefetched
+	 */
+	public PagingIterator(final PagingCallback<T> callback, final int prefetch, final Executor executor) {
+		this.callback = callback;
+		this.prefetch = (executor == null ? 0 : Math.max(0, prefetch));
+		this.executor = executor;
+	}
+
+	/**
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		while ((this.currentPage == null) || (this.index >= this.currentPage.size())) {
+			if (this.lastPage || this.closed) {
+				return false;
+			}
+			readNextPage();
+		}
+		return true;
+	}
+
+	/**
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return this.currentPage.get(this.index++);
+	}
+
+	/**
+	 * <p>
+	 * Stop getting pages; pages already being prefetched which have not started are not requested
+	 * </p>
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.currentPage = null;
+		cancelPrefetch();
+	}
+
+	/**
+	 * Make the next page the current one, getting it from Strava (or waiting for it to be prefetched) and topping up the pages being prefetched
+	 */
+	private void readNextPage() {
+		List<T> page;
+		try {
+			if (this.prefetch == 0) {
+				page = this.callback.getPageOfData(paging(this.nextPage++));
+			} else {
+				while (this.ahead.size() <= this.prefetch) {
+					final Paging paging = paging(this.nextPage);
+					try {
+						this.ahead.add(CompletableFuture.supplyAsync(() -> this.callback.getPageOfData(paging), this.executor));
+					} catch (final RejectedExecutionException e) {
+						// The executor is saturated, so stop prefetching for now; a page which isn't being prefetched is got on this thread
+						break;
+					}
+					this.nextPage++;
+				}
+				page = (this.ahead.isEmpty() ? this.callback.getPageOfData(paging(this.nextPage++)) : join(this.ahead.poll()));
+			}
+		} catch (final UnauthorizedException | BadRequestException e) {
+			this.currentPage = null;
+			this.lastPage = true;
+			cancelPrefetch();
+			return;
+		} catch (final RuntimeException e) {
+			close();
+			throw e;
+		}
+		if (page == null) {
+			close();
+			throw new NotFoundException(Messages.string("PagingIterator.notFound")); //$NON-NLS-1$
+		}
+		this.currentPage = page;
+		this.index = 0;
+		this.lastPage = (page.size() < StravaConfig.MAX_PAGE_SIZE.intValue());
+		if (this.lastPage) {
+			cancelPrefetch();
+		}
+	}
+
+	/**
+	 * @param page
+	 *            Page number
+	 * @return Paging instruction to get the page at the largest page size Strava allows
+	 */
+	private static Paging paging(final int page) {
+		return new Paging(Integer.valueOf(page), StravaConfig.MAX_PAGE_SIZE);
+	}
+
+	/**
+	 * Wait for a prefetched page
+	 *
+	 * @param future
+	 *            The page being prefetched
+	 * @return The page
+	 */
+	private List<T> join(final CompletableFuture<List<T>> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Forget the pages being prefetched; those which have not started yet are never requested
+	 */
+	private void cancelPrefetch() {
+		for (final CompletableFuture<List<T>> future : this.ahead) {
+			future.cancel(false);
+		}
+		this.ahead.clear();
+	}
+}
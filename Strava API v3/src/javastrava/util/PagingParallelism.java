@@ -0,0 +1,299 @@
+package javastrava.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.api.util.StravaRateLimitState;
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.StravaAPIRateLimitException;
+import javastrava.service.exception.StravaInternalServerErrorException;
+import javastrava.service.exception.StravaServiceUnavailableException;
+
+/**
+ * <p>
+ * Decides how many pages {@link PagingHandler#handleListAll(PagingCallback, PagingParallelism)} keeps in flight, adjusting it as pages arrive
+ * </p>
+ *
+ * <p>
+ * An {@link #adaptive(StravaRateLimitState) adaptive} controller starts at {@link StravaConfig#PAGING_LIST_ALL_PARALLELISM} and:
+ * </p>
+ * <ul>
+ * <li>adds one more page in flight, up to {@link StravaConfig#PAGING_ADAPTIVE_MAX_PARALLELISM}, each time a round of pages has arrived slowly (on average
+ * taking longer than {@link StravaConfig#PAGING_ADAPTIVE_SLOW_PAGE_MILLIS}) while less than half of the back-off threshold of the 15-minute rate limit is
+ * used</li>
+ * <li>halves the number in flight once {@link StravaConfig#PAGING_ADAPTIVE_BACK_OFF_PERCENT} of the 15-minute rate limit is used, and never has more in
+ * flight than there are requests left in the window</li>
+ * <li>halves the number in flight when Strava fails a page with a 5xx or rate limit error; the page is only requested again if retries are turned off
+ * ({@link StravaConfig#RETRY_MAX_ATTEMPTS} is 1) and the error was a 5xx, as otherwise the retry proxy has already tried it as often as it should be</li>
+ * </ul>
+ *
+ * <p>
+ * A {@link #fixed(int) fixed} controller never changes. A controller is used by one listAll call at a time. Changes are logged and reported to the
+ * {@link #setListener(Listener) listener}, if there is one.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class PagingParallelism {
+	/**
+	 * Logger
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Weight given to each new page's latency in the moving average
+	 */
+	private static final double LATENCY_WEIGHT = 0.3;
+
+	/**
+	 * Listener told about every change in parallelism
+	 */
+	private static volatile Listener listener;
+
+	/**
+	 * <p>
+	 * Reason for a change in parallelism
+	 * </p>
+	 */
+	public static enum Reason {
+		/**
+		 * Pages are slow and there is plenty of rate limit left, so more are requested at once
+		 */
+		SLOW_PAGES,
+		/**
+		 * The 15-minute rate limit is nearly used up
+		 */
+		RATE_LIMIT,
+		/**
+		 * Strava has failed a page with a 5xx or rate limit error
+		 */
+		SERVER_ERROR,
+		/**
+		 * The number of pages left to get is known, so more of them are requested at once
+		 */
+		PAGE_COUNT
+	}
+
+	/**
+	 * <p>
+	 * Hook for monitoring the parallelism of listAll calls
+	 * </p>
+	 */
+	public static interface Listener {
+		/**
+		 * @param controller
+		 *            The controller whose parallelism has changed; {@link PagingParallelism#getParallelism()} is the new value
+		 * @param previous
+		 *            The parallelism before the change
+		 * @param reason
+		 *            Why it changed
+		 */
+		public void parallelismChanged(PagingParallelism controller, int previous, Reason reason);
+	}
+
+	/**
+	 * @param listener
+	 *            Listener to be told about every change in the parallelism of listAll calls, or <code>null</code> for none
+	 */
+	public static void setListener(final Listener listener) {
+		PagingParallelism.listener = listener;
+	}
+
+	/**
+	 * @param rateLimitState
+	 *            Rate limit state of the application making the calls, or <code>null</code> if not known
+	 * @return A controller which adapts to page latency, the rate limit and server errors, or a fixed one if <code>strava.paging_adaptive.enabled</code>
+	 *         is <code>false</code>
+	 */
+	public static PagingParallelism adaptive(final StravaRateLimitState rateLimitState) {
+		if (!StravaConfig.PAGING_ADAPTIVE_ENABLED) {
+			return fixed(StravaConfig.PAGING_LIST_ALL_PARALLELISM);
+		}
+		return new PagingParallelism(StravaConfig.PAGING_LIST_ALL_PARALLELISM, StravaConfig.PAGING_ADAPTIVE_MAX_PARALLELISM, rateLimitState);
+	}
+
+	/**
+	 * @param parallelism
+	 *            Number of pages to keep in flight
+	 * @return A controller which keeps that number of pages in flight
+	 */
+	public static PagingParallelism fixed(final int parallelism) {
+		return new PagingParallelism(parallelism, parallelism, null);
+	}
+
+	/**
+	 * Most pages to keep in flight
+	 */
+	private final int maxParallelism;
+
+	/**
+	 * Rate limit state of the application making the calls, or <code>null</code> if not known
+	 */
+	private final StravaRateLimitState rateLimitState;
+
+	/**
+	 * Number of pages to keep in flight
+	 */
+	private int parallelism;
+
+	/**
+	 * Moving average of the time taken to get a page, in milliseconds
+	 */
+	private double averageLatency = -1;
+
+	/**
+	 * Number of pages received since the parallelism last changed
+	 */
+	private int pagesSinceChange;
+
+	/**
+	 * @param parallelism
+	 *            Number of pages to keep in flight to start with
+	 * @param maxParallelism
+	 *            Most pages to keep in flight
+	 * @param rateLimitState
+	 *            Rate limit state of the application making the calls, or <code>null</code> if not known
+	 */
+	private PagingParallelism(final int parallelism, final int maxParallelism, final StravaRateLimitState rateLimitState) {
+		this.parallelism = Math.max(1, parallelism);
+		this.maxParallelism = Math.max(this.parallelism, maxParallelism);
+		this.rateLimitState = rateLimitState;
+	}
+
+	/**
+	 * @return Number of pages to keep in flight
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * @return Most pages to keep in flight
+	 */
+	public int getMaxParallelism() {
+		return this.maxParallelism;
+	}
+
+	/**
+	 * @return Moving average of the time taken to get a page, in milliseconds, or -1 if no pages have been received
+	 */
+	public long getAverageLatency() {
+		return Math.round(this.averageLatency);
+	}
+
+	/**
+	 * <p>
+	 * Report a page which has been received
+	 * </p>
+	 *
+	 * @param latency
+	 *            Time taken to get the page, in milliseconds
+	 */
+	public void pageReceived(final long latency) {
+		this.averageLatency = (this.averageLatency < 0 ? latency : ((1 - LATENCY_WEIGHT) * this.averageLatency) + (LATENCY_WEIGHT * latency));
+		this.pagesSinceChange++;
+		if (this.maxParallelism == 1) {
+			return;
+		}
+
+		// Back off if the 15-minute window is nearly used up
+		final StravaRateLimitState.Snapshot snapshot = (this.rateLimitState == null ? null : this.rateLimitState.snapshot());
+		final boolean limitKnown = (snapshot != null) && (snapshot.getRateLimitCurrent() > 0);
+		if (limitKnown) {
+			final int remaining = Math.max(1, snapshot.getRateLimitCurrent() - snapshot.getRequestRateCurrent());
+			if (snapshot.getRequestRateCurrentPercentage() >= StravaConfig.PAGING_ADAPTIVE_BACK_OFF_PERCENT) {
+				change(Math.min(this.parallelism / 2, remaining), Reason.RATE_LIMIT);
+				return;
+			}
+			if (this.parallelism > remaining) {
+				change(remaining, Reason.RATE_LIMIT);
+				return;
+			}
+		}
+
+		// Ramp up once a whole round of pages has been slow, if there's plenty of the window left
+		final boolean headroom = !limitKnown || (snapshot.getRequestRateCurrentPercentage() < (StravaConfig.PAGING_ADAPTIVE_BACK_OFF_PERCENT / 2f));
+		if (headroom && (this.pagesSinceChange >= this.parallelism) && (this.averageLatency >= StravaConfig.PAGING_ADAPTIVE_SLOW_PAGE_MILLIS)) {
+			change(this.parallelism + 1, Reason.SLOW_PAGES);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Report how many pages are still to be received, once it is known, so that they can all be requested at once. The number in flight is raised to
+	 * match, up to the maximum, unless half of the back-off threshold of the 15-minute rate limit is already used; it is never raised above the number of
+	 * requests left in the window, and never lowered.
+	 * </p>
+	 *
+	 * @param pages
+	 *            Number of pages still to be received
+	 */
+	public void expectPages(final int pages) {
+		if ((pages <= this.parallelism) || (this.maxParallelism == this.parallelism)) {
+			return;
+		}
+		int target = pages;
+		final StravaRateLimitState.Snapshot snapshot = (this.rateLimitState == null ? null : this.rateLimitState.snapshot());
+		if ((snapshot != null) && (snapshot.getRateLimitCurrent() > 0)) {
+			if (snapshot.getRequestRateCurrentPercentage() >= (StravaConfig.PAGING_ADAPTIVE_BACK_OFF_PERCENT / 2f)) {
+				return;
+			}
+			target = Math.min(target, snapshot.getRateLimitCurrent() - snapshot.getRequestRateCurrent());
+		}
+		if (target > this.parallelism) {
+			change(target, Reason.PAGE_COUNT);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Report a page which Strava has failed to return
+	 * </p>
+	 *
+	 * @param cause
+	 *            The failure
+	 * @return <code>true</code> if the page should be requested again, which is only if it failed with a 5xx error, fewer pages will now be kept in
+	 *         flight, and the retry proxy isn't retrying failed requests; <code>false</code> if the failure should be passed on
+	 */
+	public boolean pageFailed(final Throwable cause) {
+		final boolean serverError = (cause instanceof StravaInternalServerErrorException) || (cause instanceof StravaServiceUnavailableException);
+		if (!(serverError || (cause instanceof StravaAPIRateLimitException)) || (this.parallelism == 1)) {
+			return false;
+		}
+		change(this.parallelism / 2, Reason.SERVER_ERROR);
+
+		// The retry proxy has already retried the page, so asking for it again would only add to the load on a failing server (or use more of a rate limit
+		// which has run out)
+		return serverError && (StravaConfig.RETRY_MAX_ATTEMPTS <= 1);
+	}
+
+	/**
+	 * @param newParallelism
+	 *            Number of pages to keep in flight
+	 * @param reason
+	 *            Why it is changing
+	 */
+	private void change(final int newParallelism, final Reason reason) {
+		final int previous = this.parallelism;
+		this.parallelism = Math.max(1, Math.min(newParallelism, this.maxParallelism));
+		this.pagesSinceChange = 0;
+		if (this.parallelism == previous) {
+			return;
+		}
+		log.debug(String.format(Messages.string("PagingParallelism.changed"), Integer.valueOf(previous), Integer.valueOf(this.parallelism), reason)); //$NON-NLS-1$
+		final Listener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.parallelismChanged(this, previous, reason);
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PagingParallelism [parallelism=" + this.parallelism + ", maxParallelism=" + this.maxParallelism + ", averageLatency=" + getAverageLatency() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
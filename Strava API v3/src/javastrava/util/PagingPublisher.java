@@ -0,0 +1,289 @@
+package javastrava.util;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javastrava.config.Messages;
+import javastrava.config.StravaConfig;
+import javastrava.service.exception.BadRequestException;
+import javastrava.service.exception.NotFoundException;
+import javastrava.service.exception.UnauthorizedException;
+
+/**
+ * <p>
+ * Publishes ALL the data from a Strava service that would normally only return a page of data, one item at a time, getting pages 1..n only as subscribers
+ * ask for more items
+ * </p>
+ *
+ * <p>
+ * Unlike {@link PagingHandler#handleListAll(PagingCallback)}, the whole list is never held in memory: at most one page per subscriber is. A page is only
+ * requested from Strava once the subscriber has asked for an item which is not already on hand, and no more pages are requested once the subscriber cancels
+ * or a page comes back short.
+ * </p>
+ *
+ * <p>
+ * Each subscriber gets its own pass through the data, starting at page 1. Pages are got, and the subscriber's methods called, on the executor. As with
+ * {@link PagingHandler#handleListAll(PagingCallback)}, a subscriber receives no items if the data is not accessible or Strava rejects the paging
+ * instructions; if the thing being paged does not exist, its {@link Flow.Subscriber#onError(Throwable)} is called with a {@link NotFoundException}.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ * @param <T>
+ *            Class of the items published
+ */
+public class PagingPublisher<T> implements Flow.Publisher<T> {
+	/**
+	 * Log
+	 */
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * The callback function that returns one page of data
+	 */
+	private final PagingCallback<T> callback;
+
+	/**
+	 * Executor on which pages are got and subscribers are called
+	 */
+	private final Executor executor;
+
+	/**
+	 * @param callback
+	 *            The callback function that returns one page of data
+	 * @param executor
+	 *            Executor on which pages are got and subscribers are called
+	 */
+	public PagingPublisher(final PagingCallback<T> callback, final Executor executor) {
+		this.callback = callback;
+		this.executor = executor;
+	}
+
+	/**
+	 * @see javastrava.util.Flow.Publisher#subscribe(javastrava.util.Flow.Subscriber)
+	 */
+	@Override
+	public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException();
+		}
+		final PagingSubscription subscription = new PagingSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+
+		// Items asked for during onSubscribe are only sent once it has returned
+		if (subscription.work.decrementAndGet() != 0) {
+			subscription.execute();
+		}
+	}
+
+	/**
+	 * <p>
+	 * One subscriber's pass through the data. Work is done by {@link #run()}, which is only ever running on one thread at a time; each call to
+	 * {@link #request(long)} either starts it or, if it is already running, tells it to go round again.
+	 * </p>
+	 */
+	private class PagingSubscription implements Flow.Subscription, Runnable {
+		/**
+		 * The subscriber
+		 */
+		private final Flow.Subscriber<? super T> subscriber;
+
+		/**
+		 * Number of items asked for but not yet sent
+		 */
+		private final AtomicLong demand = new AtomicLong();
+
+		/**
+		 * Number of times {@link #run()} has been asked to go round since it last finished; starts at 1 so that nothing is sent until onSubscribe has returned
+		 */
+		final AtomicInteger work = new AtomicInteger(1);
+
+		/**
+		 * Set when the subscriber cancels
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * Set when the subscription has ended, for any reason
+		 */
+		private boolean done;
+
+		/**
+		 * Error to send to the subscriber, set when it asks for a non-positive number of items
+		 */
+		private volatile Throwable requestError;
+
+		/**
+		 * Number of the last page got from Strava
+		 */
+		private int page;
+
+		/**
+		 * The page of data currently being sent
+		 */
+		private List<T> currentPage;
+
+		/**
+		 * Index in the current page of the next item to send
+		 */
+		private int index;
+
+		/**
+		 * Set once a page has come back short, so there are no more pages to get
+		 */
+		private boolean lastPage;
+
+		/**
+		 * @param subscriber
+		 *            The subscriber
+		 */
+		PagingSubscription(final Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		/**
+		 * @see javastrava.util.Flow.Subscription#request(long)
+		 */
+		@Override
+		public void request(final long n) {
+			if (n <= 0) {
+				this.requestError = new IllegalArgumentException(Messages.string("PagingPublisher.nonPositiveRequest") + n); //$NON-NLS-1$
+			} else {
+				this.demand.getAndUpdate(current -> (current + n < 0 ? Long.MAX_VALUE : current + n));
+			}
+			schedule();
+		}
+
+		/**
+		 * @see javastrava.util.Flow.Subscription#cancel()
+		 */
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+		}
+
+		/**
+		 * Run on the executor, unless already running
+		 */
+		private void schedule() {
+			if (this.work.getAndIncrement() == 0) {
+				execute();
+			}
+		}
+
+		/**
+		 * Start {@link #run()} on the executor; if the executor rejects it (for example because its queue is full), end the subscription with the
+		 * {@link RejectedExecutionException} rather than throwing it at the caller of {@link #request(long)}
+		 */
+		void execute() {
+			try {
+				PagingPublisher.this.executor.execute(this);
+			} catch (final RejectedExecutionException e) {
+				error(e);
+			}
+		}
+
+		/**
+		 * Send the subscriber as many items as it has asked for, getting pages from Strava as they are needed
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				if (!this.done) {
+					drain();
+				}
+				missed = this.work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		/**
+		 * Send items until the subscriber's demand is met or there are no more, getting the next page from Strava only when an item is wanted from it
+		 */
+		private void drain() {
+			while (!this.cancelled) {
+				if (this.requestError != null) {
+					error(this.requestError);
+					return;
+				}
+				if ((this.currentPage == null) || (this.index >= this.currentPage.size())) {
+					if (this.lastPage) {
+						this.done = true;
+						this.currentPage = null;
+						this.subscriber.onComplete();
+						return;
+					}
+					if ((this.demand.get() == 0) || !nextPage()) {
+						return;
+					}
+					continue;
+				}
+				if (this.demand.get() == 0) {
+					return;
+				}
+				this.demand.decrementAndGet();
+				try {
+					this.subscriber.onNext(this.currentPage.get(this.index++));
+				} catch (final RuntimeException e) {
+					// A subscriber which throws has broken its contract, so treat the subscription as cancelled (without telling the subscriber, which
+					// can't be relied on any more) and log what happened
+					this.cancelled = true;
+					log.error(Messages.string("PagingPublisher.subscriberFailed"), e); //$NON-NLS-1$
+					break;
+				}
+			}
+			this.done = true;
+			this.currentPage = null;
+		}
+
+		/**
+		 * Get the next page from Strava
+		 *
+		 * @return <code>false</code> if the subscription has ended with an error
+		 */
+		private boolean nextPage() {
+			this.page++;
+			final List<T> nextPage;
+			try {
+				nextPage = PagingPublisher.this.callback.getPageOfData(new Paging(Integer.valueOf(this.page), StravaConfig.MAX_PAGE_SIZE));
+			} catch (final UnauthorizedException | BadRequestException e) {
+				this.currentPage = null;
+				this.lastPage = true;
+				return true;
+			} catch (final RuntimeException e) {
+				error(e);
+				return false;
+			}
+			if (nextPage == null) {
+				error(new NotFoundException(Messages.string("PagingPublisher.notFound"))); //$NON-NLS-1$
+				return false;
+			}
+			this.currentPage = nextPage;
+			this.index = 0;
+			this.lastPage = (nextPage.size() < StravaConfig.MAX_PAGE_SIZE.intValue());
+			return true;
+		}
+
+		/**
+		 * End the subscription with an error
+		 *
+		 * @param error
+		 *            The error to send to the subscriber
+		 */
+		private void error(final Throwable error) {
+			this.done = true;
+			this.cancelled = true;
+			this.currentPage = null;
+			this.subscriber.onError(error);
+		}
+	}
+
+}
@@ -0,0 +1,274 @@
+package javastrava.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javastrava.config.StravaConfig;
+
+/**
+ * <p>
+ * Runs the requests for pages made by {@link PagingHandler}, sharing a fixed number of threads fairly between access tokens
+ * </p>
+ *
+ * <p>
+ * Getting a page means waiting for the Strava API, so the threads are sized for I/O (<code>strava.paging_threads</code>) rather than to the number of CPU
+ * cores. Each access token has its own queue of page requests, and the threads take requests from the queues in turn, one request at a time. A token
+ * crawling thousands of pages therefore only delays another token's requests by one request per thread, rather than making them wait for the whole crawl.
+ * </p>
+ *
+ * <p>
+ * A request queued from one of the scheduler's own threads (by a paging callback which itself pages) is run there and then instead. The thread would
+ * otherwise wait for a request queued behind it, and once every thread was doing that none would be left to run the queue. The threads run until they are
+ * interrupted.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class PagingScheduler {
+	/**
+	 * Scheduler shared by all tokens
+	 */
+	private static volatile PagingScheduler defaultScheduler;
+
+	/**
+	 * @return The scheduler shared by all tokens, with <code>strava.paging_threads</code> threads, created when first used
+	 */
+	public static PagingScheduler defaultScheduler() {
+		PagingScheduler scheduler = defaultScheduler;
+		if (scheduler == null) {
+			synchronized (PagingScheduler.class) {
+				scheduler = defaultScheduler;
+				if (scheduler == null) {
+					scheduler = new PagingScheduler(StravaConfig.PAGING_THREADS);
+					defaultScheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	/**
+	 * The scheduler whose thread this is, on each of a scheduler's threads
+	 */
+	private static final ThreadLocal<PagingScheduler> WORKER = new ThreadLocal<PagingScheduler>();
+
+	/**
+	 * Key of the queue used for requests not made on behalf of a known token
+	 */
+	private static final String SHARED = ""; //$NON-NLS-1$
+
+	/**
+	 * Number of threads
+	 */
+	private final int threads;
+
+	/**
+	 * Queue for each token with requests waiting
+	 */
+	private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<String, Lane>();
+
+	/**
+	 * Queues with requests waiting, in the order in which the threads will take from them; each is in here at most once
+	 */
+	private final LinkedBlockingQueue<Lane> ready = new LinkedBlockingQueue<Lane>();
+
+	/**
+	 * Number of requests waiting
+	 */
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/**
+	 * Number of requests running
+	 */
+	private final AtomicInteger active = new AtomicInteger();
+
+	/**
+	 * Set once the threads have been started
+	 */
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	/**
+	 * @param threads
+	 *            Number of threads on which to run requests
+	 */
+	public PagingScheduler(final int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * @param token
+	 *            The access token on whose behalf requests are made, or <code>null</code> if not known
+	 * @return Executor which queues requests for the token, or runs them at once if called from one of the scheduler's threads
+	 */
+	public Executor forToken(final String token) {
+		final String key = (token == null ? SHARED : token);
+		return task -> {
+			if (isWorker()) {
+				task.run();
+				return;
+			}
+			start();
+			this.queued.incrementAndGet();
+			this.lanes.computeIfAbsent(key, Lane::new).add(task);
+		};
+	}
+
+	/**
+	 * @return Executor which queues requests not made on behalf of a known token
+	 */
+	public Executor shared() {
+		return forToken(null);
+	}
+
+	/**
+	 * @return <code>true</code> if the calling thread is one of the scheduler's threads
+	 */
+	public boolean isWorker() {
+		return WORKER.get() == this;
+	}
+
+	/**
+	 * @return Number of requests waiting
+	 */
+	public int getQueueDepth() {
+		return this.queued.get();
+	}
+
+	/**
+	 * @return Number of requests running
+	 */
+	public int getActiveCount() {
+		return this.active.get();
+	}
+
+	/**
+	 * @return Number of threads
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * @return Number of tokens with requests waiting
+	 */
+	public int getTokenCount() {
+		return this.lanes.size();
+	}
+
+	/**
+	 * Start the threads, unless already started
+	 */
+	private void start() {
+		if (this.started.compareAndSet(false, true)) {
+			for (int i = 1; i <= this.threads; i++) {
+				final Thread thread = new Thread(this::work, "javastrava-paging-" + i); //$NON-NLS-1$
+				thread.setDaemon(true);
+				thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Take requests from each queue in turn, until interrupted
+	 */
+	private void work() {
+		WORKER.set(this);
+		while (true) {
+			final Lane lane;
+			try {
+				lane = this.ready.take();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			final Runnable task = lane.next();
+			this.queued.decrementAndGet();
+			this.active.incrementAndGet();
+			try {
+				task.run();
+			} catch (final Throwable e) {
+				// Requests are run as futures, which report their own failures; nothing a request throws may stop the thread, as it isn't replaced
+			} finally {
+				this.active.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PagingScheduler [threads=" + this.threads + ", queueDepth=" + this.queued.get() + ", active=" + this.active.get() + ", tokens=" + this.lanes.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	/**
+	 * <p>
+	 * Queue of requests for one token. The queue is in {@link PagingScheduler#ready} whenever it has requests waiting, and goes to the back of it each
+	 * time a thread takes a request from it.
+	 * </p>
+	 */
+	private class Lane {
+		/**
+		 * Key of the queue in {@link PagingScheduler#lanes}
+		 */
+		private final String key;
+
+		/**
+		 * Requests waiting
+		 */
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		/**
+		 * Set while the queue is in {@link PagingScheduler#ready}, or a thread is about to put it back there
+		 */
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		/**
+		 * @param key
+		 *            Key of the queue in {@link PagingScheduler#lanes}
+		 */
+		Lane(final String key) {
+			this.key = key;
+		}
+
+		/**
+		 * @param task
+		 *            Request to queue
+		 */
+		void add(final Runnable task) {
+			this.tasks.add(task);
+			if (this.scheduled.compareAndSet(false, true)) {
+				PagingScheduler.this.ready.add(this);
+			}
+		}
+
+		/**
+		 * Take the next request, called by a thread which has taken the queue from {@link PagingScheduler#ready}, and put the queue back at the end if
+		 * there are more
+		 *
+		 * @return The request
+		 */
+		Runnable next() {
+			final Runnable task = this.tasks.poll();
+			if (!this.tasks.isEmpty()) {
+				PagingScheduler.this.ready.add(this);
+				return task;
+			}
+			this.scheduled.set(false);
+			if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+				// A request arrived while the queue was being marked idle
+				PagingScheduler.this.ready.add(this);
+			} else {
+				PagingScheduler.this.lanes.remove(this.key, this);
+			}
+			return task;
+		}
+	}
+}
@@ -23,7 +23,8 @@ public class PagingUtils {
 	 *
 	 * @param inputPaging
 	 *            The paging instruction to be converted
-	 * @return List of Strava paging instructions that can be given to the Strava engine
+	 * @return List of Strava paging instructions that can be given to the Strava engine, which is empty if the instruction ignores every element of a page
+	 *         bigger than Strava allows
 	 */
 	public static List<Paging> convertToStravaPaging(final Paging inputPaging) {
 		PagingUtils.validatePagingArguments(inputPaging);
@@ -40,8 +41,9 @@ public class PagingUtils {
 			inputPaging.setPageSize(StravaConfig.DEFAULT_PAGE_SIZE);
 		}
 
-		// If it's already valid for Strava purposes, just use that
-		if (inputPaging.getPageSize().intValue() <= StravaConfig.MAX_PAGE_SIZE.intValue()) {
+		// If it's already valid for Strava purposes, and nothing is to be ignored, just use that
+		if ((inputPaging.getPageSize().intValue() <= StravaConfig.MAX_PAGE_SIZE.intValue()) && (inputPaging.getIgnoreFirstN() == 0)
+				&& (inputPaging.getIgnoreLastN() == 0)) {
 			stravaPaging.add(inputPaging);
 			return stravaPaging;
 		}
@@ -50,24 +52,74 @@ public class PagingUtils {
 		final int lastElement = (inputPaging.getPage().intValue() * inputPaging.getPageSize().intValue()) - inputPaging.getIgnoreLastN();
 		final int firstElement = ((inputPaging.getPage().intValue() - 1) * inputPaging.getPageSize().intValue()) + inputPaging.getIgnoreFirstN() + 1;
 
-		// If the last element fits in one page, return one page
-		if (lastElement <= StravaConfig.MAX_PAGE_SIZE.intValue()) {
-			stravaPaging.add(new Paging(Integer.valueOf(1), Integer.valueOf(lastElement), inputPaging.getIgnoreFirstN(), 0));
+		// If everything is ignored, there's nothing to get; a page Strava accepts is still asked for, as it always has been, unless it would be too big
+		if (lastElement < firstElement) {
+			if (inputPaging.getPageSize().intValue() <= StravaConfig.MAX_PAGE_SIZE.intValue()) {
+				stravaPaging.add(inputPaging);
+			}
 			return stravaPaging;
 		}
 
-		// Otherwise, return a series of pages
-		int currentPage = 0;
-		for (int i = 1; i <= lastElement; i = i + StravaConfig.MAX_PAGE_SIZE.intValue()) {
-			currentPage++;
-			if (((currentPage * StravaConfig.MAX_PAGE_SIZE.intValue())) >= firstElement) {
-				final int ignoreLastN = Math.max(0, (currentPage * StravaConfig.MAX_PAGE_SIZE.intValue()) - lastElement);
-				final int ignoreFirstN = Math.max(0, firstElement - ((currentPage - 1) * StravaConfig.MAX_PAGE_SIZE.intValue()) - 1);
-				stravaPaging.add(new Paging(Integer.valueOf(currentPage), StravaConfig.MAX_PAGE_SIZE, ignoreFirstN, ignoreLastN));
+		return planStravaPaging(firstElement, lastElement);
+
+	}
+
+	/**
+	 * <p>
+	 * Work out the Strava paging instructions which get elements <code>firstElement</code> to <code>lastElement</code> (counting from 1) in the fewest
+	 * calls to Strava and, of the ways of doing it in that many calls, with the fewest elements fetched only to be ignored
+	 * </p>
+	 *
+	 * <p>
+	 * Each call can have its own page size (up to {@link StravaConfig#MAX_PAGE_SIZE}), so for each element, working back from the last, this finds the best
+	 * way of getting it and everything after it: for each page size, the page it falls on is fetched, and the rest is got in the best way already worked out
+	 * for the element after that page. That takes time proportional to the number of elements times the maximum page size.
+	 * </p>
+	 *
+	 * @param firstElement
+	 *            The first element to be returned
+	 * @param lastElement
+	 *            The last element to be returned
+	 * @return List of Strava paging instructions, in order
+	 */
+	private static List<Paging> planStravaPaging(final int firstElement, final int lastElement) {
+		final int maxPageSize = StravaConfig.MAX_PAGE_SIZE.intValue();
+		final int elements = (lastElement - firstElement) + 1;
+
+		// For the element at each offset from the first: the fewest calls needed to get it and everything after it, the elements those calls fetch, and the
+		// page size of the first call
+		final int[] calls = new int[elements + 1];
+		final long[] fetched = new long[elements + 1];
+		final int[] pageSize = new int[elements + 1];
+		for (int offset = elements - 1; offset >= 0; offset--) {
+			final int element = firstElement + offset;
+			calls[offset] = Integer.MAX_VALUE;
+			for (int size = maxPageSize; size >= 1; size--) {
+				final int pageEnd = (((element - 1) / size) + 1) * size;
+				final int next = Math.min(pageEnd, lastElement) - firstElement + 1;
+				final int plannedCalls = calls[next] + 1;
+				final long plannedFetched = fetched[next] + size;
+				if ((plannedCalls < calls[offset]) || ((plannedCalls == calls[offset]) && (plannedFetched < fetched[offset]))) {
+					calls[offset] = plannedCalls;
+					fetched[offset] = plannedFetched;
+					pageSize[offset] = size;
+				}
 			}
 		}
-		return stravaPaging;
 
+		// Follow the plan from the first element
+		final List<Paging> stravaPaging = new ArrayList<Paging>();
+		int offset = 0;
+		while (offset < elements) {
+			final int element = firstElement + offset;
+			final int size = pageSize[offset];
+			final int page = ((element - 1) / size) + 1;
+			final int ignoreFirstN = element - (((page - 1) * size) + 1);
+			final int ignoreLastN = Math.max(0, (page * size) - lastElement);
+			stravaPaging.add(new Paging(Integer.valueOf(page), Integer.valueOf(size), ignoreFirstN, ignoreLastN));
+			offset = Math.min(page * size, lastElement) - firstElement + 1;
+		}
+		return stravaPaging;
 	}
 
 	/**
@@ -0,0 +1,202 @@
+package javastrava.util;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * List of booleans held in a {@link BitSet} rather than as boxed {@link Boolean}s
+ * </p>
+ *
+ * <p>
+ * Used for the samples of a {@link javastrava.model.StravaStream} of type {@link javastrava.model.reference.StravaStreamType#MOVING}. Values can be added,
+ * removed and replaced as in an {@link java.util.ArrayList}, except through a view made by {@link #subList(int, int)}, which can only have values replaced.
+ * Views share the list's set, so once values have been added to or removed from the list, those taken before are no longer valid.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class PrimitiveBooleanList extends AbstractList<Boolean> implements RandomAccess {
+	/**
+	 * Indexes of the values which are <code>true</code>
+	 */
+	private final BitSet values;
+
+	/**
+	 * Index in {@link #values} of the first value
+	 */
+	private final int offset;
+
+	/**
+	 * Number of values
+	 */
+	private int size;
+
+	/**
+	 * Set if this is a view of part of another list, which can't change size
+	 */
+	private final boolean view;
+
+	/**
+	 * @param values
+	 *            Indexes of the values which are <code>true</code>; the list uses the set rather than copying it
+	 * @param size
+	 *            Number of values
+	 */
+	public PrimitiveBooleanList(final BitSet values, final int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException(String.valueOf(size));
+		}
+		this.values = values;
+		this.offset = 0;
+		this.size = size;
+		this.view = false;
+	}
+
+	/**
+	 * @param list
+	 *            List to view part of
+	 * @param offset
+	 *            Index in the list's set of the first value of the view
+	 * @param size
+	 *            Number of values in the view
+	 */
+	private PrimitiveBooleanList(final PrimitiveBooleanList list, final int offset, final int size) {
+		this.values = list.values;
+		this.offset = offset;
+		this.size = size;
+		this.view = true;
+	}
+
+	/**
+	 * @see java.util.AbstractList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(final int index, final Boolean element) {
+		checkResizable();
+		if ((index < 0) || (index > this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		final boolean value = element.booleanValue();
+		shift(this.values, index, this.size, 1);
+		this.values.set(index, value);
+		this.size++;
+		this.modCount++;
+	}
+
+	/**
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public Boolean get(final int index) {
+		return Boolean.valueOf(getBoolean(index));
+	}
+
+	/**
+	 * @param index
+	 *            Index of the value
+	 * @return The value
+	 */
+	public boolean getBoolean(final int index) {
+		if ((index < 0) || (index >= this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return this.values.get(this.offset + index);
+	}
+
+	/**
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public Boolean remove(final int index) {
+		checkResizable();
+		final Boolean previous = get(index);
+		removeRange(index, index + 1);
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractList#removeRange(int, int)
+	 */
+	@Override
+	protected void removeRange(final int fromIndex, final int toIndex) {
+		checkResizable();
+		shift(this.values, toIndex, this.size, fromIndex - toIndex);
+		this.size = this.size - (toIndex - fromIndex);
+		this.modCount++;
+	}
+
+	/**
+	 * @see java.util.AbstractList#set(int, java.lang.Object)
+	 */
+	@Override
+	public Boolean set(final int index, final Boolean element) {
+		final Boolean previous = get(index);
+		this.values.set(this.offset + index, element.booleanValue());
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>
+	 * A view of part of the list, which shares the list's set rather than copying it
+	 * </p>
+	 *
+	 * @see java.util.AbstractList#subList(int, int)
+	 */
+	@Override
+	public PrimitiveBooleanList subList(final int fromIndex, final int toIndex) {
+		if ((fromIndex < 0) || (toIndex > this.size)) {
+			throw new IndexOutOfBoundsException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		if (fromIndex > toIndex) {
+			throw new IllegalArgumentException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		return new PrimitiveBooleanList(this, this.offset + fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * @return A copy of the values
+	 */
+	public BitSet toBitSet() {
+		return this.values.get(this.offset, this.offset + this.size);
+	}
+
+	/**
+	 * Check that the list can change size, which a view made by {@link #subList(int, int)} can't
+	 */
+	private void checkResizable() {
+		if (this.view) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Move the bits in a range of a set along, clearing those they leave behind
+	 *
+	 * @param bits
+	 *            The set
+	 * @param fromIndex
+	 *            Index of the first bit to move
+	 * @param toIndex
+	 *            Index after the last bit to move
+	 * @param distance
+	 *            How far to move them; negative to move them to lower indexes
+	 */
+	static void shift(final BitSet bits, final int fromIndex, final int toIndex, final int distance) {
+		final BitSet moved = bits.get(fromIndex, toIndex);
+		bits.clear(Math.min(fromIndex, fromIndex + distance), Math.max(toIndex, toIndex + distance));
+		for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+			bits.set(fromIndex + distance + i);
+		}
+	}
+}
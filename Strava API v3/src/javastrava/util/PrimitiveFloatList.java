@@ -0,0 +1,253 @@
+package javastrava.util;
+
+import java.nio.FloatBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * List of floats, some of which may be <code>null</code>, held in a <code>float[]</code> rather than as boxed {@link Float}s
+ * </p>
+ *
+ * <p>
+ * Used for the samples of a {@link javastrava.model.StravaStream}, which may run to hundreds of thousands of values. Values are only boxed when read through
+ * the {@link java.util.List} methods; {@link #getFloat(int)}, {@link #isNull(int)} and {@link #toFloatArray()} read them without boxing, and
+ * {@link #asFloatBuffer()} and {@link #subList(int, int)} read them without copying.
+ * </p>
+ *
+ * <p>
+ * Values can be added, removed and replaced as in an {@link java.util.ArrayList}, except through a view made by {@link #subList(int, int)}, which can only
+ * have values replaced. Views and buffers share the list's array, so once values have been added to or removed from the list, those taken before are no
+ * longer valid.
+ * </p>
+ *
+ * <p>
+ * The array holds {@link Float#NaN} in place of each <code>null</code>, so that it can be read directly by anything that can't see which values are
+ * <code>null</code>.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class PrimitiveFloatList extends AbstractList<Float> implements RandomAccess {
+	/**
+	 * The values, with {@link Float#NaN} for those which are <code>null</code>; only the {@link #size} from {@link #offset} are used
+	 */
+	private float[] values;
+
+	/**
+	 * Indexes in {@link #values} of the values which are <code>null</code>
+	 */
+	private final BitSet nulls;
+
+	/**
+	 * Index in {@link #values} of the first value
+	 */
+	private final int offset;
+
+	/**
+	 * Number of values
+	 */
+	private int size;
+
+	/**
+	 * Set if this is a view of part of another list, which can't change size
+	 */
+	private final boolean view;
+
+	/**
+	 * @param values
+	 *            The values; the list uses the array rather than copying it
+	 * @param nulls
+	 *            Indexes of the values which are <code>null</code>, or <code>null</code> if none are; the list uses the set rather than copying it, and
+	 *            puts {@link Float#NaN} in the array at each of them
+	 * @param size
+	 *            Number of values, which may be fewer than the length of the array
+	 */
+	public PrimitiveFloatList(final float[] values, final BitSet nulls, final int size) {
+		if ((size < 0) || (size > values.length)) {
+			throw new IllegalArgumentException(String.valueOf(size));
+		}
+		this.values = values;
+		this.nulls = (nulls == null ? new BitSet() : nulls);
+		this.offset = 0;
+		this.size = size;
+		this.view = false;
+		for (int i = this.nulls.nextSetBit(0); (i >= 0) && (i < size); i = this.nulls.nextSetBit(i + 1)) {
+			this.values[i] = Float.NaN;
+		}
+	}
+
+	/**
+	 * @param list
+	 *            List to view part of
+	 * @param offset
+	 *            Index in the list's array of the first value of the view
+	 * @param size
+	 *            Number of values in the view
+	 */
+	private PrimitiveFloatList(final PrimitiveFloatList list, final int offset, final int size) {
+		this.values = list.values;
+		this.nulls = list.nulls;
+		this.offset = offset;
+		this.size = size;
+		this.view = true;
+	}
+
+	/**
+	 * <p>
+	 * A read-only view of the values, with {@link Float#NaN} for those which are <code>null</code>
+	 * </p>
+	 *
+	 * <p>
+	 * The buffer shares the list's array rather than copying it, so it is as cheap to get for a stream of a whole day as for a short one, and it sees
+	 * values replaced later with {@link #set(int, Float)}.
+	 * </p>
+	 *
+	 * @return Buffer positioned at the first value, with its limit at {@link #size()}
+	 */
+	public FloatBuffer asFloatBuffer() {
+		return FloatBuffer.wrap(this.values, this.offset, this.size).slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * @see java.util.AbstractList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(final int index, final Float element) {
+		checkResizable();
+		if ((index < 0) || (index > this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		if (this.size == this.values.length) {
+			this.values = Arrays.copyOf(this.values, this.size + (this.size >> 1) + 1);
+		}
+		System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+		PrimitiveBooleanList.shift(this.nulls, index, this.size, 1);
+		this.size++;
+		this.modCount++;
+		set(index, element);
+	}
+
+	/**
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public Float get(final int index) {
+		checkIndex(index);
+		return (this.nulls.get(this.offset + index) ? null : Float.valueOf(this.values[this.offset + index]));
+	}
+
+	/**
+	 * @param index
+	 *            Index of the value
+	 * @return The value, or {@link Float#NaN} if it is <code>null</code>
+	 */
+	public float getFloat(final int index) {
+		checkIndex(index);
+		return this.values[this.offset + index];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the value
+	 * @return <code>true</code> if the value is <code>null</code>
+	 */
+	public boolean isNull(final int index) {
+		checkIndex(index);
+		return this.nulls.get(this.offset + index);
+	}
+
+	/**
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public Float remove(final int index) {
+		checkResizable();
+		final Float previous = get(index);
+		removeRange(index, index + 1);
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractList#removeRange(int, int)
+	 */
+	@Override
+	protected void removeRange(final int fromIndex, final int toIndex) {
+		checkResizable();
+		System.arraycopy(this.values, toIndex, this.values, fromIndex, this.size - toIndex);
+		PrimitiveBooleanList.shift(this.nulls, toIndex, this.size, fromIndex - toIndex);
+		this.size = this.size - (toIndex - fromIndex);
+		this.modCount++;
+	}
+
+	/**
+	 * @see java.util.AbstractList#set(int, java.lang.Object)
+	 */
+	@Override
+	public Float set(final int index, final Float element) {
+		final Float previous = get(index);
+		if (element == null) {
+			this.nulls.set(this.offset + index);
+			this.values[this.offset + index] = Float.NaN;
+		} else {
+			this.nulls.clear(this.offset + index);
+			this.values[this.offset + index] = element.floatValue();
+		}
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>
+	 * A view of part of the list, which shares the list's array rather than copying it
+	 * </p>
+	 *
+	 * @see java.util.AbstractList#subList(int, int)
+	 */
+	@Override
+	public PrimitiveFloatList subList(final int fromIndex, final int toIndex) {
+		if ((fromIndex < 0) || (toIndex > this.size)) {
+			throw new IndexOutOfBoundsException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		if (fromIndex > toIndex) {
+			throw new IllegalArgumentException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		return new PrimitiveFloatList(this, this.offset + fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * @return A copy of the values, with {@link Float#NaN} for those which are <code>null</code>
+	 */
+	public float[] toFloatArray() {
+		return Arrays.copyOfRange(this.values, this.offset, this.offset + this.size);
+	}
+
+	/**
+	 * Check that the list can change size, which a view made by {@link #subList(int, int)} can't
+	 */
+	private void checkResizable() {
+		if (this.view) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * @param index
+	 *            Index to check
+	 */
+	private void checkIndex(final int index) {
+		if ((index < 0) || (index >= this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+	}
+}
@@ -0,0 +1,231 @@
+package javastrava.util;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import javastrava.model.StravaMapPoint;
+
+/**
+ * <p>
+ * List of map points held as latitude, longitude pairs in a <code>double[]</code> rather than as {@link StravaMapPoint} objects
+ * </p>
+ *
+ * <p>
+ * Used for the samples of a {@link javastrava.model.StravaStream} of type {@link javastrava.model.reference.StravaStreamType#MAPPOINT}. Each call to
+ * {@link #get(int)} returns a new {@link StravaMapPoint}, so changing it does not change the list; use {@link #set(int, StravaMapPoint)} to do that. Points
+ * can be added, removed and replaced as in an {@link java.util.ArrayList}, except through a view made by {@link #subList(int, int)}, which can only have
+ * points replaced. Views and buffers share the list's array, so once points have been added to or removed from the list, those taken before are no
+ * longer valid.
+ * </p>
+ *
+ * <p>
+ * The coordinates are kept as doubles so that {@link #getLatitude(int)}, {@link #getLongitude(int)} and {@link #asDoubleBuffer()} return them as precisely
+ * as Strava sent them; a {@link StravaMapPoint} holds them as floats, which is only to within a metre or so.
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class PrimitiveMapPointList extends AbstractList<StravaMapPoint> implements RandomAccess {
+	/**
+	 * Latitude of each point followed by its longitude; only the 2 * {@link #size} from {@link #offset} are used
+	 */
+	private double[] coordinates;
+
+	/**
+	 * Index in {@link #coordinates} of the latitude of the first point
+	 */
+	private final int offset;
+
+	/**
+	 * Number of points
+	 */
+	private int size;
+
+	/**
+	 * Set if this is a view of part of another list, which can't change size
+	 */
+	private final boolean view;
+
+	/**
+	 * @param coordinates
+	 *            Latitude of each point followed by its longitude; the list uses the array rather than copying it
+	 * @param size
+	 *            Number of points, which may be fewer than half the length of the array
+	 */
+	public PrimitiveMapPointList(final double[] coordinates, final int size) {
+		if ((size < 0) || ((size * 2) > coordinates.length)) {
+			throw new IllegalArgumentException(String.valueOf(size));
+		}
+		this.coordinates = coordinates;
+		this.offset = 0;
+		this.size = size;
+		this.view = false;
+	}
+
+	/**
+	 * @param list
+	 *            List to view part of
+	 * @param offset
+	 *            Index in the list's array of the latitude of the first point of the view
+	 * @param size
+	 *            Number of points in the view
+	 */
+	private PrimitiveMapPointList(final PrimitiveMapPointList list, final int offset, final int size) {
+		this.coordinates = list.coordinates;
+		this.offset = offset;
+		this.size = size;
+		this.view = true;
+	}
+
+	/**
+	 * <p>
+	 * A read-only view of the coordinates: the latitude of each point followed by its longitude
+	 * </p>
+	 *
+	 * <p>
+	 * The buffer shares the list's array rather than copying it, and sees points replaced later with {@link #set(int, StravaMapPoint)}.
+	 * </p>
+	 *
+	 * @return Buffer positioned at the latitude of the first point, with its limit at twice {@link #size()}
+	 */
+	public DoubleBuffer asDoubleBuffer() {
+		return DoubleBuffer.wrap(this.coordinates, this.offset, this.size * 2).slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * @see java.util.AbstractList#add(int, java.lang.Object)
+	 */
+	@Override
+	public void add(final int index, final StravaMapPoint element) {
+		checkResizable();
+		if ((index < 0) || (index > this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		final double latitude = element.getLatitude().doubleValue();
+		final double longitude = element.getLongitude().doubleValue();
+		if ((this.size * 2) == this.coordinates.length) {
+			this.coordinates = Arrays.copyOf(this.coordinates, (this.size + (this.size >> 1) + 1) * 2);
+		}
+		System.arraycopy(this.coordinates, index * 2, this.coordinates, (index + 1) * 2, (this.size - index) * 2);
+		this.coordinates[index * 2] = latitude;
+		this.coordinates[(index * 2) + 1] = longitude;
+		this.size++;
+		this.modCount++;
+	}
+
+	/**
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public StravaMapPoint get(final int index) {
+		return new StravaMapPoint(Float.valueOf((float) getLatitude(index)), Float.valueOf((float) getLongitude(index)));
+	}
+
+	/**
+	 * @param index
+	 *            Index of the point
+	 * @return Latitude of the point
+	 */
+	public double getLatitude(final int index) {
+		checkIndex(index);
+		return this.coordinates[this.offset + (index * 2)];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the point
+	 * @return Longitude of the point
+	 */
+	public double getLongitude(final int index) {
+		checkIndex(index);
+		return this.coordinates[this.offset + (index * 2) + 1];
+	}
+
+	/**
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public StravaMapPoint remove(final int index) {
+		checkResizable();
+		final StravaMapPoint previous = get(index);
+		removeRange(index, index + 1);
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractList#removeRange(int, int)
+	 */
+	@Override
+	protected void removeRange(final int fromIndex, final int toIndex) {
+		checkResizable();
+		System.arraycopy(this.coordinates, toIndex * 2, this.coordinates, fromIndex * 2, (this.size - toIndex) * 2);
+		this.size = this.size - (toIndex - fromIndex);
+		this.modCount++;
+	}
+
+	/**
+	 * @see java.util.AbstractList#set(int, java.lang.Object)
+	 */
+	@Override
+	public StravaMapPoint set(final int index, final StravaMapPoint element) {
+		final StravaMapPoint previous = get(index);
+		this.coordinates[this.offset + (index * 2)] = element.getLatitude().doubleValue();
+		this.coordinates[this.offset + (index * 2) + 1] = element.getLongitude().doubleValue();
+		return previous;
+	}
+
+	/**
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>
+	 * A view of part of the list, which shares the list's array rather than copying it
+	 * </p>
+	 *
+	 * @see java.util.AbstractList#subList(int, int)
+	 */
+	@Override
+	public PrimitiveMapPointList subList(final int fromIndex, final int toIndex) {
+		if ((fromIndex < 0) || (toIndex > this.size)) {
+			throw new IndexOutOfBoundsException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		if (fromIndex > toIndex) {
+			throw new IllegalArgumentException(fromIndex + ".." + toIndex); //$NON-NLS-1$
+		}
+		return new PrimitiveMapPointList(this, this.offset + (fromIndex * 2), toIndex - fromIndex);
+	}
+
+	/**
+	 * @return A copy of the coordinates: the latitude of each point followed by its longitude
+	 */
+	public double[] toCoordinateArray() {
+		return Arrays.copyOfRange(this.coordinates, this.offset, this.offset + (this.size * 2));
+	}
+
+	/**
+	 * Check that the list can change size, which a view made by {@link #subList(int, int)} can't
+	 */
+	private void checkResizable() {
+		if (this.view) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * @param index
+	 *            Index to check
+	 */
+	private void checkIndex(final int index) {
+		if ((index < 0) || (index >= this.size)) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package javastrava.util;
+
+/**
+ * <p>
+ * Outcome of copying the JSON of a single resource straight from Strava to an output stream (see
+ * {@link javastrava.service.ActivityService#getActivityRaw(Long, Boolean, java.io.OutputStream, boolean)}): either the number of bytes copied, or why
+ * nothing was
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public final class RawJsonResult {
+	/**
+	 * <p>
+	 * What happened to the request
+	 * </p>
+	 */
+	public static enum Status {
+		/**
+		 * The resource's JSON was copied
+		 */
+		COPIED,
+		/**
+		 * The resource does not exist
+		 */
+		NOT_FOUND,
+		/**
+		 * The resource is private and the authenticated athlete isn't allowed to see it
+		 */
+		PRIVATE
+	}
+
+	/**
+	 * Result for a resource which does not exist
+	 */
+	public static final RawJsonResult NOT_FOUND = new RawJsonResult(Status.NOT_FOUND, 0);
+
+	/**
+	 * Result for a resource which is private
+	 */
+	public static final RawJsonResult PRIVATE = new RawJsonResult(Status.PRIVATE, 0);
+
+	/**
+	 * @param bytesCopied
+	 *            Number of bytes copied
+	 * @return Result for a resource whose JSON was copied
+	 */
+	public static RawJsonResult copied(final long bytesCopied) {
+		return new RawJsonResult(Status.COPIED, bytesCopied);
+	}
+
+	/**
+	 * What happened to the request
+	 */
+	private final Status status;
+
+	/**
+	 * Number of bytes copied
+	 */
+	private final long bytesCopied;
+
+	/**
+	 * @param status
+	 *            What happened to the request
+	 * @param bytesCopied
+	 *            Number of bytes copied
+	 */
+	private RawJsonResult(final Status status, final long bytesCopied) {
+		this.status = status;
+		this.bytesCopied = bytesCopied;
+	}
+
+	/**
+	 * @return What happened to the request
+	 */
+	public Status getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @return Number of bytes copied, which is 0 unless the status is {@link Status#COPIED}
+	 */
+	public long getBytesCopied() {
+		return this.bytesCopied;
+	}
+
+	/**
+	 * @return <code>true</code> if the resource's JSON was copied
+	 */
+	public boolean isCopied() {
+		return this.status == Status.COPIED;
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof RawJsonResult)) {
+			return false;
+		}
+		final RawJsonResult other = (RawJsonResult) obj;
+		return (this.status == other.status) && (this.bytesCopied == other.bytesCopied);
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + this.status.hashCode();
+		result = (prime * result) + Long.hashCode(this.bytesCopied);
+		return result;
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RawJsonResult [status=" + this.status + ", bytesCopied=" + this.bytesCopied + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,166 @@
+package javastrava.util;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import javastrava.config.Messages;
+import javastrava.json.exception.JsonSerialisationException;
+
+/**
+ * <p>
+ * Utilities for passing JSON from Strava on untouched, without reading it into model objects and writing it out again
+ * </p>
+ *
+ * @author Dan Shannon
+ *
+ */
+public class RawJsonUtils {
+	/**
+	 * Size of the buffer used to copy bytes
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * <p>
+	 * Copy a JSON document from the input stream to the output stream byte for byte
+	 * </p>
+	 *
+	 * <p>
+	 * If asked to validate, the bytes are also scanned as they go past to check that they are exactly one well-formed JSON value. The scan only tokenises the
+	 * document (as {@link JsonReader#skipValue()} does), so it builds no objects and costs far less than reading the document. Because bytes are copied as
+	 * they are scanned, some of the document will already have been copied when it is found to be invalid.
+	 * </p>
+	 *
+	 * @param in
+	 *            Stream holding the document, which is read to the end but not closed
+	 * @param out
+	 *            Stream to copy the document to, which is not flushed or closed
+	 * @param validate
+	 *            <code>true</code> if the document is to be checked as it is copied
+	 * @return Number of bytes copied
+	 * @throws IOException
+	 *             If the input can't be read or the output can't be written
+	 * @throws JsonSerialisationException
+	 *             If asked to validate, and the document is not well-formed JSON
+	 */
+	public static long copy(final InputStream in, final OutputStream out, final boolean validate) throws IOException, JsonSerialisationException {
+		if (!validate) {
+			return copyBytes(in, out);
+		}
+		final TeeInputStream tee = new TeeInputStream(in, out);
+		final JsonReader reader = new JsonReader(new InputStreamReader(tee, StandardCharsets.UTF_8));
+		try {
+			reader.skipValue();
+			if (reader.peek() != JsonToken.END_DOCUMENT) {
+				throw new MalformedJsonException(reader.peek() + " " + reader.getPath()); //$NON-NLS-1$
+			}
+		} catch (final MalformedJsonException | EOFException | IllegalStateException e) {
+			throw new JsonSerialisationException(String.format(Messages.string("RawJsonUtils.invalidJson"), Long.valueOf(tee.count)), e); //$NON-NLS-1$
+		}
+		// The reader has seen the end of the document, but copy anything it didn't need to read
+		return tee.count + copyBytes(in, out);
+	}
+
+	/**
+	 * @param in
+	 *            Stream to read to the end
+	 * @param out
+	 *            Stream to copy it to
+	 * @return Number of bytes copied
+	 * @throws IOException
+	 *             If the input can't be read or the output can't be written
+	 */
+	private static long copyBytes(final InputStream in, final OutputStream out) throws IOException {
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		long count = 0;
+		int read = in.read(buffer);
+		while (read >= 0) {
+			out.write(buffer, 0, read);
+			count += read;
+			read = in.read(buffer);
+		}
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Input stream which copies everything read from it to an output stream
+	 * </p>
+	 */
+	private static class TeeInputStream extends FilterInputStream {
+		/**
+		 * Stream to copy to
+		 */
+		private final OutputStream out;
+
+		/**
+		 * Number of bytes copied
+		 */
+		long count;
+
+		/**
+		 * @param in
+		 *            Stream to read from
+		 * @param out
+		 *            Stream to copy to
+		 */
+		TeeInputStream(final InputStream in, final OutputStream out) {
+			super(in);
+			this.out = out;
+		}
+
+		/**
+		 * @see java.io.FilterInputStream#read()
+		 */
+		@Override
+		public int read() throws IOException {
+			final int b = super.read();
+			if (b >= 0) {
+				this.out.write(b);
+				this.count++;
+			}
+			return b;
+		}
+
+		/**
+		 * @see java.io.FilterInputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int read = super.read(b, off, len);
+			if (read > 0) {
+				this.out.write(b, off, read);
+				this.count += read;
+			}
+			return read;
+		}
+
+		/**
+		 * @see java.io.FilterInputStream#skip(long)
+		 */
+		@Override
+		public long skip(final long n) throws IOException {
+			// Skipped bytes must still be copied
+			final byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+			final int read = read(buffer, 0, buffer.length);
+			return Math.max(read, 0);
+		}
+
+		/**
+		 * @see java.io.FilterInputStream#markSupported()
+		 */
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}